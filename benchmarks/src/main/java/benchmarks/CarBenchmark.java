@@ -0,0 +1,33 @@
+package benchmarks;
+
+import models.Car;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Розрахунок продуктивності боліда (Car.calculatePerformance)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarBenchmark {
+
+    @Param({"Soft", "Medium", "Hard"})
+    private String tireType;
+
+    private Car car;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        car = new Car(850.0, 8.5, 100.0);
+        car.setTireType(tireType);
+    }
+
+    @Benchmark
+    public double calculatePerformance() {
+        return car.calculatePerformance();
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import patterns.structural.CarComponent;
+import patterns.structural.CompiledPowerUnit;
+import patterns.structural.Engine;
+import patterns.structural.EngineDecoratorFactory;
+import patterns.structural.TurboCharger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Потужність та опис двигунів, обгорнутих декораторами EngineDecoratorFactory
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecoratorBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int decoratorDepth;
+
+    private CarComponent turboAndErs;
+    private CarComponent deepChain;
+    private CompiledPowerUnit compiledChain;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        turboAndErs = EngineDecoratorFactory.addBoth(new Engine("Mercedes", 800.0));
+
+        // Глибокий ланцюжок: чергування турбо та ERS
+        CarComponent chain = new Engine("Ferrari", 780.0);
+        for (int i = 0; i < decoratorDepth; i++) {
+            chain = i % 2 == 0 ? new TurboCharger(chain, 10.0) : EngineDecoratorFactory.addERS(chain);
+        }
+        deepChain = chain;
+        compiledChain = CompiledPowerUnit.compile(chain);
+    }
+
+    @Benchmark
+    public double turboAndErsPower() {
+        return turboAndErs.getPower();
+    }
+
+    @Benchmark
+    public double decoratorChainPower() {
+        return deepChain.getPower();
+    }
+
+    @Benchmark
+    public String decoratorChainInfo() {
+        return deepChain.getInfo();
+    }
+
+    @Benchmark
+    public double compiledChainPower() {
+        return compiledChain.getPower();
+    }
+
+    @Benchmark
+    public String compiledChainInfo() {
+        return compiledChain.getInfo();
+    }
+
+    @Benchmark
+    public CompiledPowerUnit compileChain() {
+        return CompiledPowerUnit.compile(deepChain);
+    }
+}
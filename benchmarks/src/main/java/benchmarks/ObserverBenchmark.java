@@ -0,0 +1,87 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import patterns.behavioral.EventCounterObserver;
+import patterns.behavioral.ObserverEventAdapter;
+import patterns.behavioral.RaceEvent;
+import patterns.behavioral.RaceEventListener;
+import patterns.behavioral.RaceSession;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Розсилка подій спостерігачам
+ *
+ * sessionFanOut - текстові події RaceSession, typedFanOut - типізовані
+ * RaceEvent (текст не будується, якщо його ніхто не читає),
+ * adaptedFanOut - ті самі події через ObserverEventAdapter (текст
+ * будується один раз і передається кожному слухачу). Обидва типізовані
+ * варіанти надсилають LAP_STARTED, який EventCounterObserver справді лічить.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObserverBenchmark {
+
+    @Param({"1", "8", "64"})
+    private int observerCount;
+
+    private RaceSession session;
+    private List<RaceEventListener> typedListeners;
+    private List<RaceEventListener> adaptedListeners;
+    private EventCounterObserver sessionCounter;
+    private EventCounterObserver typedCounter;
+    private EventCounterObserver adaptedCounter;
+    private int lap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        session = new RaceSession("Benchmark Session");
+        typedListeners = new ArrayList<>();
+        adaptedListeners = new ArrayList<>();
+        for (int i = 0; i < observerCount; i++) {
+            sessionCounter = new EventCounterObserver("Session " + i);
+            session.attach(sessionCounter);
+            typedCounter = new EventCounterObserver("Typed " + i);
+            typedListeners.add(typedCounter);
+            adaptedCounter = new EventCounterObserver("Adapted " + i);
+            adaptedListeners.add(new ObserverEventAdapter(adaptedCounter));
+        }
+    }
+
+    // Номер кола починається заново в кожній ітерації
+    @Setup(Level.Iteration)
+    public void resetLap() {
+        lap = 0;
+    }
+
+    // Лічильник останнього спостерігача - результат, який не дає JIT відкинути розсилку
+    @Benchmark
+    public void sessionFanOut(Blackhole blackhole) {
+        session.addEvent("Lap " + (++lap));
+        blackhole.consume(sessionCounter.getEventCount());
+    }
+
+    @Benchmark
+    public void typedFanOut(Blackhole blackhole) {
+        RaceEvent event = RaceEvent.lapStarted(++lap, 50);
+        for (RaceEventListener listener : typedListeners) {
+            listener.onRaceEvent(event);
+        }
+        blackhole.consume(typedCounter.getEventCount());
+    }
+
+    @Benchmark
+    public void adaptedFanOut(Blackhole blackhole) {
+        RaceEvent event = RaceEvent.lapStarted(++lap, 50);
+        for (RaceEventListener listener : adaptedListeners) {
+            listener.onRaceEvent(event);
+        }
+        blackhole.consume(adaptedCounter.getEventCount());
+    }
+}
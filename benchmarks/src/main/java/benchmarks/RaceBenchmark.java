@@ -0,0 +1,95 @@
+package benchmarks;
+
+import models.Car;
+import models.Race;
+import models.RaceResult;
+import models.team.Driver;
+import org.openjdk.jmh.annotations.*;
+import patterns.behavioral.AggressiveStrategy;
+import patterns.behavioral.EconomicalStrategy;
+import patterns.structural.CarComponent;
+import patterns.structural.Engine;
+import patterns.structural.EngineDecoratorFactory;
+import simulation.GridSimulator;
+import simulation.RaceTemplate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Повна гонка Race.startRace() для різних розмірів сітки та кількості кіл
+ *
+ * Учасники створюються один раз у RaceTemplate; кожна ітерація отримує
+ * свіжі копії, тому вимірюється лише симуляція та копіювання учасників.
+ * Для порівняння поруч вимірюється GridSimulator з тим самим seed.
+ * powerUnits - болідам встановлюються ланцюжки декораторів (турбо, ERS).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RaceBenchmark {
+
+    @Param({"20", "200", "1000"})
+    private int gridSize;
+
+    @Param({"10", "50"})
+    private int laps;
+
+    @Param({"false", "true"})
+    private boolean powerUnits;
+
+    private RaceTemplate template;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        template = createTemplate(gridSize, laps, powerUnits);
+        seed = 0;
+    }
+
+    @Benchmark
+    public List<RaceResult> startRace() {
+        Race race = template.createRace(++seed);
+        race.setQuiet(true);
+        race.startRace();
+        return race.getResults();
+    }
+
+    @Benchmark
+    public GridSimulator gridSimulator() {
+        GridSimulator grid = GridSimulator.fromTemplate(template, ++seed);
+        grid.run();
+        return grid;
+    }
+
+    // Сітка зі змішаними стратегіями та характеристиками
+    static RaceTemplate createTemplate(int size, int laps) {
+        return createTemplate(size, laps, false);
+    }
+
+    static RaceTemplate createTemplate(int size, int laps, boolean powerUnits) {
+        RaceTemplate template = new RaceTemplate("Benchmark Grand Prix", laps);
+        for (int i = 0; i < size; i++) {
+            Driver driver = new Driver("Driver " + i, 5.0 + (i % 10) * 0.5);
+            if (i % 3 == 1) {
+                driver.setStrategy(new AggressiveStrategy());
+            } else if (i % 3 == 2) {
+                driver.setStrategy(new EconomicalStrategy());
+            }
+            double power = 700.0 + (i % 30) * 10.0;
+            Car car = new Car(power, 5.0 + (i % 8) * 0.5, 100.0);
+            if (powerUnits) {
+                // Різні конфігурації: лише ERS, турбо + ERS, подвійний ERS
+                CarComponent engine = new Engine("Engine " + i, power - 50.0);
+                CarComponent unit = i % 3 == 0 ? EngineDecoratorFactory.addERS(engine)
+                        : i % 3 == 1 ? EngineDecoratorFactory.addBoth(engine)
+                        : EngineDecoratorFactory.addERS(EngineDecoratorFactory.addERS(engine));
+                car.setPowerUnit(unit);
+            }
+            template.addParticipant(driver, car);
+        }
+        return template;
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import models.RaceResult;
+import models.ScoringRules;
+import models.ScoringSystem;
+import models.team.Driver;
+import org.openjdk.jmh.annotations.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Підрахунок балів для фінішного протоколу: ScoringSystem.calculatePoints
+ * (мапа результатів) проти ScoringRules.apply (бали прямо в RaceResult)
+ * і ScoringRules.score (масиви позицій та кіл, як у GridSimulator)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+
+    @Param({"20", "1000"})
+    private int resultCount;
+
+    private List<RaceResult> results;
+    private int[] position;
+    private double[] bestLap;
+    private int[] points;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        results = new ArrayList<>(resultCount);
+        for (int i = 0; i < resultCount; i++) {
+            RaceResult result = new RaceResult(new Driver("Driver " + i, 8.0), i + 1);
+            result.setLapTime(80.0 + (i * 7919 % resultCount) * 0.01);
+            result.setLapsCompleted(50);
+            result.setFinished(true);
+            results.add(result);
+        }
+        position = new int[resultCount];
+        bestLap = new double[resultCount];
+        points = new int[resultCount];
+        for (int i = 0; i < resultCount; i++) {
+            position[i] = i + 1;
+            bestLap[i] = results.get(i).getLapTime();
+        }
+    }
+
+    @Benchmark
+    public Map<Driver, Integer> calculatePoints() {
+        return ScoringSystem.calculatePoints(results);
+    }
+
+    @Benchmark
+    public RaceResult applyRules() {
+        return ScoringRules.DEFAULT.apply(results);
+    }
+
+    @Benchmark
+    public int[] scoreArrays() {
+        ScoringRules.DEFAULT.score(position, bestLap, resultCount, points);
+        return points;
+    }
+}
@@ -37,6 +37,22 @@ if %errorlevel% neq 0 (
     exit /b 1
 )
 
+echo Compiling simulation...
+javac -encoding UTF-8 -d ../bin -cp ../bin simulation/*.java
+if %errorlevel% neq 0 (
+    echo ERROR: Failed to compile simulation
+    pause
+    exit /b 1
+)
+
+echo Compiling replay...
+javac -encoding UTF-8 -d ../bin -cp ../bin replay/*.java
+if %errorlevel% neq 0 (
+    echo ERROR: Failed to compile replay
+    pause
+    exit /b 1
+)
+
 echo Compiling demo...
 javac -encoding UTF-8 -d ../bin -cp ../bin demo/*.java
 if %errorlevel% neq 0 (
@@ -159,8 +159,6 @@ public class App {
             }
         } catch (IllegalStateException e) {
             System.err.println("\n[ERROR] " + e.getMessage());
-        } catch (F1Exception e) {
-            System.err.println("\n[ERROR] " + e.getFullErrorInfo());
         } catch (IllegalArgumentException e) {
             System.err.println("\n[ERROR] Invalid input: " + e.getMessage());
         } catch (Exception e) {
@@ -271,8 +269,6 @@ public class App {
         } catch (IllegalStateException e) {
             System.err.println("\n[ERROR] " + e.getMessage());
             System.err.println("Please add participants before starting the race.");
-        } catch (F1Exception e) {
-            System.err.println("\n[ERROR] " + e.getFullErrorInfo());
         } catch (IllegalArgumentException e) {
             System.err.println("\n[ERROR] Invalid input: " + e.getMessage());
         } catch (Exception e) {
@@ -331,7 +327,7 @@ public class App {
             
             LegacyEngine oldEngine = new LegacyEngine("V8", 700);
             CarComponent adapted = new EngineAdapter(oldEngine);
-            System.out.println("Adapter: Legacy engine (" + oldEngine.getPower() + " HP) adapted to new interface");
+            System.out.println("Adapter: Legacy engine (" + oldEngine.getHorsepower() + " HP) adapted to new interface");
         } catch (IllegalArgumentException e) {
             System.err.println("\n[ERROR] Invalid input: " + e.getMessage());
         } catch (IllegalStateException e) {
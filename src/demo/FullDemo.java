@@ -194,9 +194,6 @@ public class FullDemo {
             System.out.println("✓ Points distributed");
             System.out.println("\nProgram works correctly! ✓\n");
             
-        } catch (F1Exception e) {
-            System.err.println("\n[ERROR] Formula 1 Error occurred:");
-            System.err.println("  " + e.getFullErrorInfo());
         } catch (IllegalArgumentException e) {
             System.err.println("\n[ERROR] Invalid input:");
             System.err.println("  " + e.getMessage());
@@ -1,29 +1,125 @@
 package exceptions;
 
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
 // Базовий клас для всіх виключень, пов'язаних з Формулою 1
 // Використовується як батьківський клас для інших виключень
 // Дозволяє обробляти всі помилки F1 через один catch (F1Exception e)
+//
+// Легкий режим (setLightweightMode) - для масових симуляцій, де та сама
+// несправність виникає тисячі разів за секунду: фабричні методи (of, noFuel)
+// створюють винятки без стеку викликів і без suppressed, а з setCachedInstances
+// повертають один спільний екземпляр на однакову несправність. Лічильники за
+// кодом помилки рахують кожен виняток, включно з повторно виданими з кешу
 public class F1Exception extends Exception {
-    
+    private static final int MAX_CACHED_INSTANCES = 256; // далі - нові екземпляри без кешу
+    private static final Map<String, LongAdder> RAISED_COUNTS = new ConcurrentHashMap<>();
+    private static final Map<String, F1Exception> CACHED = new ConcurrentHashMap<>();
+    private static volatile boolean lightweightMode = false;
+    private static volatile boolean cachedInstances = false;
+
     private String errorCode; // код помилки для ідентифікації
-    
+
     // Конструктор з повідомленням
     public F1Exception(String message) {
         super(message);
         this.errorCode = "F1_ERROR";
+        recordRaised(errorCode);
     }
-    
+
     // Конструктор з повідомленням та кодом помилки
     public F1Exception(String message, String errorCode) {
         super(message);
         this.errorCode = errorCode;
+        recordRaised(errorCode);
+    }
+
+    // stackTrace = false - легкий виняток: без стеку викликів і suppressed,
+    // причину встановити не можна (тому екземпляр безпечно ділити між потоками)
+    protected F1Exception(String message, String errorCode, boolean stackTrace) {
+        super(message, null, stackTrace, stackTrace);
+        this.errorCode = errorCode;
+        recordRaised(errorCode);
+    }
+
+    // Виняток з урахуванням легкого режиму
+    public static F1Exception of(String message, String errorCode) {
+        if (!lightweightMode) {
+            return new F1Exception(message, errorCode);
+        }
+        return cached("F1|" + errorCode + "|" + message, () -> new F1Exception(message, errorCode, false));
+    }
+
+    // Спільний екземпляр для ключа (лише в легкому режимі з увімкненим кешем)
+    @SuppressWarnings("unchecked")
+    protected static <T extends F1Exception> T cached(String key, Supplier<T> factory) {
+        if (!cachedInstances) {
+            return factory.get();
+        }
+        F1Exception instance = CACHED.get(key);
+        if (instance != null) {
+            recordRaised(instance.errorCode);
+            return (T) instance;
+        }
+        T created = factory.get();
+        if (CACHED.size() < MAX_CACHED_INSTANCES) {
+            CACHED.putIfAbsent(key, created);
+        }
+        return created;
+    }
+
+    protected static void recordRaised(String errorCode) {
+        RAISED_COUNTS.computeIfAbsent(String.valueOf(errorCode), code -> new LongAdder()).increment();
+    }
+
+    public static void setLightweightMode(boolean lightweight) {
+        lightweightMode = lightweight;
     }
-    
+
+    public static boolean isLightweightMode() {
+        return lightweightMode;
+    }
+
+    // Кеш діє лише в легкому режимі; вимкнення очищує його
+    public static void setCachedInstances(boolean cached) {
+        cachedInstances = cached;
+        if (!cached) {
+            CACHED.clear();
+        }
+    }
+
+    public static boolean isCachedInstances() {
+        return cachedInstances;
+    }
+
+    // Скільки винятків з цим кодом створено або видано з кешу
+    public static long getRaisedCount(String errorCode) {
+        LongAdder count = RAISED_COUNTS.get(errorCode);
+        return count != null ? count.sum() : 0;
+    }
+
+    // Знімок усіх лічильників, відсортований за кодом
+    public static Map<String, Long> getRaisedCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : RAISED_COUNTS.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return counts;
+    }
+
+    public static void resetRaisedCounts() {
+        RAISED_COUNTS.clear();
+    }
+
     // Геттер для коду помилки
     public String getErrorCode() {
         return errorCode;
     }
-    
+
     // Метод для отримання повної інформації про помилку
     public String getFullErrorInfo() {
         return String.format("[%s] %s", errorCode, getMessage());
@@ -0,0 +1,24 @@
+package exceptions;
+
+// Код несправності для шляху без винятків (Car.tryAccelerate, DrivingStrategy.tryDrive)
+// На колі перевіряється звичайним порівнянням; виняток F1Exception з тим самим
+// кодом помилки створюється лише там, де його справді треба кинути або показати
+public enum FaultCode {
+    NONE(null),
+    NO_FUEL("FUEL_ERROR"), // бак порожній
+    TIRE_FAILURE("TIRE_ERROR"); // перегрів або інша відмова шин
+
+    private final String errorCode; // як F1Exception.getErrorCode()
+
+    FaultCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public boolean isFault() {
+        return this != NONE;
+    }
+}
@@ -5,6 +5,8 @@ package exceptions;
 // Містить інформацію про поточний рівень палива
 public class FuelException extends F1Exception {
     
+    public static final String NO_FUEL_MESSAGE = "No fuel! Cannot accelerate.";
+    
     private double currentFuelLevel; // поточний рівень палива
     
     public FuelException(String message) {
@@ -17,6 +19,24 @@ public class FuelException extends F1Exception {
         this.currentFuelLevel = currentFuelLevel;
     }
     
+    protected FuelException(String message, double currentFuelLevel, boolean stackTrace) {
+        super(message, "FUEL_ERROR", stackTrace);
+        this.currentFuelLevel = currentFuelLevel;
+    }
+    
+    // Порожній бак з урахуванням легкого режиму F1Exception
+    public static FuelException noFuel(double currentFuelLevel) {
+        return of(NO_FUEL_MESSAGE, currentFuelLevel);
+    }
+    
+    public static FuelException of(String message, double currentFuelLevel) {
+        if (!isLightweightMode()) {
+            return new FuelException(message, currentFuelLevel);
+        }
+        return cached("FUEL|" + message + "|" + currentFuelLevel,
+                () -> new FuelException(message, currentFuelLevel, false));
+    }
+    
     public double getCurrentFuelLevel() {
         return currentFuelLevel;
     }
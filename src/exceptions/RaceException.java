@@ -17,6 +17,19 @@ public class RaceException extends F1Exception {
         this.racePhase = racePhase;
     }
     
+    protected RaceException(String message, String racePhase, boolean stackTrace) {
+        super(message, "RACE_ERROR", stackTrace);
+        this.racePhase = racePhase;
+    }
+    
+    // Виняток з урахуванням легкого режиму F1Exception
+    public static RaceException of(String message, String racePhase) {
+        if (!isLightweightMode()) {
+            return new RaceException(message, racePhase);
+        }
+        return cached("RACE|" + message + "|" + racePhase, () -> new RaceException(message, racePhase, false));
+    }
+    
     public String getRacePhase() {
         return racePhase;
     }
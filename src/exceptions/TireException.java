@@ -20,6 +20,21 @@ public class TireException extends F1Exception {
         this.issueType = issueType;
     }
     
+    protected TireException(String message, String tireType, String issueType, boolean stackTrace) {
+        super(message, "TIRE_ERROR", stackTrace);
+        this.tireType = tireType;
+        this.issueType = issueType;
+    }
+    
+    // Виняток з урахуванням легкого режиму F1Exception
+    public static TireException of(String message, String tireType, String issueType) {
+        if (!isLightweightMode()) {
+            return new TireException(message, tireType, issueType);
+        }
+        return cached("TIRE|" + message + "|" + tireType + "|" + issueType,
+                () -> new TireException(message, tireType, issueType, false));
+    }
+    
     public String getTireType() {
         return tireType;
     }
@@ -1,43 +1,123 @@
 package models;
 
 import models.team.Driver;
+import exceptions.F1Exception;
+import exceptions.FaultCode;
 import exceptions.FuelException;
 import exceptions.TireException;
 import patterns.behavioral.*;
+import patterns.creational.TireFactory;
+import patterns.structural.CarComponent;
+import patterns.structural.CompiledPowerUnit;
+import patterns.structural.PowerUnit;
 import utils.Validator;
+import java.util.SplittableRandom;
 
 // Болід Формули 1
 // Всі поля приватні (інкапсуляція), доступ через методи
 public class Car {
     
-    private static final double MIN_ENGINE_POWER = 500.0;
-    private static final double MAX_ENGINE_POWER = 1000.0;
-    private static final double MIN_AERODYNAMICS = 1.0;
-    private static final double MAX_AERODYNAMICS = 10.0;
+    public static final double MIN_ENGINE_POWER = 500.0;
+    public static final double MAX_ENGINE_POWER = 1000.0;
+    public static final double MIN_AERODYNAMICS = 1.0;
+    public static final double MAX_AERODYNAMICS = 10.0;
     private static final double FUEL_CONSUMPTION_RATE = 2.5;
+    // Межі станів: відсоток палива та потужність двигуна
+    private static final double CRITICAL_FUEL_PERCENT = 10.0;
+    private static final double OVERHEATING_FUEL_PERCENT = 30.0;
+    private static final double OPTIMAL_FUEL_PERCENT = 70.0;
+    private static final double CRITICAL_POWER = 950.0;
+    private static final double OVERHEATING_POWER = 900.0;
+    private static final double OPTIMAL_POWER = 850.0;
+    private static final double OPTIMAL_AERODYNAMICS = 8.0;
+    // Гістерезис: щоб вийти зі стану, значення має відійти від межі на цю величину
+    public static final double DEFAULT_FUEL_HYSTERESIS = 2.0; // відсоткових пунктів
+    public static final double DEFAULT_POWER_HYSTERESIS = 10.0; // к.с.
     
-    private double enginePower;
+    private double enginePower; // двигун внутрішнього згоряння (без ERS)
+    private double ersBoost; // буст ERS при повному використанні (0 - без ERS)
+    private double ersCharge; // заряд батареї ERS, частка [0, 1]
+    private PowerUnit powerUnit; // null - простий двигун потужністю enginePower
+    private int powerUnitRevision; // ревізія PowerUnit, з якої взято enginePower та ersBoost
     private double aerodynamics;
     private double fuelLevel;
     private double maxFuel;
-    private String tireType;
+    private Tire tire; // комплект шин зі своїм зносом і температурою
+    private int lapAccelerations; // прискорення на поточному колі (навантаження шин)
     private Driver driver; // зв'язок з гонщиком
     private CarState state; // стан боліда (State pattern)
+    private CarStateType stateType; // тип поточного стану (null - власна реалізація CarState)
+    private double fuelHysteresis;
+    private double powerHysteresis;
+    private SplittableRandom random; // власне джерело випадковості (без спільного Math.random)
+    private boolean quiet; // тихий режим - без виводу в консоль
+    private CarEventListener eventListener; // необов'язковий приймач подій
     
     public Car(double enginePower, double aerodynamics, double maxFuel) {
         setEnginePower(enginePower);
         setAerodynamics(aerodynamics);
         setMaxFuel(maxFuel);
         this.fuelLevel = maxFuel;
-        this.tireType = "Medium";
+        this.ersCharge = ErsModel.FULL_CHARGE;
+        this.tire = TireFactory.createTire(TireCompound.MEDIUM);
         this.driver = null;
-        this.state = new NormalState();
+        this.state = CarStateType.NORMAL.getState();
+        this.stateType = CarStateType.NORMAL;
+        this.fuelHysteresis = DEFAULT_FUEL_HYSTERESIS;
+        this.powerHysteresis = DEFAULT_POWER_HYSTERESIS;
+        this.random = new SplittableRandom();
+    }
+    
+    // Конструктор копіювання - незалежна копія боліда без гонщика
+    // (використовується для паралельних симуляцій, щоб гонки не ділили стан)
+    public Car(Car other) {
+        this.enginePower = other.enginePower;
+        this.ersBoost = other.ersBoost;
+        this.ersCharge = other.ersCharge;
+        // Ланцюжок компонентів незмінний - копія отримує власний PowerUnit над ним
+        if (other.powerUnit != null) {
+            this.powerUnit = new PowerUnit(other.powerUnit.getChain());
+            this.powerUnitRevision = powerUnit.getRevision();
+            this.enginePower = powerUnit.compile().getCombustionPower();
+            this.ersBoost = powerUnit.compile().getErsBoost();
+        }
+        this.aerodynamics = other.aerodynamics;
+        this.maxFuel = other.maxFuel;
+        this.fuelLevel = other.fuelLevel;
+        this.tire = new Tire(other.tire);
+        this.driver = null;
+        this.state = other.state;
+        this.stateType = other.stateType;
+        this.fuelHysteresis = other.fuelHysteresis;
+        this.powerHysteresis = other.powerHysteresis;
+        this.random = new SplittableRandom();
+        this.quiet = other.quiet;
     }
     
     public double getEnginePower() {
+        syncPowerUnit();
         return enginePower;
     }
     
+    public double getErsBoost() {
+        syncPowerUnit();
+        return ersBoost;
+    }
+    
+    public double getErsCharge() {
+        return ersCharge;
+    }
+    
+    public PowerUnit getPowerUnit() {
+        return powerUnit;
+    }
+    
+    // Потужність на поточному колі: двигун плюс частка ERS, яку дозволяє заряд
+    public double getLapPower() {
+        syncPowerUnit();
+        return ErsModel.lapPower(enginePower, ersBoost, ersCharge);
+    }
+    
     public double getAerodynamics() {
         return aerodynamics;
     }
@@ -51,16 +131,59 @@ public class Car {
     }
     
     public String getTireType() {
-        return tireType;
+        return tire.getType();
+    }
+    
+    public TireCompound getTireCompound() {
+        return tire.getCompound();
+    }
+    
+    public Tire getTire() {
+        return tire;
     }
     
     public Driver getDriver() {
         return driver;
     }
     
+    // Простий двигун без декораторів (знімає встановлену силову установку)
     public void setEnginePower(double enginePower) {
         Validator.validateRange(enginePower, MIN_ENGINE_POWER, MAX_ENGINE_POWER, "Engine power");
         this.enginePower = enginePower;
+        this.ersBoost = 0.0;
+        this.powerUnit = null;
+    }
+    
+    // Силова установка з ланцюжка декораторів (наприклад, EngineDecoratorFactory.addBoth).
+    // Ланцюжок компілюється один раз; зміни PowerUnit підхоплюються на наступному колі
+    public void setPowerUnit(CarComponent chain) {
+        if (chain == null) {
+            throw new IllegalArgumentException("Power unit cannot be null");
+        }
+        PowerUnit unit = chain instanceof PowerUnit ? (PowerUnit) chain : new PowerUnit(chain);
+        applyPowerUnit(unit.compile());
+        this.powerUnit = unit;
+        this.powerUnitRevision = unit.getRevision();
+    }
+    
+    public void setErsCharge(double ersCharge) {
+        Validator.validateRange(ersCharge, 0, ErsModel.FULL_CHARGE, "ERS charge");
+        this.ersCharge = ersCharge;
+    }
+    
+    private void applyPowerUnit(CompiledPowerUnit compiled) {
+        Validator.validateRange(compiled.getCombustionPower(), MIN_ENGINE_POWER, MAX_ENGINE_POWER, "Engine power");
+        Validator.validateNonNegative(compiled.getErsBoost(), "ERS boost");
+        this.enginePower = compiled.getCombustionPower();
+        this.ersBoost = compiled.getErsBoost();
+    }
+    
+    // Перекомпіляція лише якщо ланцюжок PowerUnit змінився (порівняння ревізій)
+    private void syncPowerUnit() {
+        if (powerUnit != null && powerUnit.getRevision() != powerUnitRevision) {
+            applyPowerUnit(powerUnit.compile());
+            powerUnitRevision = powerUnit.getRevision();
+        }
     }
     
     public void setAerodynamics(double aerodynamics) {
@@ -80,14 +203,16 @@ public class Car {
         this.fuelLevel = fuelLevel;
     }
     
+    // Рядковий варіант setTireCompound (точні назви "Soft", "Medium", "Hard")
     public void setTireType(String tireType) {
-        if (tireType != null && (tireType.equals("Soft") || 
-                                 tireType.equals("Medium") || 
-                                 tireType.equals("Hard"))) {
-            this.tireType = tireType;
-        } else {
+        setTireCompound(TireCompound.fromName(tireType));
+    }
+    
+    public void setTireCompound(TireCompound compound) {
+        if (compound == null) {
             throw new IllegalArgumentException("Tire type must be: Soft, Medium or Hard");
         }
+        this.tire = TireFactory.createTire(compound); // новий комплект
     }
     
     public void setDriver(Driver driver) {
@@ -111,62 +236,220 @@ public class Car {
         }
     }
     
+    // Тихий режим: події не форматуються і не друкуються, а лише передаються
+    // слухачу (якщо він є) - гаряче коло гонки нічого не виділяє
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+    
+    public boolean isQuiet() {
+        return quiet;
+    }
+    
+    public void setEventListener(CarEventListener eventListener) {
+        this.eventListener = eventListener;
+    }
+    
+    public CarEventListener getEventListener() {
+        return eventListener;
+    }
+    
+    // Встановлює джерело випадковості (Race видає кожному боліду окрему гілку)
+    public void setRandom(SplittableRandom random) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random source cannot be null");
+        }
+        this.random = random;
+    }
+    
     public CarState getState() {
         return state;
     }
     
+    public CarStateType getStateType() {
+        return stateType;
+    }
+    
+    // Ширина смуг гістерезису для checkState() (0 - без гістерезису)
+    public void setStateHysteresis(double fuelPercentBand, double powerBand) {
+        Validator.validateNonNegative(fuelPercentBand, "Fuel hysteresis");
+        Validator.validateNonNegative(powerBand, "Power hysteresis");
+        this.fuelHysteresis = fuelPercentBand;
+        this.powerHysteresis = powerBand;
+    }
+    
+    // Перехід у новий стан: handle() і слухач викликаються лише при зміні стану
     public void setState(CarState state) {
+        if (state == this.state) {
+            return;
+        }
+        CarState previous = this.state;
         this.state = state;
+        this.stateType = state != null ? CarStateType.fromName(state.getStateName()) : null;
+        if (eventListener != null) {
+            eventListener.onStateChanged(this, previous, state);
+        }
         if (state != null) {
             state.handle(this);
         }
     }
     
-    // Визначає стан на основі палива та потужності
+    // Визначає стан на основі палива та потужності (спільні екземпляри станів)
+    // Погіршення стану настає одразу на межі, а повернення до кращого - лише
+    // коли значення відійшли від межі на ширину смуги гістерезису. Якщо тип
+    // стану не змінився, нічого не викликається
     public void checkState() {
         double fuelPercentage = (fuelLevel / maxFuel) * 100;
-        if (fuelPercentage < 10 || enginePower > 950) {
-            setState(new CriticalState());
-        } else if (fuelPercentage < 30 || enginePower > 900) {
-            setState(new OverheatingState());
-        } else if (fuelPercentage > 70 && enginePower < 850 && aerodynamics > 8) {
-            setState(new OptimalState());
-        } else {
-            setState(new NormalState());
+        CarStateType target = classifyState(fuelPercentage, 0.0, 0.0);
+        if (stateType != null && severity(target) < severity(stateType)
+                && classifyState(fuelPercentage, fuelHysteresis, powerHysteresis) == stateType) {
+            target = stateType; // ще в смузі гістерезису поточного стану
+        }
+        if (target != stateType) {
+            setState(target.getState());
+        }
+    }
+    
+    // fuelBand та powerBand зсувають межі на користь гіршого стану
+    private CarStateType classifyState(double fuelPercentage, double fuelBand, double powerBand) {
+        double enginePower = getEnginePower();
+        if (fuelPercentage < CRITICAL_FUEL_PERCENT + fuelBand || enginePower > CRITICAL_POWER - powerBand) {
+            return CarStateType.CRITICAL;
+        } else if (fuelPercentage < OVERHEATING_FUEL_PERCENT + fuelBand || enginePower > OVERHEATING_POWER - powerBand) {
+            return CarStateType.OVERHEATING;
+        } else if (fuelPercentage > OPTIMAL_FUEL_PERCENT + fuelBand && enginePower < OPTIMAL_POWER - powerBand
+                && aerodynamics > OPTIMAL_AERODYNAMICS) {
+            return CarStateType.OPTIMAL;
+        }
+        return CarStateType.NORMAL;
+    }
+    
+    // Порядок станів від найкращого до найгіршого
+    private static int severity(CarStateType type) {
+        switch (type) {
+            case OPTIMAL:
+                return 0;
+            case NORMAL:
+                return 1;
+            case OVERHEATING:
+                return 2;
+            default:
+                return 3;
         }
     }
     
+    // Встановити конкретний комплект (наприклад, вживаний)
+    public void setTire(Tire tire) {
+        if (tire == null) {
+            throw new IllegalArgumentException("Tire cannot be null");
+        }
+        this.tire = tire;
+    }
+    
+    // Завершення кола: шини гріються і зношуються, а батарея ERS
+    // розряджається і заряджається відповідно до кількості прискорень на цьому
+    // колі. Лише примітивні обчислення, без об'єктів
+    public void completeLap() {
+        tire.completeLap(lapAccelerations);
+        ersCharge = ErsModel.nextCharge(ersCharge, lapAccelerations);
+        lapAccelerations = 0;
+    }
+    
+    // Зчеплення шин для розрахунку часу кола
+    public double getTireGrip() {
+        return tire.getEffectiveGrip();
+    }
+    
     // Прискорення - споживає паливо
     public void accelerate() throws FuelException {
+        if (tryAccelerate() == FaultCode.NO_FUEL) {
+            throw (FuelException) toException(FaultCode.NO_FUEL);
+        }
+    }
+    
+    // Прискорення без винятку: порожній бак повертається кодом NO_FUEL
+    // (для кола гонки, де болід без палива - звичайна ситуація, а не помилка)
+    public FaultCode tryAccelerate() {
         if (fuelLevel <= 0) {
-            throw new FuelException("No fuel! Cannot accelerate.", fuelLevel);
+            return FaultCode.NO_FUEL;
         }
         
-        double consumption = FUEL_CONSUMPTION_RATE * (enginePower / MAX_ENGINE_POWER);
+        double consumption = calculateFuelConsumption(getEnginePower());
         consumeFuel(consumption);
-        
-        System.out.println("Car accelerated! Used " + String.format("%.2f", consumption) + " L fuel");
+        onAccelerated(consumption);
+        return FaultCode.NONE;
+    }
+    
+    // Витрата палива за одне прискорення при заданій потужності
+    public static double calculateFuelConsumption(double enginePower) {
+        return FUEL_CONSUMPTION_RATE * (enginePower / MAX_ENGINE_POWER);
     }
     
     // Прискорення з перевіркою шин
     public void accelerateWithTireCheck() throws FuelException, TireException {
+        throwIfFault(tryAccelerateWithTireCheck());
+    }
+    
+    // Перетворює код несправності на виняток (для drive() та інших методів з винятками)
+    public void throwIfFault(FaultCode fault) throws FuelException, TireException {
+        if (fault.isFault()) {
+            F1Exception exception = toException(fault);
+            if (exception instanceof FuelException) {
+                throw (FuelException) exception;
+            }
+            throw (TireException) exception;
+        }
+    }
+    
+    // Варіант accelerateWithTireCheck() з кодом замість винятку
+    public FaultCode tryAccelerateWithTireCheck() {
         if (fuelLevel <= 0) {
-            throw new FuelException("No fuel! Cannot accelerate.", fuelLevel);
+            return FaultCode.NO_FUEL;
         }
         
         // М'які шини можуть перегрітися
-        if (tireType.equals("Soft") && Math.random() < 0.1) {
-            throw new TireException("Soft tires overheated!", tireType, "overheating");
+        if (tire.getCompound() == TireCompound.SOFT && random.nextDouble() < 0.1) {
+            return FaultCode.TIRE_FAILURE;
         }
         
-        double consumption = FUEL_CONSUMPTION_RATE * (enginePower / MAX_ENGINE_POWER);
+        double consumption = calculateFuelConsumption(getEnginePower());
         consumeFuel(consumption);
-        
-        System.out.println("Car accelerated! Used " + String.format("%.2f", consumption) + " L fuel");
+        onAccelerated(consumption);
+        return FaultCode.NONE;
+    }
+    
+    // Виняток для коду несправності з поточним станом боліда - для меж API
+    // (події гонки, повідомлення), а не для кожного кола. У легкому режимі
+    // F1Exception - без стеку викликів, за бажанням спільний екземпляр
+    public F1Exception toException(FaultCode fault) {
+        switch (fault) {
+            case NO_FUEL:
+                return FuelException.noFuel(fuelLevel);
+            case TIRE_FAILURE:
+                return TireException.of("Soft tires overheated!", tire.getType(), "overheating");
+            default:
+                throw new IllegalArgumentException("No fault to convert: " + fault);
+        }
+    }
+    
+    // Сповіщає слухача і друкує повідомлення лише поза тихим режимом
+    private void onAccelerated(double consumption) {
+        lapAccelerations++;
+        if (eventListener != null) {
+            eventListener.onAccelerate(this, consumption);
+        }
+        if (!quiet) {
+            System.out.println("Car accelerated! Used " + String.format("%.2f", consumption) + " L fuel");
+        }
     }
     
     public void brake() {
-        System.out.println("Car braking...");
+        if (eventListener != null) {
+            eventListener.onBrake(this);
+        }
+        if (!quiet) {
+            System.out.println("Car braking...");
+        }
     }
     
     public void consumeFuel(double amount) {
@@ -181,24 +464,35 @@ public class Car {
     public void refuel(double amount) {
         Validator.validateNonNegative(amount, "Fuel amount");
         
-        fuelLevel += amount;
-        if (fuelLevel > maxFuel) {
+        // Долив до повного бака дає рівно maxFuel (без похибки округлення суми)
+        if (amount >= maxFuel - fuelLevel) {
             fuelLevel = maxFuel;
+        } else {
+            fuelLevel += amount;
         }
         
-        System.out.println("Refueled " + String.format("%.2f", amount) + " L fuel. Current level: " + 
-                          String.format("%.2f", fuelLevel) + " L");
+        if (eventListener != null) {
+            eventListener.onRefuel(this, amount, fuelLevel);
+        }
+        if (!quiet) {
+            System.out.println("Refueled " + String.format("%.2f", amount) + " L fuel. Current level: " + 
+                              String.format("%.2f", fuelLevel) + " L");
+        }
     }
     
     // Виводить інформацію про стан боліда
     public String checkStatus() {
         StringBuilder status = new StringBuilder();
         status.append("=== Car Status ===\n");
-        status.append("Engine Power: ").append(enginePower).append(" HP\n");
+        status.append("Engine Power: ").append(getEnginePower()).append(" HP\n");
+        if (getErsBoost() > 0) {
+            status.append("ERS: +").append(ersBoost).append(" HP, charge ")
+                  .append(String.format("%.0f", ersCharge * 100)).append("%\n");
+        }
         status.append("Aerodynamics: ").append(aerodynamics).append("\n");
         status.append("Fuel: ").append(String.format("%.2f", fuelLevel))
               .append(" / ").append(String.format("%.2f", maxFuel)).append(" L\n");
-        status.append("Tire Type: ").append(tireType).append("\n");
+        status.append("Tire Type: ").append(tire.getType()).append("\n");
         
         double fuelPercentage = (fuelLevel / maxFuel) * 100;
         if (fuelPercentage < 20) {
@@ -218,19 +512,16 @@ public class Car {
     
     // Розраховує загальну продуктивність
     public double calculatePerformance() {
-        double tireMultiplier = 1.0;
-        if (tireType.equals("Soft")) {
-            tireMultiplier = 1.2;
-        } else if (tireType.equals("Hard")) {
-            tireMultiplier = 0.9;
-        }
+        // Множник складу шин - з таблиці TireCompound (нестандартні шини - 1.0)
+        TireCompound compound = tire.getCompound();
+        double tireMultiplier = compound != null ? compound.getPerformanceMultiplier() : 1.0;
         
-        return (enginePower / 10.0) * aerodynamics * tireMultiplier;
+        return (getEnginePower() / 10.0) * aerodynamics * tireMultiplier;
     }
     
     @Override
     public String toString() {
         return String.format("Car: Engine=%.1f HP, Aero=%.1f, Fuel=%.1f/%.1f L, Tires=%s",
-                enginePower, aerodynamics, fuelLevel, maxFuel, tireType);
+                getEnginePower(), aerodynamics, fuelLevel, maxFuel, tire.getType());
     }
 }
@@ -0,0 +1,30 @@
+package models;
+
+// Модель системи рекуперації енергії (ERS) - спільна для Car та GridSimulator
+// Батарея заряджена на частку [0, 1]. Повне використання буста ERS на колі
+// коштує DEPLOY_COST_PER_LAP заряду; якщо заряду менше, бусту віддається
+// пропорційно менше. Гальмування перед поворотами повертає заряд: базова
+// частка за коло плюс частка за кожне прискорення (після нього болід гальмує)
+public class ErsModel {
+    public static final double FULL_CHARGE = 1.0;
+    public static final double DEPLOY_COST_PER_LAP = 0.35;
+    public static final double BASE_HARVEST_PER_LAP = 0.15;
+    public static final double HARVEST_PER_ACCELERATION = 0.05;
+
+    // Частка буста ERS, доступна на колі з таким зарядом
+    public static double deployment(double charge) {
+        return charge >= DEPLOY_COST_PER_LAP ? 1.0 : charge / DEPLOY_COST_PER_LAP;
+    }
+
+    // Заряд після кола: використане на колі мінус, зібране при гальмуванні плюс
+    public static double nextCharge(double charge, int accelerations) {
+        double next = charge - deployment(charge) * DEPLOY_COST_PER_LAP
+                + BASE_HARVEST_PER_LAP + accelerations * HARVEST_PER_ACCELERATION;
+        return Math.min(FULL_CHARGE, Math.max(0.0, next));
+    }
+
+    // Потужність на колі: двигун внутрішнього згоряння плюс використана частка ERS
+    public static double lapPower(double combustionPower, double ersBoost, double charge) {
+        return combustionPower + ersBoost * deployment(charge);
+    }
+}
@@ -0,0 +1,23 @@
+package models;
+
+import static models.RaceConstants.*;
+
+// Модель часу кола - спільна формула для Race та альтернативних симуляторів
+// Працює лише з примітивами, щоб її можна було викликати з масивів без об'єктів
+public class LapTimeModel {
+
+    // tireGrip - Tire.effectiveGrip() на початку кола,
+    // randomDraw - випадкове число з [0, 1), взяте з генератора гонки
+    public static double calculate(double enginePower, double aerodynamics, double skillLevel,
+                                   double tireGrip, double randomDraw) {
+        double baseTime = BASE_LAP_TIME - (enginePower / ENGINE_POWER_DIVISOR) -
+                         (aerodynamics * AERODYNAMICS_MULTIPLIER);
+        double skillBonus = skillLevel * SKILL_BONUS_MULTIPLIER;
+        baseTime -= skillBonus;
+        baseTime += (1.0 - tireGrip) * TIRE_GRIP_TIME_LOSS;
+        double randomFactor = RANDOM_FACTOR_MIN + (randomDraw * RANDOM_FACTOR_RANGE);
+        baseTime *= randomFactor;
+
+        return Math.max(MIN_LAP_TIME, baseTime);
+    }
+}
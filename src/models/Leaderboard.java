@@ -0,0 +1,151 @@
+package models;
+
+import patterns.behavioral.RaceEvent;
+import patterns.behavioral.RaceEventListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Таблиця позицій гонки з інкрементальним оновленням
+ *
+ * Замість повного сортування після кожного кола переставляються лише
+ * результати, позначені через markChanged(). Класифікація - за колами,
+ * потім за сумарним часом. Змінений результат проїхав ще одне коло,
+ * тому відносно незмінених він може лише піднятися; порядок змінених
+ * між собою виправляє той самий прохід вставками, бо кожен з них
+ * піднімається повз усіх, кого випередив. Незмінені результати між
+ * собою порядок не змінюють, тож прохід коштує O(n + кількість
+ * обгонів) і нічого не виділяє. Порядок той самий, що дала б
+ * стабільна сортировка.
+ *
+ * Позиції записуються в RaceResult.setPosition() лише для тих,
+ * чия позиція справді змінилась, - і для них же публікуються
+ * події POSITION_CHANGED.
+ */
+public class Leaderboard {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private RaceResult[] order; // результати в порядку позицій
+    private boolean[] changed;  // позначки за індексом у order
+    private int size;
+    private int overtakes; // усього обгонів з початку гонки
+
+    public Leaderboard() {
+        this.order = new RaceResult[INITIAL_CAPACITY];
+        this.changed = new boolean[INITIAL_CAPACITY];
+        this.size = 0;
+        this.overtakes = 0;
+    }
+
+    // Додає результат в кінець таблиці
+    public void add(RaceResult result) {
+        if (result == null) {
+            throw new IllegalArgumentException("Race result cannot be null");
+        }
+        if (size == order.length) {
+            order = Arrays.copyOf(order, size * 2);
+            changed = Arrays.copyOf(changed, size * 2);
+        }
+        order[size] = result;
+        result.setPosition(size + 1);
+        size++;
+    }
+
+    // Результат на індексі index (0 - лідер)
+    public RaceResult get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Leaderboard index " + index + " out of range");
+        }
+        return order[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Позначити, що кола або найкраще коло результату на index змінились
+    public void markChanged(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Leaderboard index " + index + " out of range");
+        }
+        changed[index] = true;
+    }
+
+    /**
+     * Переставляє позначені результати та оновлює позиції
+     * @param lapNumber - коло для подій POSITION_CHANGED
+     * @param listener - отримувач подій або null, якщо події не потрібні
+     * @return кількість результатів, чия позиція змінилась
+     */
+    public int reposition(int lapNumber, RaceEventListener listener) {
+        int first = size;
+        int last = -1;
+
+        for (int i = 0; i < size; i++) {
+            if (!changed[i]) {
+                continue;
+            }
+            changed[i] = false;
+
+            RaceResult result = order[i];
+            int j = i;
+            while (j > 0 && isAhead(result, order[j - 1])) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            if (j != i) {
+                order[j] = result;
+                overtakes += i - j;
+                first = Math.min(first, j);
+                last = i;
+            }
+        }
+
+        // Позиції змінились лише в діапазоні, який зачепили перестановки
+        int moved = 0;
+        for (int i = first; i <= last; i++) {
+            RaceResult result = order[i];
+            int previous = result.getPosition();
+            if (previous != i + 1) {
+                result.setPosition(i + 1);
+                moved++;
+                if (listener != null) {
+                    listener.onRaceEvent(RaceEvent.positionChanged(result.getDriver().getName(),
+                            lapNumber, previous, i + 1));
+                }
+            }
+        }
+        return moved;
+    }
+
+    // Порядок позицій: більше кіл, потім менший сумарний час (разом із
+    // піт-стопами); до першого кола зберігається стартовий порядок
+    public static boolean isAhead(RaceResult a, RaceResult b) {
+        if (a.getLapsCompleted() != b.getLapsCompleted()) {
+            return a.getLapsCompleted() > b.getLapsCompleted();
+        }
+        if (a.getLapsCompleted() == 0) {
+            return false;
+        }
+        return Double.compare(a.getTotalTime(), b.getTotalTime()) < 0;
+    }
+
+    // Кількість обгонів (сумарна кількість пройдених суперників)
+    public int getOvertakes() {
+        return overtakes;
+    }
+
+    // Знімок таблиці в порядку позицій
+    public List<RaceResult> toList() {
+        List<RaceResult> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(order[i]);
+        }
+        return list;
+    }
+}
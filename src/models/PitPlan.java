@@ -0,0 +1,120 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * План піт-стопів одного боліда
+ *
+ * Гонка ділиться на відрізки (stints): compounds[0] ставиться на старті,
+ * а в кінці кола stopLaps[i] болід заїжджає в бокси, отримує новий
+ * комплект compounds[i + 1] і повний бак. План незмінний, тому один
+ * об'єкт можна використовувати в багатьох гонках одночасно.
+ */
+public class PitPlan {
+    private final int[] stopLaps; // за зростанням
+    private final TireCompound[] compounds; // на один більше, ніж зупинок
+    private final double expectedRaceTime; // оцінка оптимізатора (0 - план задано вручну)
+
+    // Склади за назвами ("Soft", "Medium", "Hard")
+    public PitPlan(int[] stopLaps, String[] compounds) {
+        this(stopLaps, toCompounds(compounds), 0.0);
+    }
+
+    public PitPlan(int[] stopLaps, TireCompound[] compounds, double expectedRaceTime) {
+        if (stopLaps == null || compounds == null) {
+            throw new IllegalArgumentException("Stop laps and compounds cannot be null");
+        }
+        if (compounds.length != stopLaps.length + 1) {
+            throw new IllegalArgumentException("Pit plan needs one compound per stint: "
+                    + (stopLaps.length + 1) + " expected, got " + compounds.length);
+        }
+        for (int i = 0; i < stopLaps.length; i++) {
+            if (stopLaps[i] < 1 || (i > 0 && stopLaps[i] <= stopLaps[i - 1])) {
+                throw new IllegalArgumentException("Stop laps must be positive and increasing");
+            }
+        }
+        for (TireCompound compound : compounds) {
+            if (compound == null) {
+                throw new IllegalArgumentException("Tire type must be: Soft, Medium or Hard");
+            }
+        }
+        this.stopLaps = stopLaps.clone();
+        this.compounds = compounds.clone();
+        this.expectedRaceTime = expectedRaceTime;
+    }
+
+    private static TireCompound[] toCompounds(String[] names) {
+        if (names == null) {
+            return null;
+        }
+        TireCompound[] compounds = new TireCompound[names.length];
+        for (int i = 0; i < names.length; i++) {
+            compounds[i] = TireCompound.fromName(names[i]);
+        }
+        return compounds;
+    }
+
+    // Номер зупинки в кінці кола lap або -1 (зупинок мало - лінійний пошук)
+    public int indexOfStop(int lap) {
+        for (int i = 0; i < stopLaps.length; i++) {
+            if (stopLaps[i] == lap) {
+                return i;
+            }
+            if (stopLaps[i] > lap) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    public int getStopCount() {
+        return stopLaps.length;
+    }
+
+    public int getStopLap(int stop) {
+        return stopLaps[stop];
+    }
+
+    public String getStartCompound() {
+        return compounds[0].getDisplayName();
+    }
+
+    // Назва складу відрізку stint (0 - стартовий)
+    public String getCompound(int stint) {
+        return compounds[stint].getDisplayName();
+    }
+
+    public TireCompound getTireCompound(int stint) {
+        return compounds[stint];
+    }
+
+    public double getExpectedRaceTime() {
+        return expectedRaceTime;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        PitPlan other = (PitPlan) obj;
+        return Arrays.equals(stopLaps, other.stopLaps) && Arrays.equals(compounds, other.compounds);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(stopLaps) + Arrays.hashCode(compounds);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder plan = new StringBuilder(compounds[0].getDisplayName());
+        for (int i = 0; i < stopLaps.length; i++) {
+            plan.append(" -> L").append(stopLaps[i]).append(' ').append(compounds[i + 1].getDisplayName());
+        }
+        return plan.toString();
+    }
+}
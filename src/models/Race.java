@@ -1,9 +1,11 @@
 package models;
 
 import models.team.Driver;
+import patterns.behavioral.ObserverEventAdapter;
+import patterns.behavioral.RaceEvent;
+import patterns.behavioral.RaceEventListener;
 import patterns.behavioral.RaceObserver;
-import exceptions.FuelException;
-import exceptions.TireException;
+import exceptions.FaultCode;
 import java.util.*;
 import static models.RaceConstants.*;
 
@@ -11,125 +13,340 @@ import static models.RaceConstants.*;
 public class Race {
     private String raceName;
     private int totalLaps;
-    private List<RaceResult> results;
-    private Map<Driver, Car> driverCars;
-    private List<RaceObserver> observers;
+    private Leaderboard leaderboard; // результати в порядку позицій
+    private List<Car> cars; // боліди за ідентифікатором учасника
+    private List<PitPlan> pitPlans; // плани піт-стопів за ідентифікатором (null - без зупинок)
+    private Map<Driver, Integer> participantIds; // за об'єктом гонщика, не за equals
+    private List<RaceEventListener> listeners; // слухачі типізованих подій
     private boolean isRunning;
+    private SplittableRandom random; // джерело випадковості цієї гонки
+    private boolean quiet; // тихий режим для всіх болідів гонки
+    private boolean[] carQuiet; // власний тихий режим болідів до старту (за ідентифікатором)
+    private ScoringRules scoringRules; // правила балів на фініші
+    private int[] startingGrid; // ідентифікатори в порядку старту (null - порядок реєстрації)
     
     public Race(String raceName, int totalLaps) {
+        this(raceName, totalLaps, new SplittableRandom());
+    }
+    
+    // Гонка з фіксованим seed - повторний запуск дає ті самі результати
+    public Race(String raceName, int totalLaps, long seed) {
+        this(raceName, totalLaps, new SplittableRandom(seed));
+    }
+    
+    private Race(String raceName, int totalLaps, SplittableRandom random) {
         this.raceName = raceName;
         this.totalLaps = totalLaps > 0 ? totalLaps : DEFAULT_LAPS;
-        this.results = new ArrayList<>();
-        this.driverCars = new HashMap<>();
-        this.observers = new ArrayList<>();
+        this.leaderboard = new Leaderboard();
+        this.cars = new ArrayList<>();
+        this.pitPlans = new ArrayList<>();
+        this.participantIds = new IdentityHashMap<>();
+        this.listeners = new ArrayList<>();
         this.isRunning = false;
+        this.random = random;
+        this.scoringRules = ScoringRules.DEFAULT;
+    }
+    
+    // Підміна джерела випадковості (наприклад, гілка split() від спільного генератора)
+    public void setRandom(SplittableRandom random) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random source cannot be null");
+        }
+        this.random = random;
+    }
+    
+    // Реєстрація учасника; повертає його ідентифікатор (0, 1, 2, ... у порядку
+    // реєстрації) або -1, якщо гонщик чи болід не задані. Ідентифікатор не
+    // залежить від імені та навичок, тому тренування і перейменування під час
+    // сезону не впливають на пошук боліда
+    public int addParticipant(Driver driver, Car car) {
+        if (driver == null || car == null) {
+            return -1;
+        }
+        if (participantIds.containsKey(driver)) {
+            throw new IllegalArgumentException("Driver " + driver.getName() + " is already registered");
+        }
+        int participantId = cars.size();
+        participantIds.put(driver, participantId);
+        cars.add(car);
+        pitPlans.add(null);
+        driver.setCar(car);
+        leaderboard.add(new RaceResult(driver, participantId + 1, participantId));
+        return participantId;
+    }
+    
+    // Болід учасника за ідентифікатором - доступ за індексом
+    public Car getCar(int participantId) {
+        return cars.get(participantId);
+    }
+    
+    // Ідентифікатор учасника або -1, якщо гонщик не зареєстрований
+    public int getParticipantId(Driver driver) {
+        Integer participantId = participantIds.get(driver);
+        return participantId != null ? participantId : -1;
+    }
+    
+    // План піт-стопів учасника; стартовий склад ставиться новим комплектом при старті
+    public void setPitPlan(int participantId, PitPlan plan) {
+        if (participantId < 0 || participantId >= cars.size()) {
+            throw new IllegalArgumentException("Unknown participant id: " + participantId);
+        }
+        pitPlans.set(participantId, plan);
+    }
+    
+    public PitPlan getPitPlan(int participantId) {
+        return pitPlans.get(participantId);
+    }
+    
+    public int getParticipantCount() {
+        return cars.size();
     }
     
-    public void addParticipant(Driver driver, Car car) {
-        if (driver != null && car != null) {
-            driverCars.put(driver, car);
-            driver.setCar(car);
-            results.add(new RaceResult(driver, results.size() + 1));
+    // Стартова решітка: ідентифікатори учасників від поула до останнього місця
+    // (наприклад, за підсумками кваліфікації). Визначає позиції до старту, порядок
+    // проїзду кола і стартове відставання GRID_SLOT_TIME_GAP за кожне місце
+    public void setStartingGrid(int[] participantIds) {
+        if (isRunning || hasStarted()) {
+            throw new IllegalStateException("[RACE_ERROR] Starting grid can only be set before the race");
         }
+        if (participantIds == null || participantIds.length != cars.size()) {
+            throw new IllegalArgumentException("Starting grid must list all " + cars.size() + " participants");
+        }
+        RaceResult[] byId = new RaceResult[cars.size()];
+        for (int i = 0; i < leaderboard.size(); i++) {
+            RaceResult result = leaderboard.get(i);
+            byId[result.getParticipantId()] = result;
+        }
+        Leaderboard grid = new Leaderboard();
+        boolean[] placed = new boolean[cars.size()];
+        for (int participantId : participantIds) {
+            if (participantId < 0 || participantId >= cars.size() || placed[participantId]) {
+                throw new IllegalArgumentException("Invalid or repeated participant id on the grid: " + participantId);
+            }
+            placed[participantId] = true;
+            grid.add(byId[participantId]);
+        }
+        leaderboard = grid;
+        startingGrid = participantIds.clone();
+    }
+    
+    // Порядок старту (ідентифікатори учасників від поула)
+    public int[] getStartingGrid() {
+        if (startingGrid != null) {
+            return startingGrid.clone();
+        }
+        int[] grid = new int[cars.size()];
+        for (int i = 0; i < grid.length; i++) {
+            grid[i] = i;
+        }
+        return grid;
+    }
+    
+    private boolean hasStarted() {
+        for (int i = 0; i < leaderboard.size(); i++) {
+            if (leaderboard.get(i).getLapsCompleted() > 0 || leaderboard.get(i).isFinished()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Тихий режим: боліди учасників не друкують подій у консоль під час гонки
+    // (після фінішу кожен болід повертає власне налаштування)
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
     }
     
+    public boolean isQuiet() {
+        return quiet;
+    }
+    
+    // Правила нарахування балів (за замовчуванням - ScoringRules.DEFAULT)
+    public void setScoringRules(ScoringRules scoringRules) {
+        if (scoringRules == null) {
+            throw new IllegalArgumentException("Scoring rules cannot be null");
+        }
+        this.scoringRules = scoringRules;
+    }
+    
+    public ScoringRules getScoringRules() {
+        return scoringRules;
+    }
+    
+    // Текстовий спостерігач підключається через адаптер; якщо він сам
+    // розуміє типізовані події, то отримує їх напряму, без побудови рядків
     public void addObserver(RaceObserver observer) {
-        if (observer != null && !observers.contains(observer)) {
-            observers.add(observer);
+        if (observer == null) {
+            return;
+        }
+        if (observer instanceof RaceEventListener) {
+            addEventListener((RaceEventListener) observer);
+        } else {
+            addEventListener(new ObserverEventAdapter(observer));
         }
     }
     
-    private void notifyObservers(String event) {
-        for (RaceObserver observer : observers) {
-            observer.update(event);
+    public void addEventListener(RaceEventListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+    
+    public void removeEventListener(RaceEventListener listener) {
+        listeners.remove(listener);
+    }
+    
+    // Чи є кому надсилати події - без слухачів подія навіть не створюється
+    private boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+    
+    private void publish(RaceEvent event) {
+        for (RaceEventListener listener : listeners) {
+            listener.onRaceEvent(event);
         }
     }
     
     public void startRace() {
-        if (driverCars.isEmpty()) {
+        if (leaderboard.isEmpty()) {
             throw new IllegalStateException("[RACE_ERROR] Cannot start race: No participants!");
         }
         
         isRunning = true;
-        notifyObservers("Race started: " + raceName);
         
-        // Симуляція кожного кола
-        for (int lap = 1; lap <= totalLaps && isRunning; lap++) {
-            simulateLap(lap);
-            
-            // Перевірка чи хтось фінішував
-            if (checkRaceFinished()) {
-                break;
+        // Місце на решітці - початкове відставання в сумарному часі
+        for (int i = 0; i < leaderboard.size(); i++) {
+            leaderboard.get(i).setTotalTime(i * GRID_SLOT_TIME_GAP);
+        }
+        
+        // Кожен болід отримує власний незалежний потік випадкових чисел;
+        // тихий режим гонки діє лише до фінішу, потім болід повертає свій
+        carQuiet = new boolean[cars.size()];
+        for (int i = 0; i < leaderboard.size(); i++) {
+            int id = leaderboard.get(i).getParticipantId();
+            Car car = cars.get(id);
+            car.setRandom(random.split());
+            carQuiet[id] = car.isQuiet();
+            car.setQuiet(quiet || carQuiet[id]);
+        }
+        for (int id = 0; id < cars.size(); id++) {
+            if (pitPlans.get(id) != null) {
+                cars.get(id).setTireCompound(pitPlans.get(id).getTireCompound(0));
             }
         }
         
-        finishRace();
+        if (hasListeners()) {
+            publish(RaceEvent.raceStarted(raceName, totalLaps, cars.size()));
+        }
+        
+        try {
+            // Симуляція кожного кола
+            for (int lap = 1; lap <= totalLaps && isRunning; lap++) {
+                simulateLap(lap);
+                
+                // Перевірка чи хтось фінішував
+                if (checkRaceFinished()) {
+                    break;
+                }
+            }
+            
+            finishRace();
+        } finally {
+            for (int id = 0; id < cars.size(); id++) {
+                cars.get(id).setQuiet(carQuiet[id]);
+            }
+        }
     }
     
     private void simulateLap(int lapNumber) {
-        notifyObservers(String.format("Lap %d/%d", lapNumber, totalLaps));
+        if (hasListeners()) {
+            publish(RaceEvent.lapStarted(lapNumber, totalLaps));
+        }
         
-        for (RaceResult result : results) {
+        for (int i = 0; i < leaderboard.size(); i++) {
+            RaceResult result = leaderboard.get(i);
             if (!result.isFinished()) {
                     Driver driver = result.getDriver();
-                    Car car = driverCars.get(driver);
+                    Car car = cars.get(result.getParticipantId());
                     
                     if (car != null) {
                     double lapTime = calculateLapTime(car, driver);
+                    PitPlan plan = pitPlans.get(result.getParticipantId());
+                    int stop = plan != null ? plan.indexOfStop(lapNumber) : -1;
+                    if (stop >= 0) {
+                        lapTime += PIT_STOP_TIME_LOSS; // коло із заїздом у бокси
+                    }
                     if (result.getLapTime() == 0 || (lapTime > 0 && lapTime < result.getLapTime())) {
                         result.setLapTime(lapTime);
                     }
+                    result.addTime(lapTime); // класифікація за сумарним часом, тому зупинка коштує часу
                     
-                    // Оновлюємо стан боліда
+                    // Оновлюємо стан боліда (шини враховуються з наступного кола).
+                    // Несправності приходять кодом; виняток для події створюється
+                    // лише коли є слухачі
                     try {
-                        driver.drive(); // Використовує стратегію водіння
-                        car.checkState();
-                    } catch (FuelException e) {
-                        notifyObservers("[WARNING] " + driver.getName() + ": " + e.getFullErrorInfo());
-                    } catch (TireException e) {
-                        notifyObservers("[WARNING] " + driver.getName() + ": " + e.getFullErrorInfo());
+                        FaultCode fault = driver.getStrategy().tryDrive(car); // Використовує стратегію водіння
+                        if (!fault.isFault()) {
+                            car.checkState();
+                        } else if (hasListeners()) {
+                            publishFault(driver, result, car, lapNumber, fault);
+                        }
                     } catch (Exception e) {
-                        notifyObservers("[WARNING] " + driver.getName() + " had a problem: " + e.getMessage());
+                        if (hasListeners()) {
+                            publish(RaceEvent.problemWarning(driver.getName(), result.getParticipantId(), lapNumber, e));
+                        }
                     }
+                    car.completeLap();
                     
                     result.incrementLaps();
+                    leaderboard.markChanged(i);
+                    if (hasListeners()) {
+                        publish(RaceEvent.lapTimeSet(driver.getName(), result.getParticipantId(), lapNumber,
+                                lapTime, car.getFuelLevel(), car.getTireType(), car.getState().getStateName()));
+                    }
+                    if (stop >= 0) {
+                        pitStop(result, car, lapNumber, plan.getTireCompound(stop + 1));
+                    }
                 }
             }
         }
-        updatePositions();
+        updatePositions(lapNumber);
+    }
+    
+    private void publishFault(Driver driver, RaceResult result, Car car, int lapNumber, FaultCode fault) {
+        if (fault == FaultCode.NO_FUEL) {
+            publish(RaceEvent.fuelWarning(driver.getName(), result.getParticipantId(), lapNumber,
+                    car.toException(fault)));
+        } else {
+            publish(RaceEvent.tireWarning(driver.getName(), result.getParticipantId(), lapNumber,
+                    car.toException(fault)));
+        }
+    }
+    
+    // Заїзд у бокси в кінці кола: новий комплект шин і повний бак
+    private void pitStop(RaceResult result, Car car, int lapNumber, TireCompound compound) {
+        car.setTireCompound(compound);
+        car.refuel(car.getMaxFuel() - car.getFuelLevel());
+        if (hasListeners()) {
+            publish(RaceEvent.pitStop(result.getDriver().getName(), result.getParticipantId(), lapNumber,
+                    compound.getDisplayName(), PIT_STOP_TIME_LOSS));
+        }
     }
     
     // Розраховує час кола на основі боліда та гонщика
     private double calculateLapTime(Car car, Driver driver) {
-        double baseTime = BASE_LAP_TIME - (car.getEnginePower() / ENGINE_POWER_DIVISOR) - 
-                         (car.getAerodynamics() * AERODYNAMICS_MULTIPLIER);
-        double skillBonus = driver.getSkillLevel() * SKILL_BONUS_MULTIPLIER;
-        baseTime -= skillBonus;
-        double randomFactor = RANDOM_FACTOR_MIN + (Math.random() * RANDOM_FACTOR_RANGE);
-        baseTime *= randomFactor;
-        
-        return Math.max(MIN_LAP_TIME, baseTime);
+        return LapTimeModel.calculate(car.getLapPower(), car.getAerodynamics(),
+                driver.getSkillLevel(), car.getTireGrip(), random.nextDouble());
     }
     
-    // Сортує результати за позиціями
-    private void updatePositions() {
-        results.sort((r1, r2) -> {
-            if (r1.getLapsCompleted() != r2.getLapsCompleted()) {
-                return Integer.compare(r2.getLapsCompleted(), r1.getLapsCompleted());
-            }
-            if (r1.getLapTime() == 0) return 1;
-            if (r2.getLapTime() == 0) return -1;
-            return Double.compare(r1.getLapTime(), r2.getLapTime());
-        });
-        
-        // Оновлюємо позиції
-        for (int i = 0; i < results.size(); i++) {
-            results.get(i).setPosition(i + 1);
-        }
+    // Переставляє лише тих, хто проїхав коло; обгони стають подіями POSITION_CHANGED
+    private void updatePositions(int lapNumber) {
+        leaderboard.reposition(lapNumber, hasListeners() ? this::publish : null);
     }
     
     private boolean checkRaceFinished() {
-        for (RaceResult result : results) {
+        for (int i = 0; i < leaderboard.size(); i++) {
+            RaceResult result = leaderboard.get(i);
             if (result.getLapsCompleted() >= totalLaps) {
                 result.setFinished(true);
             }
@@ -137,8 +354,8 @@ public class Race {
         
         // Якщо всі фінішували
         boolean allFinished = true;
-        for (RaceResult result : results) {
-            if (!result.isFinished()) {
+        for (int i = 0; i < leaderboard.size(); i++) {
+            if (!leaderboard.get(i).isFinished()) {
                 allFinished = false;
                 break;
             }
@@ -150,29 +367,39 @@ public class Race {
     private void finishRace() {
         isRunning = false;
         
-        for (RaceResult result : results) {
+        // Таблиця вже впорядкована за позиціями
+        List<RaceResult> standings = leaderboard.toList();
+        for (RaceResult result : standings) {
             result.setFinished(true);
         }
         
-        ScoringSystem.sortByPosition(results);
-        Map<Driver, Integer> points = ScoringSystem.calculatePoints(results);
-        
-        notifyObservers("Race finished! Calculating points...");
-        
-        StringBuilder raceReport = new StringBuilder();
-        raceReport.append("\n=== Race Results ===\n");
-        raceReport.append("Race: ").append(raceName).append("\n");
-        raceReport.append("Total Laps: ").append(totalLaps).append("\n\n");
+        scoringRules.apply(standings); // бали одразу в RaceResult, без мапи
         
-        for (RaceResult result : results) {
-            raceReport.append(result.toString()).append("\n");
+        if (hasListeners()) {
+            publish(RaceEvent.raceFinished(raceName, totalLaps));
+            // Звіт будується лише коли хтось читає його текст
+            publish(RaceEvent.raceResults(raceName, totalLaps, standings));
         }
-        
-        notifyObservers(raceReport.toString());
     }
     
+    // Результати в порядку поточних позицій (до старту - в порядку стартової решітки)
     public List<RaceResult> getResults() {
-        return new ArrayList<>(results);
+        return leaderboard.toList();
+    }
+    
+    // Результати за ідентифікатором учасника (елемент i - учасник i), ті самі об'єкти
+    public List<RaceResult> getResultsByParticipant() {
+        RaceResult[] byId = new RaceResult[leaderboard.size()];
+        for (int i = 0; i < leaderboard.size(); i++) {
+            RaceResult result = leaderboard.get(i);
+            byId[result.getParticipantId()] = result;
+        }
+        return Arrays.asList(byId);
+    }
+    
+    // Кількість обгонів за гонку
+    public int getOvertakeCount() {
+        return leaderboard.getOvertakes();
     }
     
     public String getRaceName() {
@@ -181,7 +408,9 @@ public class Race {
     
     public void stopRace() {
         isRunning = false;
-        notifyObservers("Race stopped!");
+        if (hasListeners()) {
+            publish(RaceEvent.raceStopped(raceName));
+        }
     }
     
     public boolean isRunning() {
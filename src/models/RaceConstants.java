@@ -4,10 +4,18 @@ package models;
 public class RaceConstants {
     public static final double BASE_LAP_TIME = 100.0;
     public static final double MIN_LAP_TIME = 70.0;
-    public static final double ENGINE_POWER_DIVISOR = 10.0;
-    public static final double AERODYNAMICS_MULTIPLIER = 2.0;
+    // Підібрано так, щоб час кола (до випадкового множника) був у межах 75-94 с
+    // і не впирався в MIN_LAP_TIME для всіх допустимих болідів
+    public static final double ENGINE_POWER_DIVISOR = 100.0;
+    public static final double AERODYNAMICS_MULTIPLIER = 1.0;
     public static final double SKILL_BONUS_MULTIPLIER = 0.5;
+    // Секунди на колі за повну втрату зчеплення шин (1.0 - effectiveGrip)
+    public static final double TIRE_GRIP_TIME_LOSS = 8.0;
     public static final double RANDOM_FACTOR_MIN = 0.9;
     public static final double RANDOM_FACTOR_RANGE = 0.2;
     public static final int DEFAULT_LAPS = 10;
+    // Час, втрачений на заїзд у бокси (додається до кола зупинки)
+    public static final double PIT_STOP_TIME_LOSS = 22.0;
+    // Відставання на старті за кожне місце стартової решітки (поул - 0 с)
+    public static final double GRID_SLOT_TIME_GAP = 1.0;
 }
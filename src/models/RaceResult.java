@@ -10,12 +10,19 @@ public class RaceResult {
     private Driver driver;
     private int position; // місце (1, 2, 3, ...)
     private double lapTime; // час найшвидшого кола (секунди)
+    private double totalTime; // сумарний час усіх кіл, разом із піт-стопами (секунди)
     private int points; // бали за гонку
     private boolean finished; // чи фінішував
     private int lapsCompleted; // кількість завершених кіл
+    private int participantId; // ідентифікатор учасника в гонці (-1 - не зареєстрований)
     
     public RaceResult(Driver driver, int position) {
+        this(driver, position, -1);
+    }
+    
+    public RaceResult(Driver driver, int position, int participantId) {
         this.driver = driver;
+        this.participantId = participantId;
         this.position = position;
         this.lapTime = 0.0;
         this.points = 0;
@@ -48,6 +55,14 @@ public class RaceResult {
         return lapsCompleted;
     }
     
+    public double getTotalTime() {
+        return totalTime;
+    }
+    
+    public int getParticipantId() {
+        return participantId;
+    }
+    
     // Сеттери
     public void setPosition(int position) {
         this.position = position;
@@ -67,6 +82,17 @@ public class RaceResult {
         this.finished = finished;
     }
     
+    // Додати час кола до сумарного часу гонки
+    public void addTime(double seconds) {
+        this.totalTime += seconds;
+    }
+    
+    public void setTotalTime(double totalTime) {
+        if (totalTime >= 0) {
+            this.totalTime = totalTime;
+        }
+    }
+    
     public void incrementLaps() {
         this.lapsCompleted++;
     }
@@ -0,0 +1,180 @@
+package models;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Набір правил нарахування балів - скомпільована таблиця для швидкого підрахунку
+ *
+ * Бали за місця зберігаються в масиві int, тому бали позиції - один доступ
+ * до масиву, а протокол гонки оцінюється одним проходом без мап і
+ * проміжних об'єктів. Бонус за найшвидше коло отримує учасник на позиції
+ * не нижче fastestLapMaxPosition (0 - будь-яка позиція).
+ *
+ * Об'єкт незмінний: варіанти (половинні бали, інший бонус) створюються
+ * методами halfPoints() та withFastestLap(). Бали цілі, тому половинні
+ * бали округлюються вниз.
+ */
+public final class ScoringRules {
+    // 2019-2024: 25-18-15-12-10-8-6-4-2-1, найшвидше коло в топ-10 - +1
+    public static final ScoringRules F1_2019 = new ScoringRules("F1 2019",
+            new int[] {25, 18, 15, 12, 10, 8, 6, 4, 2, 1}, 1, 10);
+    // 2010-2018: ті самі бали без бонусу
+    public static final ScoringRules F1_2010 = new ScoringRules("F1 2010",
+            new int[] {25, 18, 15, 12, 10, 8, 6, 4, 2, 1}, 0, 0);
+    public static final ScoringRules F1_2003 = new ScoringRules("F1 2003",
+            new int[] {10, 8, 6, 5, 4, 3, 2, 1}, 0, 0);
+    public static final ScoringRules F1_1991 = new ScoringRules("F1 1991",
+            new int[] {10, 6, 4, 3, 2, 1}, 0, 0);
+    public static final ScoringRules F1_1961 = new ScoringRules("F1 1961",
+            new int[] {9, 6, 4, 3, 2, 1}, 0, 0);
+    // 1950-1959: бонус за найшвидше коло незалежно від місця
+    public static final ScoringRules F1_1950 = new ScoringRules("F1 1950",
+            new int[] {8, 6, 4, 3, 2}, 1, 0);
+    public static final ScoringRules SPRINT_2021 = new ScoringRules("Sprint 2021",
+            new int[] {3, 2, 1}, 0, 0);
+    public static final ScoringRules SPRINT_2022 = new ScoringRules("Sprint 2022",
+            new int[] {8, 7, 6, 5, 4, 3, 2, 1}, 0, 0);
+    public static final ScoringRules DEFAULT = F1_2019;
+
+    private final String name;
+    private final int[] positionPoints; // [позиція - 1]
+    private final int fastestLapBonus;
+    private final int fastestLapMaxPosition;
+
+    public ScoringRules(String name, int[] positionPoints, int fastestLapBonus, int fastestLapMaxPosition) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Scoring rules name cannot be empty");
+        }
+        if (positionPoints == null) {
+            throw new IllegalArgumentException("Points table cannot be null");
+        }
+        for (int points : positionPoints) {
+            if (points < 0) {
+                throw new IllegalArgumentException("Points cannot be negative");
+            }
+        }
+        if (fastestLapBonus < 0 || fastestLapMaxPosition < 0) {
+            throw new IllegalArgumentException("Fastest lap bonus and position limit cannot be negative");
+        }
+        this.name = name;
+        this.positionPoints = positionPoints.clone();
+        this.fastestLapBonus = fastestLapBonus;
+        this.fastestLapMaxPosition = fastestLapMaxPosition;
+    }
+
+    // Половинні бали (скорочена гонка), округлення вниз
+    public ScoringRules halfPoints() {
+        int[] halved = new int[positionPoints.length];
+        for (int i = 0; i < halved.length; i++) {
+            halved[i] = positionPoints[i] / 2;
+        }
+        return new ScoringRules(name + " (half points)", halved, fastestLapBonus / 2, fastestLapMaxPosition);
+    }
+
+    // Ті самі бали за місця з іншим бонусом за найшвидше коло (0 - без бонусу)
+    public ScoringRules withFastestLap(int bonus, int maxPosition) {
+        return new ScoringRules(name, positionPoints, bonus, maxPosition);
+    }
+
+    public int getPointsForPosition(int position) {
+        return position >= 1 && position <= positionPoints.length ? positionPoints[position - 1] : 0;
+    }
+
+    public boolean isFastestLapEligible(int position) {
+        return fastestLapBonus > 0 && (fastestLapMaxPosition == 0 || position <= fastestLapMaxPosition);
+    }
+
+    // Бали за фініш на позиції (з бонусом, якщо це найшвидше коло)
+    public int getPoints(int position, boolean fastestLap) {
+        int points = getPointsForPosition(position);
+        return fastestLap && isFastestLapEligible(position) ? points + fastestLapBonus : points;
+    }
+
+    /**
+     * Бали прямо в RaceResult (список відсортований за позицією)
+     * Бали за місце отримують лише фінішери; бонус - учасник з найкращим колом
+     * (перший при рівності), якщо його позиція дозволяє
+     * @return учасник, що отримав бонус за найшвидше коло, або null
+     */
+    public RaceResult apply(List<RaceResult> results) {
+        RaceResult fastest = null;
+        int fastestBase = 0;
+        for (int i = 0; i < results.size(); i++) {
+            RaceResult result = results.get(i);
+            int points = result.isFinished() ? getPointsForPosition(i + 1) : 0;
+            if (i < positionPoints.length && result.isFinished()) {
+                result.setPoints(points);
+            }
+            if (result.getLapTime() > 0 && (fastest == null || result.getLapTime() < fastest.getLapTime())) {
+                fastest = result;
+                fastestBase = points;
+            }
+        }
+        if (fastest != null && isFastestLapEligible(fastest.getPosition())) {
+            fastest.setPoints(fastestBase + fastestLapBonus);
+            return fastest;
+        }
+        return null;
+    }
+
+    /**
+     * Бали для сітки в масивах: position[slot] - фінішна позиція (1..size),
+     * bestLap[slot] - найкраще коло (0 - немає). Результат записується в points[slot]
+     * Найшвидшим вважається вищий у протоколі при рівності, як у apply()
+     */
+    public void score(int[] position, double[] bestLap, int size, int[] points) {
+        int fastest = -1;
+        for (int slot = 0; slot < size; slot++) {
+            points[slot] = getPointsForPosition(position[slot]);
+            if (bestLap[slot] > 0 && (fastest < 0 || bestLap[slot] < bestLap[fastest]
+                    || (bestLap[slot] == bestLap[fastest] && position[slot] < position[fastest]))) {
+                fastest = slot;
+            }
+        }
+        if (fastest >= 0 && isFastestLapEligible(position[fastest])) {
+            points[fastest] += fastestLapBonus;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Кількість позицій, що отримують бали
+    public int getScoringPositions() {
+        return positionPoints.length;
+    }
+
+    public int getFastestLapBonus() {
+        return fastestLapBonus;
+    }
+
+    public int getFastestLapMaxPosition() {
+        return fastestLapMaxPosition;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ScoringRules other = (ScoringRules) obj;
+        return Arrays.equals(positionPoints, other.positionPoints) && fastestLapBonus == other.fastestLapBonus
+                && fastestLapMaxPosition == other.fastestLapMaxPosition;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Arrays.hashCode(positionPoints) + fastestLapBonus) + fastestLapMaxPosition;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + Arrays.toString(positionPoints)
+                + (fastestLapBonus > 0 ? " + " + fastestLapBonus + " fastest lap" : "");
+    }
+}
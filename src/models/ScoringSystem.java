@@ -21,8 +21,8 @@ import java.util.*;
  */
 public class ScoringSystem {
     
-    // Система балів F1
-    private static final int[] POINTS = {25, 18, 15, 12, 10, 8, 6, 4, 2, 1};
+    // Система балів F1 - таблиця ScoringRules.DEFAULT
+    private static final ScoringRules RULES = ScoringRules.DEFAULT;
     
     /**
      * Розрахувати бали для результатів гонки
@@ -30,45 +30,27 @@ public class ScoringSystem {
      * @return мапа Driver -> бали
      */
     public static Map<Driver, Integer> calculatePoints(List<RaceResult> results) {
-        Map<Driver, Integer> pointsMap = new HashMap<>();
-        
-        // Розподіл балів за місце
-        for (int i = 0; i < results.size() && i < POINTS.length; i++) {
-            RaceResult result = results.get(i);
-            if (result.isFinished()) {
-                int points = POINTS[i];
-                result.setPoints(points);
-                pointsMap.put(result.getDriver(), points);
-            }
-        }
-        
-        // Додатковий бал за найшвидше коло (якщо гонщик в топ-10)
-        RaceResult fastestLapResult = findFastestLap(results);
-        if (fastestLapResult != null && fastestLapResult.getPosition() <= 10) {
-            Driver driver = fastestLapResult.getDriver();
-            int currentPoints = pointsMap.getOrDefault(driver, 0);
-            pointsMap.put(driver, currentPoints + 1);
-            fastestLapResult.setPoints(currentPoints + 1);
-        }
-        
-        return pointsMap;
+        return calculatePoints(results, RULES);
     }
     
     /**
-     * Знайти гонщика з найшвидшим колом
+     * Те саме за довільними правилами. Бали записуються в RaceResult;
+     * якщо мапа не потрібна, достатньо rules.apply(results)
      */
-    private static RaceResult findFastestLap(List<RaceResult> results) {
-        RaceResult fastest = null;
-        double fastestTime = Double.MAX_VALUE;
+    public static Map<Driver, Integer> calculatePoints(List<RaceResult> results, ScoringRules rules) {
+        RaceResult fastestLap = rules.apply(results);
         
-        for (RaceResult result : results) {
-            if (result.getLapTime() > 0 && result.getLapTime() < fastestTime) {
-                fastestTime = result.getLapTime();
-                fastest = result;
+        Map<Driver, Integer> pointsMap = new HashMap<>();
+        for (int i = 0; i < results.size() && i < rules.getScoringPositions(); i++) {
+            RaceResult result = results.get(i);
+            if (result.isFinished()) {
+                pointsMap.put(result.getDriver(), result.getPoints());
             }
         }
-        
-        return fastest;
+        if (fastestLap != null) {
+            pointsMap.put(fastestLap.getDriver(), fastestLap.getPoints());
+        }
+        return pointsMap;
     }
     
     /**
@@ -82,10 +64,6 @@ public class ScoringSystem {
      * Отримати бали за позицію
      */
     public static int getPointsForPosition(int position) {
-        if (position >= 1 && position <= POINTS.length) {
-            return POINTS[position - 1];
-        }
-        return 0;
+        return RULES.getPointsForPosition(position);
     }
 }
-
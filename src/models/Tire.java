@@ -1,42 +1,69 @@
 package models;
 
+import static models.TireConstants.*;
+
 // Клас шини
+// Знос і прогрів рахуються статичними методами над примітивами - ті самі
+// формули використовує GridSimulator для своїх масивів
 public class Tire {
-    
+    // Втрата зчеплення на градус відхилення та на одиницю зносу за "обривом"
+    private static final double THERMAL_LOSS_PER_DEGREE = MAX_THERMAL_GRIP_LOSS / TEMPERATURE_WINDOW;
+    private static final double WEAR_GRIP_SLOPE = (1.0 - WORN_GRIP_FACTOR) / CLIFF_DURABILITY;
+
     private String type; // Soft, Medium, Hard
+    private TireCompound compound; // null для шин з нестандартною назвою
     private double grip; // зчеплення (0.0 - 1.0)
     private double durability; // довговічність (0.0 - 1.0)
     private double temperature; // температура (градуси)
-    
+
     public Tire(String type, double grip, double durability) {
         this.type = type;
+        this.compound = TireCompound.fromName(type);
         this.grip = grip;
         this.durability = durability;
-        this.temperature = 20.0; // початкова температура
+        this.temperature = AMBIENT_TEMPERATURE; // початкова температура
+    }
+
+    // Новий комплект складу з його стандартними характеристиками
+    public Tire(TireCompound compound) {
+        this(compound.getDisplayName(), compound.getGrip(), compound.getDurability());
     }
     
+    // Конструктор копіювання - незалежний комплект у тому ж стані
+    public Tire(Tire other) {
+        this.type = other.type;
+        this.compound = other.compound;
+        this.grip = other.grip;
+        this.durability = other.durability;
+        this.temperature = other.temperature;
+    }
+
     // Геттери
     public String getType() {
         return type;
     }
+
+    public TireCompound getCompound() {
+        return compound;
+    }
     
     public double getGrip() {
         return grip;
     }
-    
+
     public double getDurability() {
         return durability;
     }
-    
+
     public double getTemperature() {
         return temperature;
     }
-    
+
     // Сеттери
     public void setTemperature(double temperature) {
         this.temperature = temperature;
     }
-    
+
     // Метод для зменшення довговічності після використання
     public void wear(double amount) {
         durability -= amount;
@@ -44,7 +71,44 @@ public class Tire {
             durability = 0;
         }
     }
-    
+
+    // Коло з accelerations прискореннями: спочатку прогрів, потім знос
+    public void completeLap(int accelerations) {
+        temperature = nextTemperature(temperature, accelerations);
+        durability = nextDurability(durability, temperature, accelerations);
+    }
+
+    // Зчеплення з урахуванням температури та зносу
+    public double getEffectiveGrip() {
+        return effectiveGrip(grip, durability, temperature);
+    }
+
+    public boolean isWorn() {
+        return durability < CLIFF_DURABILITY;
+    }
+
+    public static double nextTemperature(double temperature, int accelerations) {
+        double target = COASTING_TEMPERATURE + accelerations * HEAT_PER_ACCELERATION;
+        return temperature + (target - temperature) * HEAT_TRANSFER_RATE;
+    }
+
+    public static double nextDurability(double durability, double temperature, int accelerations) {
+        double wear = BASE_WEAR_PER_LAP + accelerations * WEAR_PER_ACCELERATION;
+        if (temperature > OVERHEAT_TEMPERATURE) {
+            wear *= OVERHEAT_WEAR_MULTIPLIER;
+        }
+        return Math.max(0.0, durability - wear);
+    }
+
+    public static double effectiveGrip(double grip, double durability, double temperature) {
+        double thermalLoss = Math.abs(temperature - OPTIMAL_TEMPERATURE) * THERMAL_LOSS_PER_DEGREE;
+        double effective = grip * (1.0 - Math.min(MAX_THERMAL_GRIP_LOSS, thermalLoss));
+        if (durability < CLIFF_DURABILITY) {
+            effective *= WORN_GRIP_FACTOR + WEAR_GRIP_SLOPE * durability;
+        }
+        return effective;
+    }
+
     @Override
     public String toString() {
         return String.format("Tire: %s, Grip: %.2f, Durability: %.2f, Temperature: %.1f°C",
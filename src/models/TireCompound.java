@@ -0,0 +1,62 @@
+package models;
+
+// Склад шин - одна незмінна копія на склад з усіма характеристиками,
+// тож порівняння та множники на колі не потребують порівняння рядків
+public enum TireCompound {
+    SOFT("Soft", 0.95, 0.5, 1.2), // високе зчеплення, низька довговічність
+    MEDIUM("Medium", 0.80, 0.75, 1.0), // баланс
+    HARD("Hard", 0.65, 0.95, 0.9); // низьке зчеплення, висока довговічність
+
+    private final String displayName;
+    private final double grip;
+    private final double durability;
+    private final double performanceMultiplier; // для Car.calculatePerformance()
+
+    TireCompound(String displayName, double grip, double durability, double performanceMultiplier) {
+        this.displayName = displayName;
+        this.grip = grip;
+        this.durability = durability;
+        this.performanceMultiplier = performanceMultiplier;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public double getGrip() {
+        return grip;
+    }
+
+    public double getDurability() {
+        return durability;
+    }
+
+    public double getPerformanceMultiplier() {
+        return performanceMultiplier;
+    }
+
+    // Точна назва ("Soft", "Medium", "Hard") або null
+    public static TireCompound fromName(String name) {
+        for (TireCompound compound : values()) {
+            if (compound.displayName.equals(name)) {
+                return compound;
+            }
+        }
+        return null;
+    }
+
+    // Назва без урахування регістру та пробілів; невідома назва - виняток
+    public static TireCompound parse(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Tire type cannot be null");
+        }
+        String trimmed = name.trim();
+        for (TireCompound compound : values()) {
+            if (compound.displayName.equalsIgnoreCase(trimmed)) {
+                return compound;
+            }
+        }
+        throw new IllegalArgumentException("Unknown tire type: " + trimmed +
+            ". Use: Soft, Medium or Hard");
+    }
+}
@@ -0,0 +1,25 @@
+package models;
+
+// Константи моделі шин: прогрів, знос і втрата зчеплення
+public class TireConstants {
+    public static final double AMBIENT_TEMPERATURE = 20.0; // холодні шини на старті
+    public static final double OPTIMAL_TEMPERATURE = 100.0;
+    // Відхилення від оптимуму, за якого теплова втрата зчеплення максимальна
+    public static final double TEMPERATURE_WINDOW = 60.0;
+    public static final double MAX_THERMAL_GRIP_LOSS = 0.25;
+
+    // Температура, до якої прагне шина за коло: без прискорень - 70°C,
+    // кожне прискорення додає 30°C (Balanced - 100°C, Aggressive - 130°C)
+    public static final double COASTING_TEMPERATURE = 70.0;
+    public static final double HEAT_PER_ACCELERATION = 30.0;
+    public static final double HEAT_TRANSFER_RATE = 0.4; // частка різниці за коло
+    public static final double OVERHEAT_TEMPERATURE = 115.0;
+
+    public static final double BASE_WEAR_PER_LAP = 0.02;
+    public static final double WEAR_PER_ACCELERATION = 0.01;
+    public static final double OVERHEAT_WEAR_MULTIPLIER = 1.5;
+
+    // Нижче цього залишку зчеплення падає лінійно до WORN_GRIP_FACTOR
+    public static final double CLIFF_DURABILITY = 0.2;
+    public static final double WORN_GRIP_FACTOR = 0.6;
+}
@@ -3,14 +3,13 @@ package models.team;
 import models.Car;
 import patterns.behavioral.DrivingStrategy;
 import patterns.behavioral.BalancedStrategy;
-import exceptions.FuelException;
-import exceptions.TireException;
+import exceptions.FaultCode;
 
 // Гонщик - наслідується від TeamMember
 public class Driver extends TeamMember {
 
-    private static final double MIN_SKILL_LEVEL = 1.0;
-    private static final double MAX_SKILL_LEVEL = 10.0;
+    public static final double MIN_SKILL_LEVEL = 1.0;
+    public static final double MAX_SKILL_LEVEL = 10.0;
     private static final double TRAINING_INCREMENT = 0.1;
 
     private double skillLevel;
@@ -37,6 +36,17 @@ public class Driver extends TeamMember {
         this.strategy = new BalancedStrategy();
     }
 
+    // Конструктор копіювання - копія гонщика без боліда
+    // Стратегії не мають стану, тому спільний екземпляр безпечний
+    public Driver(Driver other) {
+        super(other.name, "Driver", other.experience);
+        this.skillLevel = other.skillLevel;
+        this.country = other.country;
+        this.teamName = other.teamName;
+        this.wins = other.wins;
+        this.strategy = other.strategy;
+    }
+
     public double getSkillLevel() {
         return skillLevel;
     }
@@ -107,14 +117,17 @@ public class Driver extends TeamMember {
     
     public void drive() {
         if (car != null && strategy != null) {
+            // У тихому режимі боліда попередження не друкуються,
+            // тому виняток для повідомлення створюється лише поза ним
             try {
-                strategy.drive(car);
-            } catch (FuelException e) {
-                System.out.println("[WARNING] " + getName() + ": " + e.getFullErrorInfo());
-            } catch (TireException e) {
-                System.out.println("[WARNING] " + getName() + ": " + e.getFullErrorInfo());
+                FaultCode fault = strategy.tryDrive(car);
+                if (fault.isFault() && !car.isQuiet()) {
+                    System.out.println("[WARNING] " + getName() + ": " + car.toException(fault).getFullErrorInfo());
+                }
             } catch (Exception e) {
-                System.out.println("[WARNING] " + getName() + " had a problem: " + e.getMessage());
+                if (!car.isQuiet()) {
+                    System.out.println("[WARNING] " + getName() + " had a problem: " + e.getMessage());
+                }
             }
         }
     }
@@ -179,10 +192,10 @@ public class Driver extends TeamMember {
                Math.abs(skillLevel - driver.skillLevel) < 0.01;
     }
 
+    // Лише ім'я: рівні за equals гонщики завжди мають однакове ім'я, а навички
+    // змінюються під час тренувань і не повинні змінювати хеш
     @Override
     public int hashCode() {
-        int result = name != null ? name.hashCode() : 0;
-        result = 31 * result + (int) skillLevel;
-        return result;
+        return name != null ? name.hashCode() : 0;
     }
 }
@@ -1,6 +1,7 @@
 package patterns.behavioral;
 
 import models.Car;
+import exceptions.FaultCode;
 import exceptions.FuelException;
 import exceptions.TireException;
 
@@ -9,10 +10,18 @@ public class AggressiveStrategy implements DrivingStrategy {
     
     @Override
     public void drive(Car car) throws FuelException, TireException {
-        // Агресивне водіння - багато прискорень
-        car.accelerate();
-        car.accelerate();
+        car.throwIfFault(tryDrive(car));
+    }
+    
+    @Override
+    public FaultCode tryDrive(Car car) {
+        // Агресивне водіння - багато прискорень (друге лише якщо перше вдалося)
         // Вища швидкість, але більше споживання палива та знос шин
+        FaultCode fault = car.tryAccelerate();
+        if (fault.isFault()) {
+            return fault;
+        }
+        return car.tryAccelerate();
     }
     
     @Override
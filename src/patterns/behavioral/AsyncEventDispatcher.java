@@ -0,0 +1,237 @@
+package patterns.behavioral;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Асинхронна доставка подій одному слухачу
+ *
+ * Подія кладеться в обмежену чергу, а окремий потік-обробник передає її
+ * слухачу. Потік симуляції не чекає на повільний вивід чи логування -
+ * при заповненій черзі діє політика OverflowPolicy.
+ * Підключається і до Race (як RaceEventListener), і до RaceSession
+ * (як RaceObserver). Потоки створює ThreadFactory - на Java 21+ можна
+ * передати Thread.ofVirtual().factory().
+ *
+ * close() не губить прийнятих подій: виробник реєструється в лічильнику
+ * producers до перевірки closed, а обробник завершується лише коли
+ * закрито, жоден виробник не всередині onRaceEvent і черга порожня.
+ * Тому подія або відкидається як rejected, або буде доставлена, а
+ * заблокований у put() виробник (BLOCK) завжди дочекається обробника.
+ * Відхилені події не входять у published, тому awaitIdle() їх не враховує.
+ */
+public class AsyncEventDispatcher implements RaceEventListener, RaceObserver, AutoCloseable {
+
+    // Що робити, коли черга заповнена
+    public enum OverflowPolicy {
+        BLOCK,       // чекати на вільне місце (нічого не губиться)
+        DROP_NEWEST, // відкинути нову подію
+        DROP_OLDEST  // відкинути найстарішу подію в черзі
+    }
+
+    private static final long POLL_INTERVAL_MS = 50;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final String name;
+    private final RaceEventListener target;
+    private final ArrayBlockingQueue<RaceEvent> queue;
+    private final OverflowPolicy policy;
+    private final Thread worker;
+    private volatile boolean closed;
+    private final AtomicInteger producers = new AtomicInteger(); // потоки всередині onRaceEvent
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong(); // лише успішні доставки
+    private final AtomicLong dropped = new AtomicLong(); // переповнення черги
+    private final AtomicLong rejected = new AtomicLong(); // надіслані після close()
+    private final AtomicLong failed = new AtomicLong(); // слухач кинув виняток
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    public AsyncEventDispatcher(String name, RaceEventListener target, int capacity, OverflowPolicy policy) {
+        this(name, target, capacity, policy, runnable -> {
+            Thread thread = new Thread(runnable, "race-events-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public AsyncEventDispatcher(String name, RaceEventListener target, int capacity,
+                                OverflowPolicy policy, ThreadFactory threadFactory) {
+        if (target == null || policy == null || threadFactory == null) {
+            throw new IllegalArgumentException("Target, policy and thread factory cannot be null");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be at least 1");
+        }
+        this.name = name;
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        this.closed = false;
+        this.worker = threadFactory.newThread(this::drain);
+        this.worker.start();
+    }
+
+    // Асинхронна доставка подій текстовому спостерігачу
+    public static AsyncEventDispatcher forObserver(RaceObserver observer, int capacity, OverflowPolicy policy) {
+        return new AsyncEventDispatcher(observer.getObserverName(),
+                new ObserverEventAdapter(observer), capacity, policy);
+    }
+
+    @Override
+    public void onRaceEvent(RaceEvent event) {
+        producers.incrementAndGet();
+        try {
+            if (closed) {
+                rejected.incrementAndGet();
+                return;
+            }
+            published.incrementAndGet();
+            enqueue(event);
+        } finally {
+            producers.decrementAndGet();
+        }
+    }
+
+    private void enqueue(RaceEvent event) {
+        switch (policy) {
+            case BLOCK:
+                try {
+                    queue.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                    return;
+                }
+                break;
+            case DROP_NEWEST:
+                if (!queue.offer(event)) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                break;
+            default:
+                while (!queue.offer(event)) {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+        }
+
+        int depth = queue.size();
+        int max = maxDepth.get();
+        while (depth > max && !maxDepth.compareAndSet(max, depth)) {
+            max = maxDepth.get();
+        }
+    }
+
+    // Текстові події (RaceSession) теж ідуть через чергу
+    @Override
+    public void update(String event) {
+        onRaceEvent(RaceEvent.message(event));
+    }
+
+    @Override
+    public String getObserverName() {
+        return name;
+    }
+
+    // Цикл потоку-обробника: працює, доки після close() не вийдуть усі виробники
+    // і не спорожніє черга (виробник кладе подію до виходу з лічильника)
+    private void drain() {
+        while (!closed || producers.get() > 0 || !queue.isEmpty()) {
+            RaceEvent event;
+            try {
+                event = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                if (closed) {
+                    continue;
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (event == null) {
+                continue;
+            }
+            try {
+                target.onRaceEvent(event);
+                delivered.incrementAndGet();
+            } catch (RuntimeException e) {
+                // помилка слухача не повинна зупиняти доставку
+                failed.incrementAndGet();
+            }
+        }
+    }
+
+    // Чекає, доки всі прийняті події будуть оброблені; false - вийшов час
+    public boolean awaitIdle(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (delivered.get() + failed.get() + dropped.get() < published.get() || !queue.isEmpty()) {
+            if (System.nanoTime() > deadline || !worker.isAlive()) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    // Доставляє залишок черги (разом з подіями виробників, що вже пройшли
+    // перевірку closed) та зупиняє потік-обробник
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Метрики
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxDepth.get();
+    }
+
+    public int getCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    // Події, які слухач обробив без винятку (failed рахуються окремо)
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    // Події, відхилені після close() (не входять у published)
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
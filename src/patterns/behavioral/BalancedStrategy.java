@@ -1,6 +1,7 @@
 package patterns.behavioral;
 
 import models.Car;
+import exceptions.FaultCode;
 import exceptions.FuelException;
 import exceptions.TireException;
 
@@ -9,9 +10,14 @@ public class BalancedStrategy implements DrivingStrategy {
     
     @Override
     public void drive(Car car) throws FuelException, TireException {
+        car.throwIfFault(tryDrive(car));
+    }
+    
+    @Override
+    public FaultCode tryDrive(Car car) {
         // Збалансоване водіння - один раз прискорення
-        car.accelerate();
         // Баланс між швидкістю та економією палива
+        return car.tryAccelerate();
     }
     
     @Override
@@ -0,0 +1,29 @@
+package patterns.behavioral;
+
+import models.Car;
+
+/**
+ * Слухач подій боліда - структурований приймач замість текстового виводу
+ *
+ * Car передає події з примітивними значеннями, без форматування рядків.
+ * Усі методи мають порожню реалізацію за замовчуванням, тому достатньо
+ * перевизначити лише потрібні.
+ */
+public interface CarEventListener {
+
+    // Болід прискорився та витратив fuelUsed літрів
+    default void onAccelerate(Car car, double fuelUsed) {
+    }
+
+    // Болід гальмує
+    default void onBrake(Car car) {
+    }
+
+    // Болід заправлено на amount літрів, у баку fuelLevel
+    default void onRefuel(Car car, double amount, double fuelLevel) {
+    }
+
+    // Стан боліда змінено (State pattern)
+    default void onStateChanged(Car car, CarState previous, CarState current) {
+    }
+}
@@ -0,0 +1,35 @@
+package patterns.behavioral;
+
+// Типи станів боліда зі спільними екземплярами CarState
+// Стани не зберігають даних, тому один об'єкт на тип обслуговує всі боліди,
+// і Car.checkState() не створює нового стану на кожному колі
+public enum CarStateType {
+    OPTIMAL(new OptimalState()),
+    NORMAL(new NormalState()),
+    OVERHEATING(new OverheatingState()),
+    CRITICAL(new CriticalState());
+
+    private final CarState state;
+
+    CarStateType(CarState state) {
+        this.state = state;
+    }
+
+    public CarState getState() {
+        return state;
+    }
+
+    public String getStateName() {
+        return state.getStateName();
+    }
+
+    // Тип за назвою стану або null (наприклад, для власних реалізацій CarState)
+    public static CarStateType fromName(String stateName) {
+        for (CarStateType type : values()) {
+            if (type.getStateName().equals(stateName)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
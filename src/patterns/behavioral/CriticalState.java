@@ -7,7 +7,9 @@ public class CriticalState implements CarState {
     @Override
     public void handle(Car car) {
         // Критичний стан - потрібен негайний піт-стоп
-        System.out.println("CRITICAL STATE! Need immediate pit-stop!");
+        if (!car.isQuiet()) {
+            System.out.println("CRITICAL STATE! Need immediate pit-stop!");
+        }
     }
     
     @Override
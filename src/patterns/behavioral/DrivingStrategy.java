@@ -1,6 +1,7 @@
 package patterns.behavioral;
 
 import models.Car;
+import exceptions.FaultCode;
 import exceptions.FuelException;
 import exceptions.TireException;
 
@@ -12,12 +13,29 @@ import exceptions.TireException;
  * - Різні реалізації стратегій (Aggressive, Economical, Balanced)
  * - Driver може використовувати різні стратегії під час гонки
  * - Легко додавати нові стратегії без зміни коду Driver
+ *
+ * На колі гонки використовується tryDrive(): несправність повертається
+ * кодом FaultCode, без створення винятку. Вбудовані стратегії реалізують
+ * tryDrive() напряму; для власних стратегій за замовчуванням drive()
+ * обгортається і виняток перетворюється на код.
  */
 public interface DrivingStrategy {
     
     // Метод для водіння з використанням стратегії
     void drive(Car car) throws FuelException, TireException;
     
+    // Водіння без винятків: FaultCode.NONE або код першої несправності
+    default FaultCode tryDrive(Car car) {
+        try {
+            drive(car);
+            return FaultCode.NONE;
+        } catch (FuelException e) {
+            return FaultCode.NO_FUEL;
+        } catch (TireException e) {
+            return FaultCode.TIRE_FAILURE;
+        }
+    }
+    
     // Метод для отримання назви стратегії
     String getStrategyName();
 }
@@ -1,6 +1,7 @@
 package patterns.behavioral;
 
 import models.Car;
+import exceptions.FaultCode;
 import exceptions.FuelException;
 import exceptions.TireException;
 
@@ -9,14 +10,19 @@ public class EconomicalStrategy implements DrivingStrategy {
     
     @Override
     public void drive(Car car) throws FuelException, TireException {
+        car.throwIfFault(tryDrive(car));
+    }
+    
+    @Override
+    public FaultCode tryDrive(Car car) {
         // Економне водіння - менше прискорень, більше гальмувань
         // Використовуємо перевірку щоб не витрачати багато палива
         if (car.getFuelLevel() > car.getMaxFuel() * 0.3) {
-            car.accelerate();
-        } else {
-            // Якщо палива мало, їдемо повільніше
-            car.brake();
+            return car.tryAccelerate();
         }
+        // Якщо палива мало, їдемо повільніше
+        car.brake();
+        return FaultCode.NONE;
     }
     
     @Override
@@ -1,7 +1,8 @@
 package patterns.behavioral;
 
 // Спостерігач для підрахунку подій
-public class EventCounterObserver implements RaceObserver {
+// Розуміє типізовані події, тому в Race лічить їх без побудови тексту
+public class EventCounterObserver implements RaceObserver, RaceEventListener {
     private String name;
     private int eventCount;
     
@@ -15,6 +16,14 @@ public class EventCounterObserver implements RaceObserver {
         eventCount++;
     }
     
+    // Лічить ті самі події, що й текстовий канал
+    @Override
+    public void onRaceEvent(RaceEvent event) {
+        if (event.getType().isLegacy()) {
+            eventCount++;
+        }
+    }
+    
     @Override
     public String getObserverName() {
         return name;
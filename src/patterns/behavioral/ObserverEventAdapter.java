@@ -0,0 +1,42 @@
+package patterns.behavioral;
+
+// Adapter - підключає текстовий RaceObserver до потоку типізованих подій
+// Передає лише ті події, які спостерігачі отримували раніше, у тому самому тексті
+public class ObserverEventAdapter implements RaceEventListener {
+    private RaceObserver observer;
+
+    public ObserverEventAdapter(RaceObserver observer) {
+        if (observer == null) {
+            throw new IllegalArgumentException("Observer cannot be null");
+        }
+        this.observer = observer;
+    }
+
+    @Override
+    public void onRaceEvent(RaceEvent event) {
+        if (event.getType().isLegacy()) {
+            observer.update(event.getMessage());
+        }
+    }
+
+    public RaceObserver getObserver() {
+        return observer;
+    }
+
+    // Два адаптери одного спостерігача вважаються однаковими (без дублювання подій)
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ObserverEventAdapter)) {
+            return false;
+        }
+        return observer.equals(((ObserverEventAdapter) obj).observer);
+    }
+
+    @Override
+    public int hashCode() {
+        return observer.hashCode();
+    }
+}
@@ -7,7 +7,9 @@ public class OptimalState implements CarState {
     @Override
     public void handle(Car car) {
         // Оптимальні умови - все працює ідеально
-        System.out.println("Optimal conditions! Car works perfectly.");
+        if (!car.isQuiet()) {
+            System.out.println("Optimal conditions! Car works perfectly.");
+        }
     }
     
     @Override
@@ -7,7 +7,9 @@ public class OverheatingState implements CarState {
     @Override
     public void handle(Car car) {
         // При перегріві потрібно зменшити навантаження
-        System.out.println("WARNING: Car is overheating! Need to reduce load.");
+        if (!car.isQuiet()) {
+            System.out.println("WARNING: Car is overheating! Need to reduce load.");
+        }
     }
     
     @Override
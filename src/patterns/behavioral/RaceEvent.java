@@ -0,0 +1,259 @@
+package patterns.behavioral;
+
+import models.RaceResult;
+import exceptions.F1Exception;
+import java.util.List;
+
+/**
+ * Типізована подія гонки
+ *
+ * Зберігає лише значення (тип, коло, гонщик, час, позиції, стан боліда), а текст
+ * будується ліниво в getMessage() і кешується. Якщо жоден слухач
+ * не читає текст (наприклад, EventCounterObserver), рядки не створюються.
+ * Подія фактично незмінна: поля фінальні, а кеш тексту ідемпотентний
+ * (будь-який потік будує той самий рядок) і volatile, тому подію можна
+ * безпечно передавати в інші потоки, зокрема в AsyncEventDispatcher.
+ */
+public class RaceEvent {
+    private final RaceEventType type;
+    private final String subject; // назва гонки або ім'я гонщика
+    private final int lap;
+    private final int totalLaps;
+    private final int position;
+    private final int previousPosition;
+    private final double value;
+    private final Exception cause;
+    private final List<RaceResult> results;
+    private final int participantId; // ідентифікатор учасника в гонці (-1 - невідомий)
+    private final int participantCount; // для RACE_STARTED
+    private final double fuelLevel; // стан боліда після кола (LAP_TIME_SET)
+    private final String tireType;
+    private final String stateName;
+    private volatile String message; // кеш тексту (повторна побудова дає той самий рядок)
+
+    private RaceEvent(RaceEventType type, String subject, int lap, int totalLaps,
+                      int position, int previousPosition, double value,
+                      Exception cause, List<RaceResult> results) {
+        this(type, subject, lap, totalLaps, position, previousPosition, value, cause, results,
+                -1, 0, 0, null, null);
+    }
+
+    private RaceEvent(RaceEventType type, String subject, int lap, int totalLaps,
+                      int position, int previousPosition, double value,
+                      Exception cause, List<RaceResult> results, int participantId,
+                      int participantCount, double fuelLevel, String tireType, String stateName) {
+        this.type = type;
+        this.subject = subject;
+        this.lap = lap;
+        this.totalLaps = totalLaps;
+        this.position = position;
+        this.previousPosition = previousPosition;
+        this.value = value;
+        this.cause = cause;
+        this.results = results;
+        this.participantId = participantId;
+        this.participantCount = participantCount;
+        this.fuelLevel = fuelLevel;
+        this.tireType = tireType;
+        this.stateName = stateName;
+    }
+
+    // Фабричні методи для кожного типу події
+
+    public static RaceEvent raceStarted(String raceName, int totalLaps) {
+        return raceStarted(raceName, totalLaps, 0);
+    }
+
+    public static RaceEvent raceStarted(String raceName, int totalLaps, int participantCount) {
+        return new RaceEvent(RaceEventType.RACE_STARTED, raceName, 0, totalLaps, 0, 0, 0, null, null,
+                -1, participantCount, 0, null, null);
+    }
+
+    public static RaceEvent lapStarted(int lap, int totalLaps) {
+        return new RaceEvent(RaceEventType.LAP_STARTED, null, lap, totalLaps, 0, 0, 0, null, null);
+    }
+
+    public static RaceEvent lapTimeSet(String driverName, int lap, double lapTime) {
+        return new RaceEvent(RaceEventType.LAP_TIME_SET, driverName, lap, 0, 0, 0, lapTime, null, null);
+    }
+
+    // Час кола разом зі станом боліда після кола
+    public static RaceEvent lapTimeSet(String driverName, int participantId, int lap, double lapTime,
+                                       double fuelLevel, String tireType, String stateName) {
+        return new RaceEvent(RaceEventType.LAP_TIME_SET, driverName, lap, 0, 0, 0, lapTime, null, null,
+                participantId, 0, fuelLevel, tireType, stateName);
+    }
+
+    // Піт-стоп у кінці кола lap: новий склад шин і час, втрачений на заїзд
+    public static RaceEvent pitStop(String driverName, int participantId, int lap,
+                                    String tireType, double timeLoss) {
+        return new RaceEvent(RaceEventType.PIT_STOP, driverName, lap, 0, 0, 0, timeLoss, null, null,
+                participantId, 0, 0, tireType, null);
+    }
+
+    public static RaceEvent positionChanged(String driverName, int lap, int previousPosition, int position) {
+        return new RaceEvent(RaceEventType.POSITION_CHANGED, driverName, lap, 0,
+                position, previousPosition, 0, null, null);
+    }
+
+    public static RaceEvent fuelWarning(String driverName, int lap, F1Exception cause) {
+        return fuelWarning(driverName, -1, lap, cause);
+    }
+
+    public static RaceEvent fuelWarning(String driverName, int participantId, int lap, F1Exception cause) {
+        return new RaceEvent(RaceEventType.FUEL_WARNING, driverName, lap, 0, 0, 0, 0, cause, null,
+                participantId, 0, 0, null, null);
+    }
+
+    public static RaceEvent tireWarning(String driverName, int lap, F1Exception cause) {
+        return tireWarning(driverName, -1, lap, cause);
+    }
+
+    public static RaceEvent tireWarning(String driverName, int participantId, int lap, F1Exception cause) {
+        return new RaceEvent(RaceEventType.TIRE_WARNING, driverName, lap, 0, 0, 0, 0, cause, null,
+                participantId, 0, 0, null, null);
+    }
+
+    public static RaceEvent problemWarning(String driverName, int lap, Exception cause) {
+        return problemWarning(driverName, -1, lap, cause);
+    }
+
+    public static RaceEvent problemWarning(String driverName, int participantId, int lap, Exception cause) {
+        return new RaceEvent(RaceEventType.PROBLEM_WARNING, driverName, lap, 0, 0, 0, 0, cause, null,
+                participantId, 0, 0, null, null);
+    }
+
+    public static RaceEvent raceFinished(String raceName, int totalLaps) {
+        return new RaceEvent(RaceEventType.RACE_FINISHED, raceName, 0, totalLaps, 0, 0, 0, null, null);
+    }
+
+    // results - знімок результатів у порядку позицій
+    public static RaceEvent raceResults(String raceName, int totalLaps, List<RaceResult> results) {
+        return new RaceEvent(RaceEventType.RACE_RESULTS, raceName, 0, totalLaps, 0, 0, 0, null, results);
+    }
+
+    public static RaceEvent raceStopped(String raceName) {
+        return new RaceEvent(RaceEventType.RACE_STOPPED, raceName, 0, 0, 0, 0, 0, null, null);
+    }
+
+    // Готовий текст від текстових джерел подій
+    public static RaceEvent message(String text) {
+        return new RaceEvent(RaceEventType.MESSAGE, text, 0, 0, 0, 0, 0, null, null);
+    }
+
+    public RaceEventType getType() {
+        return type;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public int getLap() {
+        return lap;
+    }
+
+    public int getTotalLaps() {
+        return totalLaps;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public int getPreviousPosition() {
+        return previousPosition;
+    }
+
+    // Час кола для LAP_TIME_SET
+    public double getValue() {
+        return value;
+    }
+
+    public Exception getCause() {
+        return cause;
+    }
+
+    public List<RaceResult> getResults() {
+        return results;
+    }
+
+    public int getParticipantId() {
+        return participantId;
+    }
+
+    // Кількість учасників для RACE_STARTED
+    public int getParticipantCount() {
+        return participantCount;
+    }
+
+    // Паливо після кола для LAP_TIME_SET
+    public double getFuelLevel() {
+        return fuelLevel;
+    }
+
+    public String getTireType() {
+        return tireType;
+    }
+
+    public String getStateName() {
+        return stateName;
+    }
+
+    // Текст події - будується при першому зверненні
+    public String getMessage() {
+        String text = message;
+        if (text == null) {
+            text = render();
+            message = text;
+        }
+        return text;
+    }
+
+    private String render() {
+        switch (type) {
+            case RACE_STARTED:
+                return "Race started: " + subject;
+            case LAP_STARTED:
+                return String.format("Lap %d/%d", lap, totalLaps);
+            case LAP_TIME_SET:
+                return String.format("%s: lap %d - %.3fs", subject, lap, value);
+            case POSITION_CHANGED:
+                return String.format("%s: P%d -> P%d", subject, previousPosition, position);
+            case FUEL_WARNING:
+            case TIRE_WARNING:
+                return "[WARNING] " + subject + ": " + ((F1Exception) cause).getFullErrorInfo();
+            case PROBLEM_WARNING:
+                return "[WARNING] " + subject + " had a problem: " + cause.getMessage();
+            case RACE_FINISHED:
+                return "Race finished! Calculating points...";
+            case RACE_RESULTS:
+                return renderResults();
+            case RACE_STOPPED:
+                return "Race stopped!";
+            case MESSAGE:
+                return subject;
+            case PIT_STOP:
+                return String.format("%s: pit stop on lap %d - %s tires", subject, lap, tireType);
+            default:
+                return type.name();
+        }
+    }
+
+    private String renderResults() {
+        StringBuilder raceReport = new StringBuilder();
+        raceReport.append("\n=== Race Results ===\n");
+        raceReport.append("Race: ").append(subject).append("\n");
+        raceReport.append("Total Laps: ").append(totalLaps).append("\n\n");
+
+        for (RaceResult result : results) {
+            raceReport.append(result.toString()).append("\n");
+        }
+        return raceReport.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
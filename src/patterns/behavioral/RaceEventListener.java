@@ -0,0 +1,13 @@
+package patterns.behavioral;
+
+/**
+ * Слухач типізованих подій гонки
+ *
+ * На відміну від RaceObserver отримує подію з полями, а не готовий рядок.
+ * Текст події будується лише тоді, коли слухач викликає getMessage().
+ */
+public interface RaceEventListener {
+
+    // Метод який викликається коли відбувається подія
+    void onRaceEvent(RaceEvent event);
+}
@@ -0,0 +1,28 @@
+package patterns.behavioral;
+
+// Типи подій гонки
+// legacy - подія, яку RaceObserver отримував як текст до появи типізованих подій
+public enum RaceEventType {
+    RACE_STARTED(true),
+    LAP_STARTED(true),
+    LAP_TIME_SET(false),
+    POSITION_CHANGED(false),
+    FUEL_WARNING(true),
+    TIRE_WARNING(true),
+    PROBLEM_WARNING(true),
+    RACE_FINISHED(true),
+    RACE_RESULTS(true),
+    RACE_STOPPED(true),
+    MESSAGE(true), // довільне текстове повідомлення (наприклад, від RaceSession)
+    PIT_STOP(false);
+
+    private final boolean legacy;
+
+    RaceEventType(boolean legacy) {
+        this.legacy = legacy;
+    }
+
+    public boolean isLegacy() {
+        return legacy;
+    }
+}
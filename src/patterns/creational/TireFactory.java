@@ -1,6 +1,7 @@
 package patterns.creational;
 
 import models.Tire;
+import models.TireCompound;
 
 /**
  * Factory Method - шаблон для створення різних типів шин
@@ -12,32 +13,19 @@ import models.Tire;
  */
 public class TireFactory {
     
-    // Метод фабрики - створює шини різних типів
+    // Метод фабрики - створює шини різних типів (назва без урахування регістру)
     public static Tire createTire(String type) {
-        if (type == null) {
+        return createTire(TireCompound.parse(type));
+    }
+    
+    // Характеристики кожного складу зберігає TireCompound:
+    // Soft - високе зчеплення, але низька довговічність,
+    // Medium - баланс, Hard - низьке зчеплення, але висока довговічність
+    public static Tire createTire(TireCompound compound) {
+        if (compound == null) {
             throw new IllegalArgumentException("Tire type cannot be null");
         }
-        
-        type = type.trim();
-        
-        // Створюємо різні типи шин з різними характеристиками
-        switch (type.toLowerCase()) {
-            case "soft":
-                // М'які шини - високе зчеплення, але низька довговічність
-                return new Tire("Soft", 0.95, 0.5);
-                
-            case "medium":
-                // Середні шини - баланс між зчепленням та довговічністю
-                return new Tire("Medium", 0.80, 0.75);
-                
-            case "hard":
-                // Жорсткі шини - низьке зчеплення, але висока довговічність
-                return new Tire("Hard", 0.65, 0.95);
-                
-            default:
-                throw new IllegalArgumentException("Unknown tire type: " + type + 
-                    ". Use: Soft, Medium or Hard");
-        }
+        return new Tire(compound);
     }
     
     // Метод для створення шин з параметрами
@@ -0,0 +1,140 @@
+package patterns.structural;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Скомпільований ланцюжок декораторів - плаский незмінний знімок
+ *
+ * Ланцюжок обходиться один раз: потужність, назва та опис рахуються
+ * заздалегідь, а внесок кожного шару зберігається в масиві (від двигуна
+ * до зовнішнього шару). getPower() і getInfo() після цього - читання
+ * полів, без рекурсії та конкатенації рядків. Окремо зберігаються
+ * потужність двигуна внутрішнього згоряння (двигун і всі шари, крім ERS)
+ * та сумарний буст ERS, який болід використовує залежно від заряду.
+ *
+ * Знімок не стежить за ланцюжком: після зміни ланцюжка потрібен новий
+ * compile() (PowerUnit робить це автоматично).
+ */
+public final class CompiledPowerUnit implements CarComponent {
+    private final CarComponent source;
+    private final String componentName;
+    private final double basePower;
+    private final double power;
+    private final double combustionPower;
+    private final double ersBoost;
+    private final String info;
+    private final String[] layerNames;
+    private final double[] layerBoosts;
+
+    private CompiledPowerUnit(CarComponent source, String componentName, double basePower, double power,
+                              double combustionPower, double ersBoost, String info,
+                              String[] layerNames, double[] layerBoosts) {
+        this.source = source;
+        this.componentName = componentName;
+        this.basePower = basePower;
+        this.power = power;
+        this.combustionPower = combustionPower;
+        this.ersBoost = ersBoost;
+        this.info = info;
+        this.layerNames = layerNames;
+        this.layerBoosts = layerBoosts;
+    }
+
+    public static CompiledPowerUnit compile(CarComponent chain) {
+        if (chain == null) {
+            throw new IllegalArgumentException("Component chain cannot be null");
+        }
+        if (chain instanceof CompiledPowerUnit) {
+            return (CompiledPowerUnit) chain;
+        }
+
+        // Шари від зовнішнього до двигуна
+        List<EngineDecorator> decorators = new ArrayList<>();
+        CarComponent base = chain;
+        while (base instanceof EngineDecorator) {
+            decorators.add((EngineDecorator) base);
+            base = ((EngineDecorator) base).getComponent();
+        }
+
+        // Внески шарів від двигуна назовні - у тому ж порядку додавання, що й рекурсія
+        int layers = decorators.size();
+        String[] names = new String[layers];
+        double[] boosts = new double[layers];
+        double basePower = base.getPower();
+        double power = basePower;
+        double combustionPower = basePower;
+        double ersBoost = 0.0;
+        for (int i = 0; i < layers; i++) {
+            EngineDecorator layer = decorators.get(layers - 1 - i);
+            if (layer instanceof TurboCharger) {
+                names[i] = "Turbo";
+                boosts[i] = ((TurboCharger) layer).getBoost();
+                power += boosts[i];
+                combustionPower += boosts[i];
+            } else if (layer instanceof EnergyRecoverySystem) {
+                names[i] = "ERS";
+                boosts[i] = ((EnergyRecoverySystem) layer).getEnergyBoost();
+                power += boosts[i];
+                ersBoost += boosts[i];
+            } else {
+                // Невідомий декоратор - його внесок береться з власного getPower()
+                names[i] = layer.getClass().getSimpleName();
+                double layerPower = layer.getPower();
+                boosts[i] = layerPower - power;
+                power = layerPower;
+                combustionPower += boosts[i];
+            }
+        }
+
+        return new CompiledPowerUnit(chain, chain.getComponentName(), basePower, power,
+                combustionPower, ersBoost, chain.getInfo(), names, boosts);
+    }
+
+    @Override
+    public String getComponentName() {
+        return componentName;
+    }
+
+    @Override
+    public double getPower() {
+        return power;
+    }
+
+    @Override
+    public String getInfo() {
+        return info;
+    }
+
+    // Ланцюжок, з якого зроблено знімок
+    public CarComponent getSource() {
+        return source;
+    }
+
+    public double getBasePower() {
+        return basePower;
+    }
+
+    // Потужність без ERS - від неї залежить витрата палива
+    public double getCombustionPower() {
+        return combustionPower;
+    }
+
+    // Сумарний буст усіх шарів ERS при повному використанні
+    public double getErsBoost() {
+        return ersBoost;
+    }
+
+    public int getLayerCount() {
+        return layerBoosts.length;
+    }
+
+    // Шар index, рахуючи від двигуна (0 - найближчий до двигуна)
+    public String getLayerName(int index) {
+        return layerNames[index];
+    }
+
+    public double getLayerBoost(int index) {
+        return layerBoosts[index];
+    }
+}
@@ -11,6 +11,10 @@ public class EnergyRecoverySystem extends EngineDecorator {
         this.energyBoost = energyBoost;
     }
     
+    public double getEnergyBoost() {
+        return energyBoost;
+    }
+    
     @Override
     public double getPower() {
         return component.getPower() + energyBoost;
@@ -8,6 +8,11 @@ public abstract class EngineDecorator implements CarComponent {
         this.component = component;
     }
     
+    // Обгорнутий компонент (наступний шар ланцюжка)
+    public CarComponent getComponent() {
+        return component;
+    }
+    
     @Override
     public String getComponentName() {
         return component.getComponentName();
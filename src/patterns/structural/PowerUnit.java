@@ -0,0 +1,83 @@
+package patterns.structural;
+
+import static patterns.structural.StructuralConstants.*;
+
+/**
+ * Силова установка - змінюваний ланцюжок декораторів з кешованим знімком
+ *
+ * Двигун і декоратори не змінюються після створення, тому ланцюжок
+ * змінюється лише тут (addTurbo, addEnergyRecovery, setChain). Кожна зміна
+ * скидає знімок, а compile() перебудовує його лише при першому зверненні
+ * після зміни - getPower() на колі не обходить ланцюжок заново.
+ */
+public class PowerUnit implements CarComponent {
+    private CarComponent chain;
+    private CompiledPowerUnit compiled; // null - ланцюжок змінився після останньої компіляції
+    private int revision; // кількість змін ланцюжка
+
+    public PowerUnit(CarComponent chain) {
+        setChain(chain);
+    }
+
+    public PowerUnit(String engineName, double enginePower) {
+        this(new Engine(engineName, enginePower));
+    }
+
+    public void setChain(CarComponent chain) {
+        if (chain == null) {
+            throw new IllegalArgumentException("Component chain cannot be null");
+        }
+        this.chain = chain instanceof CompiledPowerUnit ? ((CompiledPowerUnit) chain).getSource() : chain;
+        this.compiled = null;
+        this.revision++;
+    }
+
+    public PowerUnit addTurbo() {
+        return addTurbo(DEFAULT_TURBO_BOOST);
+    }
+
+    public PowerUnit addTurbo(double boost) {
+        setChain(new TurboCharger(chain, boost));
+        return this;
+    }
+
+    public PowerUnit addEnergyRecovery() {
+        return addEnergyRecovery(DEFAULT_ERS_BOOST);
+    }
+
+    public PowerUnit addEnergyRecovery(double energyBoost) {
+        setChain(new EnergyRecoverySystem(chain, energyBoost));
+        return this;
+    }
+
+    public CarComponent getChain() {
+        return chain;
+    }
+
+    // Знімок поточного ланцюжка (перебудовується лише після зміни)
+    public CompiledPowerUnit compile() {
+        if (compiled == null) {
+            compiled = CompiledPowerUnit.compile(chain);
+        }
+        return compiled;
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+
+    @Override
+    public String getComponentName() {
+        return compile().getComponentName();
+    }
+
+    @Override
+    public double getPower() {
+        return compile().getPower();
+    }
+
+    @Override
+    public String getInfo() {
+        return compile().getInfo();
+    }
+}
@@ -11,6 +11,10 @@ public class TurboCharger extends EngineDecorator {
         this.boost = boost;
     }
     
+    public double getBoost() {
+        return boost;
+    }
+    
     @Override
     public double getPower() {
         return component.getPower() + boost;
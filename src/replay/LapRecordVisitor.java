@@ -0,0 +1,10 @@
+package replay;
+
+/**
+ * Отримувач записів кіл при послідовному читанні журналу
+ */
+public interface LapRecordVisitor {
+    // flags - попередження на колі (RaceLogConstants.FLAG_*)
+    void visit(int lap, int participantId, double lapTime, double fuelLevel,
+               String tireType, String stateName, int flags);
+}
@@ -0,0 +1,82 @@
+package replay;
+
+/**
+ * Формат бінарного журналу гонок
+ *
+ * Файл складається з 32-байтних записів (little-endian):
+ *
+ * Заголовок файлу:  int MAGIC, int VERSION, int RECORD_SIZE, решта - нулі
+ * Заголовок гонки:  int -1, int totalLaps, int participantCount,
+ *                   int lapsRecorded, int flags, решта - нулі
+ *
+ * Після заголовка гонки йдуть lapsRecorded блоків по participantCount
+ * записів; запис учасника p на колі L лежить за зміщенням
+ * raceStart + RECORD_SIZE * (1 + (L - 1) * participantCount + p).
+ *
+ * Запис кола:
+ *   int    lap (0 - запису немає)
+ *   int    participantId
+ *   double lapTime
+ *   double fuelLevel
+ *   byte   tire    (TIRE_* коди)
+ *   byte   state   (STATE_* коди)
+ *   short  0
+ *   int    flags   (FLAG_* попередження на цьому колі)
+ */
+public class RaceLogConstants {
+    public static final int MAGIC = 0x4C523146; // "F1RL"
+    public static final int VERSION = 1;
+    public static final int RECORD_SIZE = 32;
+
+    public static final int RACE_HEADER_MARKER = -1;
+    public static final int RACE_FLAG_STOPPED = 1;
+
+    // Зміщення полів у записі кола
+    public static final int LAP_OFFSET = 0;
+    public static final int PARTICIPANT_OFFSET = 4;
+    public static final int LAP_TIME_OFFSET = 8;
+    public static final int FUEL_OFFSET = 16;
+    public static final int TIRE_OFFSET = 24;
+    public static final int STATE_OFFSET = 25;
+    public static final int FLAGS_OFFSET = 28;
+
+    // Зміщення полів у заголовку гонки
+    public static final int TOTAL_LAPS_OFFSET = 4;
+    public static final int PARTICIPANT_COUNT_OFFSET = 8;
+    public static final int LAPS_RECORDED_OFFSET = 12;
+    public static final int RACE_FLAGS_OFFSET = 16;
+
+    // Попередження на колі
+    public static final int FLAG_FUEL_WARNING = 1;
+    public static final int FLAG_TIRE_WARNING = 2;
+    public static final int FLAG_PROBLEM = 4;
+
+    // Коди шин та станів (індекс у масиві назв)
+    public static final String[] TIRE_NAMES = {"Unknown", "Soft", "Medium", "Hard"};
+    public static final String[] STATE_NAMES = {"Unknown", "Normal", "Optimal", "Overheating", "Critical"};
+
+    public static byte tireCode(String tireType) {
+        return code(TIRE_NAMES, tireType);
+    }
+
+    public static byte stateCode(String stateName) {
+        return code(STATE_NAMES, stateName);
+    }
+
+    public static String tireName(int code) {
+        return code >= 0 && code < TIRE_NAMES.length ? TIRE_NAMES[code] : TIRE_NAMES[0];
+    }
+
+    public static String stateName(int code) {
+        return code >= 0 && code < STATE_NAMES.length ? STATE_NAMES[code] : STATE_NAMES[0];
+    }
+
+    private static byte code(String[] names, String name) {
+        for (int i = 1; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return (byte) i;
+            }
+        }
+        return 0;
+    }
+}
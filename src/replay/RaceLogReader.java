@@ -0,0 +1,198 @@
+package replay;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import static replay.RaceLogConstants.*;
+
+/**
+ * Читання бінарного журналу гонок через відображення файлу в пам'ять
+ *
+ * Файл відображається сегментами по 1 ГБ (записи вирівняні на 32 байти,
+ * тому жоден запис не перетинає межу сегмента). При відкритті будується
+ * лише індекс початків гонок - переходами від заголовка до заголовка.
+ * Будь-який запис (гонка, коло, учасник) читається за зміщенням, без
+ * розбору тексту та без створення об'єктів.
+ */
+public class RaceLogReader implements AutoCloseable {
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final int LAPS_IN_PROGRESS = -1;
+
+    private FileChannel channel;
+    private MappedByteBuffer[] segments;
+    private long size;
+    private long[] raceOffsets;
+    private int[] raceLaps; // записані кола кожної гонки
+    private int raceCount;
+
+    public RaceLogReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+            int count = (int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+            this.segments = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            if (size < RECORD_SIZE || getInt(0) != MAGIC) {
+                throw new IOException("Not a race log file");
+            }
+            if (getInt(4) != VERSION || getInt(8) != RECORD_SIZE) {
+                throw new IOException("Unsupported race log version " + getInt(4));
+            }
+            buildIndex();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void buildIndex() throws IOException {
+        raceOffsets = new long[16];
+        raceLaps = new int[16];
+        raceCount = 0;
+        long offset = RECORD_SIZE;
+        while (offset + RECORD_SIZE <= size) {
+            if (getInt(offset) != RACE_HEADER_MARKER) {
+                throw new IOException("Corrupted race log: no race header at offset " + offset);
+            }
+            int participants = getInt(offset + PARTICIPANT_COUNT_OFFSET);
+            int laps = getInt(offset + LAPS_RECORDED_OFFSET);
+            if (participants <= 0) {
+                throw new IOException("Corrupted race log: bad participant count at offset " + offset);
+            }
+            long blockSize = (long) participants * RECORD_SIZE;
+            if (laps == LAPS_IN_PROGRESS) {
+                // гонка не була завершена - беремо повні кола до кінця файлу
+                laps = (int) ((size - offset - RECORD_SIZE) / blockSize);
+            }
+
+            if (raceCount == raceOffsets.length) {
+                raceOffsets = Arrays.copyOf(raceOffsets, raceCount * 2);
+                raceLaps = Arrays.copyOf(raceLaps, raceCount * 2);
+            }
+            raceOffsets[raceCount] = offset;
+            raceLaps[raceCount] = laps;
+            raceCount++;
+
+            offset += RECORD_SIZE + laps * blockSize;
+        }
+    }
+
+    // Інформація про гонки
+
+    public int getRaceCount() {
+        return raceCount;
+    }
+
+    public int getTotalLaps(int race) {
+        return getInt(raceOffset(race) + TOTAL_LAPS_OFFSET);
+    }
+
+    public int getParticipantCount(int race) {
+        return getInt(raceOffset(race) + PARTICIPANT_COUNT_OFFSET);
+    }
+
+    // Кількість записаних кіл (для зупиненої чи обірваної гонки - менше за totalLaps)
+    public int getLapsRecorded(int race) {
+        raceOffset(race);
+        return raceLaps[race];
+    }
+
+    public boolean isStopped(int race) {
+        return (getInt(raceOffset(race) + RACE_FLAGS_OFFSET) & RACE_FLAG_STOPPED) != 0;
+    }
+
+    // Записи кіл
+
+    // Чи є запис учасника на цьому колі
+    public boolean hasRecord(int race, int lap, int participantId) {
+        return getInt(recordOffset(race, lap, participantId) + LAP_OFFSET) != 0;
+    }
+
+    public double getLapTime(int race, int lap, int participantId) {
+        return getDouble(recordOffset(race, lap, participantId) + LAP_TIME_OFFSET);
+    }
+
+    public double getFuelLevel(int race, int lap, int participantId) {
+        return getDouble(recordOffset(race, lap, participantId) + FUEL_OFFSET);
+    }
+
+    public String getTireType(int race, int lap, int participantId) {
+        return tireName(getByte(recordOffset(race, lap, participantId) + TIRE_OFFSET));
+    }
+
+    public String getStateName(int race, int lap, int participantId) {
+        return stateName(getByte(recordOffset(race, lap, participantId) + STATE_OFFSET));
+    }
+
+    public int getFlags(int race, int lap, int participantId) {
+        return getInt(recordOffset(race, lap, participantId) + FLAGS_OFFSET);
+    }
+
+    // Послідовне відтворення гонки: коло за колом, учасники за ідентифікатором
+    public void replay(int race, LapRecordVisitor visitor) {
+        long offset = raceOffset(race) + RECORD_SIZE;
+        int participants = getParticipantCount(race);
+        int laps = raceLaps[race];
+        for (int lap = 1; lap <= laps; lap++) {
+            for (int id = 0; id < participants; id++) {
+                if (getInt(offset + LAP_OFFSET) != 0) {
+                    visitor.visit(getInt(offset + LAP_OFFSET), id,
+                            getDouble(offset + LAP_TIME_OFFSET), getDouble(offset + FUEL_OFFSET),
+                            tireName(getByte(offset + TIRE_OFFSET)), stateName(getByte(offset + STATE_OFFSET)),
+                            getInt(offset + FLAGS_OFFSET));
+                }
+                offset += RECORD_SIZE;
+            }
+        }
+    }
+
+    private long raceOffset(int race) {
+        if (race < 0 || race >= raceCount) {
+            throw new IndexOutOfBoundsException("Race " + race + " not in log (" + raceCount + " races)");
+        }
+        return raceOffsets[race];
+    }
+
+    private long recordOffset(int race, int lap, int participantId) {
+        long start = raceOffset(race);
+        int participants = getInt(start + PARTICIPANT_COUNT_OFFSET);
+        if (lap < 1 || lap > raceLaps[race]) {
+            throw new IndexOutOfBoundsException("Lap " + lap + " not recorded for race " + race);
+        }
+        if (participantId < 0 || participantId >= participants) {
+            throw new IndexOutOfBoundsException("Participant " + participantId + " not in race " + race);
+        }
+        return start + RECORD_SIZE * (1 + (long) (lap - 1) * participants + participantId);
+    }
+
+    private int getInt(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & SEGMENT_MASK));
+    }
+
+    private double getDouble(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getDouble((int) (offset & SEGMENT_MASK));
+    }
+
+    private byte getByte(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & SEGMENT_MASK));
+    }
+
+    public long getFileSize() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,252 @@
+package replay;
+
+import patterns.behavioral.RaceEvent;
+import patterns.behavioral.RaceEventListener;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import static replay.RaceLogConstants.*;
+
+/**
+ * Запис гонок у бінарний журнал (формат описаний у RaceLogConstants)
+ *
+ * Підключається до гонки як слухач: race.addEventListener(writer).
+ * Записи одного кола збираються в блоці за ідентифікаторами учасників,
+ * а потім одним шматком потрапляють у буфер, який скидається у FileChannel.
+ * Текст подій не будується, тому запис не створює рядків.
+ *
+ * В один файл можна писати будь-яку кількість гонок підряд.
+ */
+public class RaceLogWriter implements RaceEventListener, AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int LAPS_IN_PROGRESS = -1;
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private long flushed; // байтів уже переданих у канал
+    private ByteBuffer lapBlock; // записи поточного кола за учасниками
+    private int[] pendingFlags; // попередження до запису кола учасника
+    private int participantCount;
+    private int currentLap; // 0 - блок кола порожній
+    private long raceHeaderOffset; // -1 - гонка не йде
+    private int lapsRecorded;
+    private int raceFlags;
+    private int raceCount;
+
+    // Новий журнал (існуючий файл перезаписується)
+    public RaceLogWriter(Path path) throws IOException {
+        this(path, false);
+    }
+
+    // append - дописувати гонки в кінець існуючого журналу
+    public RaceLogWriter(Path path, boolean append) throws IOException {
+        boolean existing = append && Files.exists(path) && Files.size(path) > 0;
+        this.channel = existing
+                ? FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.READ)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.lapBlock = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.pendingFlags = new int[1];
+        this.raceHeaderOffset = -1;
+        this.raceCount = 0;
+
+        if (existing) {
+            checkHeader();
+            this.flushed = channel.size();
+            channel.position(flushed);
+        } else {
+            this.flushed = 0;
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE);
+            pad(RECORD_SIZE - 12);
+        }
+    }
+
+    private void checkHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(header, 0);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || channel.size() % RECORD_SIZE != 0) {
+            channel.close();
+            throw new IOException("Not a race log file or unsupported version");
+        }
+    }
+
+    @Override
+    public void onRaceEvent(RaceEvent event) {
+        try {
+            switch (event.getType()) {
+                case RACE_STARTED:
+                    startRace(event.getTotalLaps(), event.getParticipantCount());
+                    break;
+                case LAP_STARTED:
+                    flushLap();
+                    if (raceHeaderOffset >= 0) {
+                        currentLap = event.getLap();
+                        Arrays.fill(lapBlock.array(), 0, participantCount * RECORD_SIZE, (byte) 0);
+                    }
+                    break;
+                case LAP_TIME_SET:
+                    writeLap(event);
+                    break;
+                case FUEL_WARNING:
+                    addFlag(event.getParticipantId(), FLAG_FUEL_WARNING);
+                    break;
+                case TIRE_WARNING:
+                    addFlag(event.getParticipantId(), FLAG_TIRE_WARNING);
+                    break;
+                case PROBLEM_WARNING:
+                    addFlag(event.getParticipantId(), FLAG_PROBLEM);
+                    break;
+                case RACE_STOPPED:
+                    raceFlags |= RACE_FLAG_STOPPED;
+                    break;
+                case RACE_FINISHED:
+                    finishRace();
+                    break;
+                default:
+                    // решта подій у журнал не потрапляє
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write race log", e);
+        }
+    }
+
+    private void startRace(int totalLaps, int participants) throws IOException {
+        if (participants <= 0) {
+            throw new IllegalStateException("Race log needs the participant count in RACE_STARTED");
+        }
+        finishRace(); // попередня гонка без RACE_FINISHED
+
+        participantCount = participants;
+        if (lapBlock.capacity() < participants * RECORD_SIZE) {
+            lapBlock = ByteBuffer.allocate(participants * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (pendingFlags.length < participants) {
+            pendingFlags = new int[participants];
+        } else {
+            Arrays.fill(pendingFlags, 0);
+        }
+        currentLap = 0;
+        lapsRecorded = 0;
+        raceFlags = 0;
+
+        ensureSpace(RECORD_SIZE);
+        raceHeaderOffset = flushed + buffer.position();
+        buffer.putInt(RACE_HEADER_MARKER).putInt(totalLaps).putInt(participants)
+                .putInt(LAPS_IN_PROGRESS).putInt(0);
+        pad(RECORD_SIZE - 20);
+    }
+
+    private void writeLap(RaceEvent event) {
+        int id = event.getParticipantId();
+        if (currentLap == 0 || id < 0 || id >= participantCount) {
+            return;
+        }
+        int base = id * RECORD_SIZE;
+        lapBlock.putInt(base + LAP_OFFSET, event.getLap());
+        lapBlock.putInt(base + PARTICIPANT_OFFSET, id);
+        lapBlock.putDouble(base + LAP_TIME_OFFSET, event.getValue());
+        lapBlock.putDouble(base + FUEL_OFFSET, event.getFuelLevel());
+        lapBlock.put(base + TIRE_OFFSET, tireCode(event.getTireType()));
+        lapBlock.put(base + STATE_OFFSET, stateCode(event.getStateName()));
+        lapBlock.putInt(base + FLAGS_OFFSET, pendingFlags[id]);
+        pendingFlags[id] = 0;
+    }
+
+    private void addFlag(int participantId, int flag) {
+        if (raceHeaderOffset >= 0 && participantId >= 0 && participantId < participantCount) {
+            pendingFlags[participantId] |= flag;
+        }
+    }
+
+    // Переносить блок завершеного кола в буфер
+    private void flushLap() throws IOException {
+        if (currentLap == 0) {
+            return;
+        }
+        int length = participantCount * RECORD_SIZE;
+        if (length > buffer.capacity()) {
+            flushBuffer();
+            ByteBuffer block = ByteBuffer.wrap(lapBlock.array(), 0, length);
+            while (block.hasRemaining()) {
+                flushed += channel.write(block);
+            }
+        } else {
+            ensureSpace(length);
+            buffer.put(lapBlock.array(), 0, length);
+        }
+        lapsRecorded++;
+        currentLap = 0;
+    }
+
+    private void finishRace() throws IOException {
+        if (raceHeaderOffset < 0) {
+            return;
+        }
+        flushLap();
+        patchHeader(raceHeaderOffset + LAPS_RECORDED_OFFSET, lapsRecorded);
+        patchHeader(raceHeaderOffset + RACE_FLAGS_OFFSET, raceFlags);
+        raceHeaderOffset = -1;
+        raceCount++;
+    }
+
+    // Заголовок може бути ще в буфері або вже у файлі
+    private void patchHeader(long offset, int value) throws IOException {
+        if (offset >= flushed) {
+            buffer.putInt((int) (offset - flushed), value);
+        } else {
+            ByteBuffer field = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value);
+            channel.write(field, offset);
+        }
+    }
+
+    private void ensureSpace(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void pad(int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            flushed += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Скинути буфер у файл (гонка, що йде, залишається позначеною як незавершена)
+    public void flush() throws IOException {
+        flushBuffer();
+        channel.force(false);
+    }
+
+    // Кількість завершених гонок, записаних цим екземпляром
+    public int getRaceCount() {
+        return raceCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            finishRace();
+            flushBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package replay;
+
+import models.Leaderboard;
+import models.RaceConstants;
+import models.RaceResult;
+import models.ScoringRules;
+import models.team.Driver;
+import patterns.behavioral.RaceEvent;
+import patterns.behavioral.RaceEventListener;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Відтворення гонки із записаного журналу
+ *
+ * Стан RaceResult на будь-якому колі відновлюється з записів журналу:
+ * без стратегій, станів боліда, винятків і випадкових чисел. Кола
+ * обробляються в тому ж порядку, що й у Race (за поточними позиціями),
+ * а позиції рахує той самий Leaderboard, тому таблиця збігається з
+ * таблицею гонки до останнього знака. Після останнього записаного кола
+ * бали нараховуються за ScoringRules (setScoringRules), як у Race.finishRace().
+ *
+ * seek() переходить до кола без подій (для швидкої перемотки), play() та
+ * nextLap() публікують слухачам ті самі типізовані події, що й гонка,
+ * окрім попереджень (у журналі є лише їх прапорці).
+ */
+public class RaceReplay {
+    private RaceLogReader reader;
+    private int race;
+    private String raceName; // у журналі назв немає - задається для подій
+    private int participantCount;
+    private int totalLaps;
+    private int lapsRecorded;
+    private List<Driver> drivers;
+    private List<RaceEventListener> listeners;
+    private Leaderboard leaderboard;
+    private int currentLap;
+    private boolean finished;
+    private ScoringRules scoringRules;
+    private int[] startingGrid; // ідентифікатори від поула (null - порядок ідентифікаторів)
+
+    // drivers - гонщики в порядку ідентифікаторів учасників (порядку реєстрації в Race)
+    public RaceReplay(RaceLogReader reader, int race, List<Driver> drivers) {
+        if (reader == null || drivers == null) {
+            throw new IllegalArgumentException("Reader and drivers cannot be null");
+        }
+        this.reader = reader;
+        this.race = race;
+        this.participantCount = reader.getParticipantCount(race);
+        this.totalLaps = reader.getTotalLaps(race);
+        this.lapsRecorded = reader.getLapsRecorded(race);
+        if (drivers.size() != participantCount) {
+            throw new IllegalArgumentException("Expected " + participantCount + " drivers, got " + drivers.size());
+        }
+        this.drivers = new ArrayList<>(drivers);
+        this.listeners = new ArrayList<>();
+        this.raceName = "Replay";
+        this.scoringRules = ScoringRules.DEFAULT;
+        reset();
+    }
+
+    public void setRaceName(String raceName) {
+        if (raceName != null) {
+            this.raceName = raceName;
+        }
+    }
+
+    public String getRaceName() {
+        return raceName;
+    }
+
+    // Стартова решітка записаної гонки (журнал її не зберігає), як Race.setStartingGrid()
+    public void setStartingGrid(int[] participantIds) {
+        if (participantIds == null || participantIds.length != participantCount) {
+            throw new IllegalArgumentException("Starting grid must list all " + participantCount + " participants");
+        }
+        boolean[] placed = new boolean[participantCount];
+        for (int id : participantIds) {
+            if (id < 0 || id >= participantCount || placed[id]) {
+                throw new IllegalArgumentException("Invalid or repeated participant id on the grid: " + id);
+            }
+            placed[id] = true;
+        }
+        this.startingGrid = participantIds.clone();
+        reset();
+    }
+
+    // Правила, за якими записувалась гонка (інші дадуть перерахунок "а що, якби")
+    public void setScoringRules(ScoringRules scoringRules) {
+        if (scoringRules == null) {
+            throw new IllegalArgumentException("Scoring rules cannot be null");
+        }
+        this.scoringRules = scoringRules;
+    }
+
+    public ScoringRules getScoringRules() {
+        return scoringRules;
+    }
+
+    public void addEventListener(RaceEventListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeEventListener(RaceEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Повернення на старт
+    public void reset() {
+        leaderboard = new Leaderboard();
+        for (int i = 0; i < participantCount; i++) {
+            int id = startingGrid != null ? startingGrid[i] : i;
+            RaceResult result = new RaceResult(drivers.get(id), i + 1, id);
+            result.setTotalTime(i * RaceConstants.GRID_SLOT_TIME_GAP); // як у Race.startRace()
+            leaderboard.add(result);
+        }
+        currentLap = 0;
+        finished = false;
+    }
+
+    // Перейти до стану після кола lap (0 - старт) без публікації подій
+    public List<RaceResult> seek(int lap) {
+        if (lap < 0 || lap > lapsRecorded) {
+            throw new IndexOutOfBoundsException("Lap " + lap + " not recorded (0.." + lapsRecorded + ")");
+        }
+        if (lap < currentLap) {
+            reset();
+        }
+        while (currentLap < lap) {
+            advance(false);
+        }
+        return getStandings();
+    }
+
+    // Відтворити наступне коло з подіями; false - записані кола закінчились
+    public boolean nextLap() {
+        if (currentLap >= lapsRecorded) {
+            return false;
+        }
+        if (currentLap == 0 && !listeners.isEmpty()) {
+            publish(RaceEvent.raceStarted(raceName, totalLaps, participantCount));
+        }
+        advance(!listeners.isEmpty());
+        return true;
+    }
+
+    // Відтворити решту гонки з подіями
+    public List<RaceResult> play() {
+        while (nextLap()) {
+            // події публікуються в nextLap()
+        }
+        return getStandings();
+    }
+
+    private void advance(boolean events) {
+        int lap = ++currentLap;
+        if (events) {
+            publish(RaceEvent.lapStarted(lap, totalLaps));
+        }
+
+        for (int i = 0; i < leaderboard.size(); i++) {
+            RaceResult result = leaderboard.get(i);
+            int id = result.getParticipantId();
+            if (result.isFinished() || !reader.hasRecord(race, lap, id)) {
+                continue;
+            }
+            double lapTime = reader.getLapTime(race, lap, id);
+            if (result.getLapTime() == 0 || (lapTime > 0 && lapTime < result.getLapTime())) {
+                result.setLapTime(lapTime);
+            }
+            result.addTime(lapTime);
+            result.incrementLaps();
+            leaderboard.markChanged(i);
+            if (events) {
+                publish(RaceEvent.lapTimeSet(result.getDriver().getName(), id, lap, lapTime,
+                        reader.getFuelLevel(race, lap, id), reader.getTireType(race, lap, id),
+                        reader.getStateName(race, lap, id)));
+            }
+        }
+        leaderboard.reposition(lap, events ? this::publish : null);
+
+        for (int i = 0; i < leaderboard.size(); i++) {
+            RaceResult result = leaderboard.get(i);
+            if (result.getLapsCompleted() >= totalLaps) {
+                result.setFinished(true);
+            }
+        }
+        if (lap == lapsRecorded) {
+            finish(events);
+        }
+    }
+
+    // Те саме завершення, що й у Race.finishRace()
+    private void finish(boolean events) {
+        List<RaceResult> standings = leaderboard.toList();
+        for (RaceResult result : standings) {
+            result.setFinished(true);
+        }
+        scoringRules.apply(standings);
+        finished = true;
+        if (events) {
+            publish(RaceEvent.raceFinished(raceName, totalLaps));
+            publish(RaceEvent.raceResults(raceName, totalLaps, standings));
+        }
+    }
+
+    private void publish(RaceEvent event) {
+        for (RaceEventListener listener : listeners) {
+            listener.onRaceEvent(event);
+        }
+    }
+
+    // Таблиця в порядку позицій на поточному колі
+    public List<RaceResult> getStandings() {
+        return leaderboard.toList();
+    }
+
+    public int getCurrentLap() {
+        return currentLap;
+    }
+
+    public int getLapsRecorded() {
+        return lapsRecorded;
+    }
+
+    public int getTotalLaps() {
+        return totalLaps;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+}
@@ -0,0 +1,132 @@
+package simulation;
+
+import models.RaceResult;
+import java.util.List;
+
+/**
+ * Зведена статистика серії гонок за слотами учасників
+ *
+ * Дані накопичуються в примітивних масивах, тому пам'ять не залежить
+ * від кількості гонок. Кожен потік веде власний екземпляр, а в кінці
+ * екземпляри об'єднуються через merge() - без спільних блокувань.
+ */
+public class BatchStatistics {
+    private String[] driverNames;
+    private long raceCount;
+    private long[] wins;
+    private long[] podiums;
+    private long[] positionSum;
+    private long[] pointsSum;
+    private double[] bestLapSum;
+    private double[] bestLap;
+
+    public BatchStatistics(String[] driverNames) {
+        int size = driverNames.length;
+        this.driverNames = driverNames.clone();
+        this.raceCount = 0;
+        this.wins = new long[size];
+        this.podiums = new long[size];
+        this.positionSum = new long[size];
+        this.pointsSum = new long[size];
+        this.bestLapSum = new double[size];
+        this.bestLap = new double[size];
+        for (int i = 0; i < size; i++) {
+            bestLap[i] = Double.MAX_VALUE;
+        }
+    }
+
+    // Записати результати однієї гонки (елемент i - результат слота i)
+    public void record(List<RaceResult> slotResults) {
+        for (int slot = 0; slot < slotResults.size(); slot++) {
+            RaceResult result = slotResults.get(slot);
+            int position = result.getPosition();
+            if (position == 1) {
+                wins[slot]++;
+            }
+            if (position <= 3) {
+                podiums[slot]++;
+            }
+            positionSum[slot] += position;
+            pointsSum[slot] += result.getPoints();
+            double lapTime = result.getLapTime();
+            bestLapSum[slot] += lapTime;
+            if (lapTime > 0 && lapTime < bestLap[slot]) {
+                bestLap[slot] = lapTime;
+            }
+        }
+        raceCount++;
+    }
+
+    // Додати статистику іншого потоку до цієї
+    public void merge(BatchStatistics other) {
+        if (other.driverNames.length != driverNames.length) {
+            throw new IllegalArgumentException("Cannot merge statistics of different grids");
+        }
+        raceCount += other.raceCount;
+        for (int i = 0; i < driverNames.length; i++) {
+            wins[i] += other.wins[i];
+            podiums[i] += other.podiums[i];
+            positionSum[i] += other.positionSum[i];
+            pointsSum[i] += other.pointsSum[i];
+            bestLapSum[i] += other.bestLapSum[i];
+            bestLap[i] = Math.min(bestLap[i], other.bestLap[i]);
+        }
+    }
+
+    public long getRaceCount() {
+        return raceCount;
+    }
+
+    public int getParticipantCount() {
+        return driverNames.length;
+    }
+
+    public String getDriverName(int slot) {
+        return driverNames[slot];
+    }
+
+    public long getWins(int slot) {
+        return wins[slot];
+    }
+
+    public long getPodiums(int slot) {
+        return podiums[slot];
+    }
+
+    public double getWinRate(int slot) {
+        return raceCount > 0 ? (double) wins[slot] / raceCount : 0.0;
+    }
+
+    public double getPodiumRate(int slot) {
+        return raceCount > 0 ? (double) podiums[slot] / raceCount : 0.0;
+    }
+
+    public double getAveragePosition(int slot) {
+        return raceCount > 0 ? (double) positionSum[slot] / raceCount : 0.0;
+    }
+
+    public double getAveragePoints(int slot) {
+        return raceCount > 0 ? (double) pointsSum[slot] / raceCount : 0.0;
+    }
+
+    public double getAverageBestLap(int slot) {
+        return raceCount > 0 ? bestLapSum[slot] / raceCount : 0.0;
+    }
+
+    // Найкраще коло серед усіх гонок (0, якщо гонок не було)
+    public double getBestLap(int slot) {
+        return bestLap[slot] == Double.MAX_VALUE ? 0.0 : bestLap[slot];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append("=== Batch Statistics (").append(raceCount).append(" races) ===\n");
+        for (int i = 0; i < driverNames.length; i++) {
+            report.append(String.format("%s - Wins: %.1f%%, Podiums: %.1f%%, Avg pos: %.2f, Avg pts: %.2f, Best: %.2fs%n",
+                    driverNames[i], getWinRate(i) * 100, getPodiumRate(i) * 100,
+                    getAveragePosition(i), getAveragePoints(i), getBestLap(i)));
+        }
+        return report.toString();
+    }
+}
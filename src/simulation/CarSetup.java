@@ -0,0 +1,79 @@
+package simulation;
+
+import models.Car;
+import models.TireCompound;
+import patterns.creational.CarBuilder;
+
+/**
+ * Налаштування боліда з результатами оцінки SetupOptimizer
+ *
+ * Темп - середній час кола в симульованих гонках, витрата - паливо,
+ * спалене за гонку. Обидва показники мінімізуються; налаштування
+ * домінує інше, якщо не гірше за обома і краще хоча б за одним.
+ */
+public class CarSetup {
+    private final double enginePower;
+    private final double aerodynamics;
+    private final double maxFuel;
+    private final TireCompound compound;
+    private final double averageLapTime;
+    private final double fuelUsed;
+
+    public CarSetup(double enginePower, double aerodynamics, double maxFuel, TireCompound compound,
+                    double averageLapTime, double fuelUsed) {
+        if (compound == null) {
+            throw new IllegalArgumentException("Tire type must be: Soft, Medium or Hard");
+        }
+        this.enginePower = enginePower;
+        this.aerodynamics = aerodynamics;
+        this.maxFuel = maxFuel;
+        this.compound = compound;
+        this.averageLapTime = averageLapTime;
+        this.fuelUsed = fuelUsed;
+    }
+
+    public boolean dominates(CarSetup other) {
+        return averageLapTime <= other.averageLapTime && fuelUsed <= other.fuelUsed
+                && (averageLapTime < other.averageLapTime || fuelUsed < other.fuelUsed);
+    }
+
+    // Новий болід з цими налаштуваннями
+    public Car toCar() {
+        return new CarBuilder()
+                .setEnginePower(enginePower)
+                .setAerodynamics(aerodynamics)
+                .setMaxFuel(maxFuel)
+                .setTireType(compound.getDisplayName())
+                .build();
+    }
+
+    public double getEnginePower() {
+        return enginePower;
+    }
+
+    public double getAerodynamics() {
+        return aerodynamics;
+    }
+
+    public double getMaxFuel() {
+        return maxFuel;
+    }
+
+    public TireCompound getCompound() {
+        return compound;
+    }
+
+    public double getAverageLapTime() {
+        return averageLapTime;
+    }
+
+    public double getFuelUsed() {
+        return fuelUsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.0f HP, aero %.1f, %.0f L, %s tires: %.3f s/lap, %.2f L used",
+                enginePower, aerodynamics, maxFuel, compound.getDisplayName(), averageLapTime, fuelUsed);
+    }
+}
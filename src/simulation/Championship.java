@@ -0,0 +1,218 @@
+package simulation;
+
+import models.Race;
+import models.RaceResult;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сезон чемпіонату - календар етапів з однаковим складом учасників
+ *
+ * Кожен етап описується RaceTemplate; слот учасника однаковий на всіх
+ * етапах. Після кожної гонки бали додаються до ChampionshipStandings,
+ * без перерахунку попередніх етапів.
+ *
+ * Етап r сезону з seed s отримує seed RaceBatchRunner.raceSeed(s, r),
+ * а сезон i серії з базовим seed - seed raceSeed(base, i). Для прогнозів
+ * сезони виконуються паралельно на GridSimulator, який для того ж seed
+ * дає ті самі результати, що й Race (якщо всі стратегії йому відомі).
+ * archiveSeasons() зберігає позиції та найшвидші кола тих самих сезонів
+ * у SeasonArchive для перерахунку за іншими правилами без симуляції.
+ */
+public class Championship {
+    private String seasonName;
+    private List<RaceTemplate> rounds;
+
+    public Championship(String seasonName) {
+        this.seasonName = seasonName;
+        this.rounds = new ArrayList<>();
+    }
+
+    // Додати етап календаря; склад учасників має збігатися з першим етапом
+    public Championship addRound(RaceTemplate round) {
+        if (round == null) {
+            throw new IllegalArgumentException("Round cannot be null");
+        }
+        if (round.getParticipantCount() == 0) {
+            throw new IllegalArgumentException("Round " + round.getRaceName() + " has no participants");
+        }
+        if (!rounds.isEmpty()) {
+            RaceTemplate first = rounds.get(0);
+            if (first.getParticipantCount() != round.getParticipantCount()) {
+                throw new IllegalArgumentException("Round " + round.getRaceName()
+                        + " must have the same participants as the first round");
+            }
+            for (int slot = 0; slot < first.getParticipantCount(); slot++) {
+                if (!first.getDriverName(slot).equals(round.getDriverName(slot))) {
+                    throw new IllegalArgumentException("Round " + round.getRaceName()
+                            + " has a different driver in slot " + slot);
+                }
+            }
+        }
+        rounds.add(round);
+        return this;
+    }
+
+    // Порожня таблиця для учасників цього чемпіонату
+    public ChampionshipStandings newStandings() {
+        checkRounds();
+        RaceTemplate first = rounds.get(0);
+        String[] names = new String[first.getParticipantCount()];
+        String[] teams = new String[names.length];
+        for (int slot = 0; slot < names.length; slot++) {
+            names[slot] = first.getDriverName(slot);
+            teams[slot] = first.getTeamName(slot);
+        }
+        return new ChampionshipStandings(names, teams);
+    }
+
+    // Повний сезон на Race (з усіма стратегіями та подіями болідів)
+    public ChampionshipStandings runSeason(long seed) {
+        ChampionshipStandings standings = newStandings();
+        playRaceSeason(standings, seed, null, 0);
+        return standings;
+    }
+
+    // Прогноз: seasonCount сезонів на всіх процесорах
+    public SeasonStatistics simulateSeasons(int seasonCount, long seed) {
+        return simulateSeasons(seasonCount, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SeasonStatistics simulateSeasons(int seasonCount, long seed, int parallelism) {
+        return simulateSeasons(seasonCount, seed, parallelism, null);
+    }
+
+    // Ті самі сезони (з тими самими seed), що й у simulateSeasons(), із записом в архів
+    public SeasonArchive archiveSeasons(int seasonCount, long seed) {
+        return archiveSeasons(seasonCount, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SeasonArchive archiveSeasons(int seasonCount, long seed, int parallelism) {
+        if (seasonCount < 0) {
+            throw new IllegalArgumentException("Season count cannot be negative");
+        }
+        ChampionshipStandings standings = newStandings();
+        String[] names = new String[standings.getDriverCount()];
+        String[] teams = new String[names.length];
+        for (int slot = 0; slot < names.length; slot++) {
+            names[slot] = standings.getDriverName(slot);
+            int team = standings.getTeamOf(slot);
+            teams[slot] = team >= 0 ? standings.getTeamName(team) : null;
+        }
+        SeasonArchive archive = new SeasonArchive(names, teams, rounds.size(), seasonCount);
+        simulateSeasons(seasonCount, seed, parallelism, archive);
+        return archive;
+    }
+
+    private SeasonStatistics simulateSeasons(int seasonCount, long seed, int parallelism, SeasonArchive archive) {
+        if (seasonCount < 0) {
+            throw new IllegalArgumentException("Season count cannot be negative");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+
+        SeasonStatistics total = newStatistics();
+        boolean fast = isGridCompatible();
+        for (SeasonStatistics local : RaceBatchRunner.runChunks(seasonCount, parallelism,
+                "Season simulation interrupted", "Season simulation failed",
+                (from, seasons) -> runChunk(from, seasons, seed, fast, archive))) {
+            total.merge(local);
+        }
+        return total;
+    }
+
+    // Порція сезонів одного потоку; таблиця перевикористовується.
+    // Потоки пишуть в архів різні сезони, тому синхронізація не потрібна
+    private SeasonStatistics runChunk(int firstSeason, int seasons, long seed, boolean fast,
+                                      SeasonArchive archive) {
+        SeasonStatistics local = newStatistics();
+        ChampionshipStandings standings = newStandings();
+        for (int i = firstSeason; i < firstSeason + seasons; i++) {
+            standings.reset();
+            long seasonSeed = RaceBatchRunner.raceSeed(seed, i);
+            if (fast) {
+                playGridSeason(standings, seasonSeed, archive, i);
+            } else {
+                playRaceSeason(standings, seasonSeed, archive, i);
+            }
+            local.record(standings);
+        }
+        return local;
+    }
+
+    private void playGridSeason(ChampionshipStandings standings, long seed, SeasonArchive archive, int season) {
+        for (int round = 0; round < rounds.size(); round++) {
+            GridSimulator grid = GridSimulator.fromTemplate(rounds.get(round),
+                    RaceBatchRunner.raceSeed(seed, round));
+            grid.run();
+            int[] position = archive != null ? new int[grid.getSize()] : null;
+            double[] bestLap = archive != null ? new double[grid.getSize()] : null;
+            for (int slot = 0; slot < grid.getSize(); slot++) {
+                standings.addResult(slot, grid.getPosition(slot), grid.getPoints(slot));
+                if (archive != null) {
+                    position[slot] = grid.getPosition(slot);
+                    bestLap[slot] = grid.getBestLap(slot);
+                }
+            }
+            if (archive != null) {
+                archive.recordRound(season, round, position, bestLap);
+            }
+            standings.completeRound();
+        }
+    }
+
+    private void playRaceSeason(ChampionshipStandings standings, long seed, SeasonArchive archive, int season) {
+        for (int round = 0; round < rounds.size(); round++) {
+            Race race = rounds.get(round).createRace(RaceBatchRunner.raceSeed(seed, round));
+            race.setQuiet(true);
+            // Ідентифікатор учасника збігається зі слотом шаблону
+            List<RaceResult> slotResults = race.getResultsByParticipant();
+            race.startRace();
+            standings.record(slotResults);
+            if (archive != null) {
+                archive.recordRound(season, round, slotResults);
+            }
+        }
+    }
+
+    private boolean isGridCompatible() {
+        for (RaceTemplate round : rounds) {
+            if (!round.isGridCompatible()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SeasonStatistics newStatistics() {
+        ChampionshipStandings standings = newStandings();
+        String[] names = new String[standings.getDriverCount()];
+        String[] teams = new String[standings.getTeamCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = standings.getDriverName(i);
+        }
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = standings.getTeamName(i);
+        }
+        return new SeasonStatistics(names, teams);
+    }
+
+    private void checkRounds() {
+        if (rounds.isEmpty()) {
+            throw new IllegalStateException("[RACE_ERROR] Championship has no rounds!");
+        }
+    }
+
+    public String getSeasonName() {
+        return seasonName;
+    }
+
+    public int getRoundCount() {
+        return rounds.size();
+    }
+
+    public RaceTemplate getRound(int index) {
+        return rounds.get(index);
+    }
+}
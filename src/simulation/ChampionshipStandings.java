@@ -0,0 +1,221 @@
+package simulation;
+
+import models.RaceResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Турнірна таблиця чемпіонату гонщиків і конструкторів
+ *
+ * Бали кожного етапу додаються до примітивних масивів за слотами, тому
+ * оновлення після гонки коштує O(n) і не переглядає попередні етапи.
+ * Для розв'язання нічиїх за правилами F1 (більше перемог, потім більше
+ * других місць і т.д.) ведеться лічильник фінішів на кожній позиції.
+ *
+ * Один екземпляр можна використовувати для багатьох сезонів через reset().
+ */
+public class ChampionshipStandings {
+    private String[] driverNames;
+    private String[] teamNames;
+    private int[] teamOf; // індекс команди слота або -1, якщо команди немає
+    private int[] driverPoints;
+    private int[] teamPoints;
+    private int[] finishCounts; // [slot * size + (position - 1)]
+    private int rounds;
+
+    public ChampionshipStandings(String[] driverNames, String[] driverTeams) {
+        if (driverNames.length != driverTeams.length) {
+            throw new IllegalArgumentException("Each driver must have a team entry (null for none)");
+        }
+        int size = driverNames.length;
+        this.driverNames = driverNames.clone();
+        this.teamOf = new int[size];
+
+        List<String> teams = new ArrayList<>();
+        for (int slot = 0; slot < size; slot++) {
+            String team = driverTeams[slot];
+            if (team == null || team.isEmpty()) {
+                teamOf[slot] = -1;
+            } else {
+                int index = teams.indexOf(team);
+                if (index < 0) {
+                    index = teams.size();
+                    teams.add(team);
+                }
+                teamOf[slot] = index;
+            }
+        }
+        this.teamNames = teams.toArray(new String[0]);
+        this.driverPoints = new int[size];
+        this.teamPoints = new int[teamNames.length];
+        this.finishCounts = new int[size * size];
+        this.rounds = 0;
+    }
+
+    // Записати етап (елемент i - результат слота i)
+    public void record(List<RaceResult> slotResults) {
+        for (int slot = 0; slot < slotResults.size(); slot++) {
+            RaceResult result = slotResults.get(slot);
+            addResult(slot, result.getPosition(), result.getPoints());
+        }
+        completeRound();
+    }
+
+    // Результат одного слота на поточному етапі; після всіх слотів - completeRound()
+    public void addResult(int slot, int position, int points) {
+        int size = driverNames.length;
+        if (position < 1 || position > size) {
+            throw new IllegalArgumentException("Position must be between 1 and " + size);
+        }
+        driverPoints[slot] += points;
+        if (teamOf[slot] >= 0) {
+            teamPoints[teamOf[slot]] += points;
+        }
+        finishCounts[slot * size + position - 1]++;
+    }
+
+    public void completeRound() {
+        rounds++;
+    }
+
+    // Очистити таблицю для нового сезону (без нових алокацій)
+    public void reset() {
+        Arrays.fill(driverPoints, 0);
+        Arrays.fill(teamPoints, 0);
+        Arrays.fill(finishCounts, 0);
+        rounds = 0;
+    }
+
+    // Чи стоїть слот a вище за слот b: бали, потім лічильник найкращих фінішів
+    public boolean isAhead(int a, int b) {
+        if (driverPoints[a] != driverPoints[b]) {
+            return driverPoints[a] > driverPoints[b];
+        }
+        int size = driverNames.length;
+        for (int position = 0; position < size; position++) {
+            int countA = finishCounts[a * size + position];
+            int countB = finishCounts[b * size + position];
+            if (countA != countB) {
+                return countA > countB;
+            }
+        }
+        return a < b;
+    }
+
+    // Слот лідера чемпіонату - один прохід без сортування
+    public int getLeader() {
+        int leader = 0;
+        for (int slot = 1; slot < driverNames.length; slot++) {
+            if (isAhead(slot, leader)) {
+                leader = slot;
+            }
+        }
+        return leader;
+    }
+
+    // Індекс команди-лідера кубка конструкторів або -1, якщо команд немає
+    public int getLeadingTeam() {
+        int leader = -1;
+        for (int team = 0; team < teamNames.length; team++) {
+            if (leader < 0 || teamPoints[team] > teamPoints[leader]) {
+                leader = team;
+            }
+        }
+        return leader;
+    }
+
+    // Слоти в порядку місць у чемпіонаті (будується на запит)
+    public int[] getDriverOrder() {
+        int size = driverNames.length;
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            int slot = i;
+            int j = i - 1;
+            while (j >= 0 && isAhead(slot, order[j])) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = slot;
+        }
+        return order;
+    }
+
+    // Індекси команд у порядку балів
+    public int[] getTeamOrder() {
+        int[] order = new int[teamNames.length];
+        for (int i = 0; i < order.length; i++) {
+            int team = i;
+            int j = i - 1;
+            while (j >= 0 && teamPoints[team] > teamPoints[order[j]]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = team;
+        }
+        return order;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getDriverCount() {
+        return driverNames.length;
+    }
+
+    public int getTeamCount() {
+        return teamNames.length;
+    }
+
+    public String getDriverName(int slot) {
+        return driverNames[slot];
+    }
+
+    public String getTeamName(int team) {
+        return teamNames[team];
+    }
+
+    public int getDriverPoints(int slot) {
+        return driverPoints[slot];
+    }
+
+    public int getTeamPoints(int team) {
+        return teamPoints[team];
+    }
+
+    // Команда слота або -1
+    public int getTeamOf(int slot) {
+        return teamOf[slot];
+    }
+
+    public int getWins(int slot) {
+        return finishCounts[slot * driverNames.length];
+    }
+
+    // Скільки разів слот фінішував на позиції position
+    public int getFinishes(int slot, int position) {
+        return finishCounts[slot * driverNames.length + position - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append("=== Drivers' Championship (").append(rounds).append(" rounds) ===\n");
+        int[] drivers = getDriverOrder();
+        for (int i = 0; i < drivers.length; i++) {
+            int slot = drivers[i];
+            report.append(String.format("%d. %s - %d points (Wins: %d)%n",
+                    i + 1, driverNames[slot], driverPoints[slot], getWins(slot)));
+        }
+        if (teamNames.length > 0) {
+            report.append("=== Constructors' Championship ===\n");
+            int[] teams = getTeamOrder();
+            for (int i = 0; i < teams.length; i++) {
+                report.append(String.format("%d. %s - %d points%n",
+                        i + 1, teamNames[teams[i]], teamPoints[teams[i]]));
+            }
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,459 @@
+package simulation;
+
+import models.Car;
+import models.ErsModel;
+import models.LapTimeModel;
+import models.PitPlan;
+import models.RaceConstants;
+import models.RaceResult;
+import models.Tire;
+import models.TireCompound;
+import models.ScoringRules;
+import models.team.Driver;
+import patterns.creational.TireFactory;
+import patterns.structural.CarComponent;
+import patterns.structural.CompiledPowerUnit;
+import utils.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Альтернативне ядро симуляції гонки для великих сіток (сотні та тисячі болідів)
+ *
+ * Стан зберігається у форматі "структура масивів": потужність, аеродинаміка,
+ * паливо, навички, кола та найкраще коло лежать у примітивних масивах,
+ * індексованих слотом боліда. На колі немає пошуку в мапі, віртуальних
+ * викликів стратегій, виводу в консоль чи створення об'єктів.
+ *
+ * Для однакового seed результати збігаються з Race: ядро витрачає випадкові
+ * числа в тому самому порядку (за поточними позиціями), використовує
+ * LapTimeModel, ті самі формули шин Tire і ту саму стабільну сортировку позицій.
+ * Підтримуються вбудовані стратегії Aggressive, Balanced та Economical.
+ * Силова установка з декораторів компілюється при додаванні: на колі
+ * лишаються тільки потужність двигуна, буст ERS і заряд батареї в масивах.
+ */
+public class GridSimulator {
+    static final byte STRATEGY_BALANCED = 0;
+    static final byte STRATEGY_AGGRESSIVE = 1;
+    static final byte STRATEGY_ECONOMICAL = 2;
+    static final double ECONOMICAL_FUEL_THRESHOLD = 0.3;
+
+    private int totalLaps;
+    private SplittableRandom random;
+    private int size;
+    private boolean finished;
+
+    private String[] driverNames;
+    private Driver[] drivers;
+    private double[] enginePower; // без ERS
+    private double[] ersBoost;
+    private double[] ersCharge;
+    private double[] aerodynamics;
+    private double[] fuelLevel;
+    private double[] maxFuel;
+    private double[] skillLevel;
+    private byte[] strategy;
+    private double[] tireGrip; // базове зчеплення складу
+    private double[] tireDurability;
+    private double[] tireTemperature;
+    private PitPlan[] pitPlans; // null - без зупинок
+    private Tire[][] stintTires; // нові комплекти кожного відрізку плану (лише для читання)
+    private int[] lapsCompleted;
+    private double[] bestLap;
+    private double[] raceTime; // стартове відставання + сума часу всіх кіл
+    private int[] position;
+    private int[] points;
+    private ScoringRules scoringRules;
+    private int[] order; // слоти в порядку поточних позицій
+
+    public GridSimulator(int capacity, int totalLaps, long seed) {
+        Validator.validateNonNegative(capacity, "Grid capacity");
+        this.totalLaps = totalLaps > 0 ? totalLaps : RaceConstants.DEFAULT_LAPS;
+        this.random = new SplittableRandom(seed);
+        this.size = 0;
+        this.finished = false;
+        this.driverNames = new String[capacity];
+        this.drivers = new Driver[capacity];
+        this.enginePower = new double[capacity];
+        this.ersBoost = new double[capacity];
+        this.ersCharge = new double[capacity];
+        this.aerodynamics = new double[capacity];
+        this.fuelLevel = new double[capacity];
+        this.maxFuel = new double[capacity];
+        this.skillLevel = new double[capacity];
+        this.strategy = new byte[capacity];
+        this.tireGrip = new double[capacity];
+        this.tireDurability = new double[capacity];
+        this.tireTemperature = new double[capacity];
+        this.pitPlans = new PitPlan[capacity];
+        this.stintTires = new Tire[capacity][];
+        this.lapsCompleted = new int[capacity];
+        this.bestLap = new double[capacity];
+        this.raceTime = new double[capacity];
+        this.position = new int[capacity];
+        this.points = new int[capacity];
+        this.scoringRules = ScoringRules.DEFAULT;
+        this.order = new int[capacity];
+    }
+
+    // Ядро з учасниками шаблону - для того ж seed дає ті самі результати, що й
+    // template.createRace(seed).startRace()
+    public static GridSimulator fromTemplate(RaceTemplate template, long seed) {
+        int count = template.getParticipantCount();
+        GridSimulator grid = new GridSimulator(count, template.getTotalLaps(), seed);
+        for (int slot = 0; slot < count; slot++) {
+            Driver driver = template.getDriver(slot);
+            Car car = template.getCar(slot);
+            grid.addCar(driver.getName(), driver.getSkillLevel(), car.getEnginePower(),
+                    car.getAerodynamics(), car.getMaxFuel(), driver.getStrategy().getStrategyName());
+            grid.fuelLevel[slot] = car.getFuelLevel();
+            grid.ersBoost[slot] = car.getErsBoost();
+            grid.ersCharge[slot] = car.getErsCharge();
+            grid.setTire(slot, car.getTire());
+            if (template.getPitPlan(slot) != null) {
+                grid.setPitPlan(slot, template.getPitPlan(slot));
+            }
+            grid.drivers[slot] = new Driver(driver);
+        }
+        grid.setScoringRules(template.getScoringRules());
+        if (template.getStartingGrid() != null) {
+            grid.setStartingGrid(template.getStartingGrid());
+        }
+        return grid;
+    }
+
+    // Додати болід на старт (повний бак); повертає номер слота
+    public int addCar(String driverName, double skill, double power, double aero,
+                      double fuelCapacity, String strategyName) {
+        if (size == order.length) {
+            throw new IllegalStateException("Grid is full: capacity " + order.length);
+        }
+        Validator.validateNonEmpty(driverName, "Name");
+        Validator.validateRange(skill, Driver.MIN_SKILL_LEVEL, Driver.MAX_SKILL_LEVEL, "Skill level");
+        Validator.validateRange(power, Car.MIN_ENGINE_POWER, Car.MAX_ENGINE_POWER, "Engine power");
+        Validator.validateRange(aero, Car.MIN_AERODYNAMICS, Car.MAX_AERODYNAMICS, "Aerodynamics");
+        if (fuelCapacity <= 0) {
+            throw new IllegalArgumentException("Fuel tank capacity must be greater than 0");
+        }
+
+        int slot = size++;
+        driverNames[slot] = driverName;
+        skillLevel[slot] = skill;
+        enginePower[slot] = power;
+        ersBoost[slot] = 0.0;
+        ersCharge[slot] = ErsModel.FULL_CHARGE;
+        aerodynamics[slot] = aero;
+        maxFuel[slot] = fuelCapacity;
+        fuelLevel[slot] = fuelCapacity;
+        strategy[slot] = strategyCode(strategyName);
+        setTire(slot, TireFactory.createTire(TireCompound.MEDIUM)); // як у нового Car
+        position[slot] = slot + 1;
+        order[slot] = slot;
+        return slot;
+    }
+
+    // Силова установка слота: ланцюжок компілюється один раз, як у Car.setPowerUnit
+    public void setPowerUnit(int slot, CarComponent chain) {
+        if (slot < 0 || slot >= size) {
+            throw new IllegalArgumentException("Unknown slot: " + slot);
+        }
+        if (chain == null) {
+            throw new IllegalArgumentException("Power unit cannot be null");
+        }
+        CompiledPowerUnit compiled = CompiledPowerUnit.compile(chain);
+        Validator.validateRange(compiled.getCombustionPower(), Car.MIN_ENGINE_POWER, Car.MAX_ENGINE_POWER, "Engine power");
+        Validator.validateNonNegative(compiled.getErsBoost(), "ERS boost");
+        enginePower[slot] = compiled.getCombustionPower();
+        ersBoost[slot] = compiled.getErsBoost();
+    }
+
+    // Стан шин слота копіюється з комплекту
+    private void setTire(int slot, Tire tire) {
+        tireGrip[slot] = tire.getGrip();
+        tireDurability[slot] = tire.getDurability();
+        tireTemperature[slot] = tire.getTemperature();
+    }
+
+    // План піт-стопів слота; стартовий склад ставиться новим комплектом одразу,
+    // комплекти для зупинок створюються заздалегідь, щоб на колі нічого не виділяти
+    public void setPitPlan(int slot, PitPlan plan) {
+        if (slot < 0 || slot >= size) {
+            throw new IllegalArgumentException("Unknown slot: " + slot);
+        }
+        pitPlans[slot] = plan;
+        stintTires[slot] = null;
+        if (plan != null) {
+            stintTires[slot] = new Tire[plan.getStopCount() + 1];
+            for (int stint = 0; stint < stintTires[slot].length; stint++) {
+                stintTires[slot][stint] = TireFactory.createTire(plan.getTireCompound(stint));
+            }
+            setTire(slot, stintTires[slot][0]);
+        }
+    }
+
+    // Стартова решітка (слоти від поула), як Race.setStartingGrid
+    public void setStartingGrid(int[] slots) {
+        if (finished) {
+            throw new IllegalStateException("Grid simulation already finished");
+        }
+        if (slots == null || slots.length != size) {
+            throw new IllegalArgumentException("Starting grid must list all " + size + " participants");
+        }
+        boolean[] placed = new boolean[size];
+        for (int slot : slots) {
+            if (slot < 0 || slot >= size || placed[slot]) {
+                throw new IllegalArgumentException("Invalid or repeated slot on the grid: " + slot);
+            }
+            placed[slot] = true;
+        }
+        for (int i = 0; i < size; i++) {
+            order[i] = slots[i];
+            position[slots[i]] = i + 1;
+        }
+    }
+
+    public void setScoringRules(ScoringRules scoringRules) {
+        if (scoringRules == null) {
+            throw new IllegalArgumentException("Scoring rules cannot be null");
+        }
+        this.scoringRules = scoringRules;
+    }
+
+    // Бали за іншими правилами для вже проведеної гонки (без повторної симуляції)
+    public void rescore(ScoringRules rules, int[] pointsOut) {
+        if (!finished) {
+            throw new IllegalStateException("Grid simulation has not finished yet");
+        }
+        rules.score(position, bestLap, size, pointsOut);
+    }
+
+    // Чи може ядро виконати стратегію з такою назвою
+    public static boolean supportsStrategy(String strategyName) {
+        return "Balanced".equals(strategyName) || "Aggressive".equals(strategyName)
+                || "Economical".equals(strategyName);
+    }
+
+    static byte strategyCode(String strategyName) {
+        if (strategyName == null) {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+        switch (strategyName) {
+            case "Balanced":
+                return STRATEGY_BALANCED;
+            case "Aggressive":
+                return STRATEGY_AGGRESSIVE;
+            case "Economical":
+                return STRATEGY_ECONOMICAL;
+            default:
+                throw new IllegalArgumentException("Unsupported strategy for grid simulation: " + strategyName);
+        }
+    }
+
+    // Провести гонку повністю
+    public void run() {
+        if (size == 0) {
+            throw new IllegalStateException("[RACE_ERROR] Cannot start race: No participants!");
+        }
+        if (finished) {
+            throw new IllegalStateException("Grid simulation already finished");
+        }
+
+        skipStartBranches(random, size);
+        // Стартове відставання за місцем на решітці, як у Race
+        for (int i = 0; i < size; i++) {
+            raceTime[order[i]] = i * RaceConstants.GRID_SLOT_TIME_GAP;
+        }
+
+        // Кожен болід проходить кожне коло, тому всі фінішують разом
+        for (int lap = 1; lap <= totalLaps; lap++) {
+            simulateLap(lap);
+            updatePositions();
+        }
+
+        finished = true;
+        assignPoints();
+    }
+
+    private void simulateLap(int lap) {
+        for (int i = 0; i < size; i++) {
+            int slot = order[i];
+            double grip = Tire.effectiveGrip(tireGrip[slot], tireDurability[slot], tireTemperature[slot]);
+            double lapPower = ErsModel.lapPower(enginePower[slot], ersBoost[slot], ersCharge[slot]);
+            double lapTime = LapTimeModel.calculate(lapPower, aerodynamics[slot],
+                    skillLevel[slot], grip, nextLapDraw(random));
+            int stop = pitPlans[slot] != null ? pitPlans[slot].indexOfStop(lap) : -1;
+            if (stop >= 0) {
+                lapTime += RaceConstants.PIT_STOP_TIME_LOSS;
+            }
+            if (bestLap[slot] == 0 || (lapTime > 0 && lapTime < bestLap[slot])) {
+                bestLap[slot] = lapTime;
+            }
+            raceTime[slot] += lapTime;
+            int accelerations = drive(slot);
+            tireTemperature[slot] = Tire.nextTemperature(tireTemperature[slot], accelerations);
+            tireDurability[slot] = Tire.nextDurability(tireDurability[slot], tireTemperature[slot], accelerations);
+            ersCharge[slot] = ErsModel.nextCharge(ersCharge[slot], accelerations);
+            if (stop >= 0) {
+                // як Race.pitStop: новий комплект і повний бак
+                setTire(slot, stintTires[slot][stop + 1]);
+                fuelLevel[slot] = maxFuel[slot];
+            }
+            lapsCompleted[slot]++;
+        }
+    }
+
+    // Послідовність випадкових чисел гонки така сама, як у Race: спершу по
+    // гілці split() на болід (Race.startRace видає їх болідам), потім по
+    // одному числу на болід за коло в порядку позицій. SetupOptimizer
+    // відтворює її для сольних гонок.
+    static void skipStartBranches(SplittableRandom random, int size) {
+        for (int i = 0; i < size; i++) {
+            random.split();
+        }
+    }
+
+    static double nextLapDraw(SplittableRandom random) {
+        return random.nextDouble();
+    }
+
+    // Стратегії водіння без віртуальних викликів; повертає кількість
+    // вдалих прискорень (навантаження шин на колі)
+    private int drive(int slot) {
+        switch (strategy[slot]) {
+            case STRATEGY_AGGRESSIVE:
+                // друге прискорення лише якщо перше вдалося (як після FaultCode.NO_FUEL)
+                if (!accelerate(slot)) {
+                    return 0;
+                }
+                return accelerate(slot) ? 2 : 1;
+            case STRATEGY_ECONOMICAL:
+                if (fuelLevel[slot] > maxFuel[slot] * ECONOMICAL_FUEL_THRESHOLD) {
+                    return accelerate(slot) ? 1 : 0;
+                }
+                return 0;
+            default:
+                return accelerate(slot) ? 1 : 0;
+        }
+    }
+
+    private boolean accelerate(int slot) {
+        if (fuelLevel[slot] <= 0) {
+            return false;
+        }
+        fuelLevel[slot] -= Car.calculateFuelConsumption(enginePower[slot]);
+        if (fuelLevel[slot] < 0) {
+            fuelLevel[slot] = 0;
+        }
+        return true;
+    }
+
+    // Стабільна сортировка вставками: після кола порядок майже не змінюється,
+    // тому прохід близький до лінійного і нічого не виділяє
+    private void updatePositions() {
+        for (int i = 1; i < size; i++) {
+            int slot = order[i];
+            int j = i - 1;
+            while (j >= 0 && isAhead(slot, order[j])) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = slot;
+        }
+        for (int i = 0; i < size; i++) {
+            position[order[i]] = i + 1;
+        }
+    }
+
+    // Той самий порядок, що й Leaderboard.isAhead: більше кіл, потім менший сумарний час
+    private boolean isAhead(int a, int b) {
+        if (lapsCompleted[a] != lapsCompleted[b]) {
+            return lapsCompleted[a] > lapsCompleted[b];
+        }
+        if (lapsCompleted[a] == 0) {
+            return false;
+        }
+        return Double.compare(raceTime[a], raceTime[b]) < 0;
+    }
+
+    // Бали за скомпільованою таблицею правил, без створення мапи
+    private void assignPoints() {
+        scoringRules.score(position, bestLap, size, points);
+    }
+
+    // Результати у вигляді RaceResult, відсортовані за позицією
+    public List<RaceResult> toRaceResults() {
+        List<RaceResult> results = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int slot = order[i];
+            Driver driver = drivers[slot] != null ? drivers[slot]
+                    : new Driver(driverNames[slot], skillLevel[slot]);
+            RaceResult result = new RaceResult(driver, position[slot]);
+            result.setLapTime(bestLap[slot]);
+            result.setTotalTime(raceTime[slot]);
+            result.setPoints(points[slot]);
+            result.setFinished(finished);
+            result.setLapsCompleted(lapsCompleted[slot]);
+            results.add(result);
+        }
+        return results;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getTotalLaps() {
+        return totalLaps;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public String getDriverName(int slot) {
+        return driverNames[slot];
+    }
+
+    public int getPosition(int slot) {
+        return position[slot];
+    }
+
+    public double getBestLap(int slot) {
+        return bestLap[slot];
+    }
+
+    public int getLapsCompleted(int slot) {
+        return lapsCompleted[slot];
+    }
+
+    public int getPoints(int slot) {
+        return points[slot];
+    }
+
+    // Загальний час гонки слота (зі стартовим відставанням і втратами на піт-стопах)
+    public double getRaceTime(int slot) {
+        return raceTime[slot];
+    }
+
+    public double getFuelLevel(int slot) {
+        return fuelLevel[slot];
+    }
+
+    public double getTireDurability(int slot) {
+        return tireDurability[slot];
+    }
+
+    public double getTireTemperature(int slot) {
+        return tireTemperature[slot];
+    }
+
+    public double getErsCharge(int slot) {
+        return ersCharge[slot];
+    }
+
+    // Слот боліда на заданій позиції (1 - лідер)
+    public int getSlotAtPosition(int position) {
+        return order[position - 1];
+    }
+}
@@ -0,0 +1,152 @@
+package simulation;
+
+import models.Race;
+import models.RaceResult;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Прогноз результатів гонки методом Монте-Карло
+ *
+ * Симуляції йдуть пакетами: кожен пакет ділиться між потоками, потоки
+ * ведуть власні OutcomeForecast, а після пакета вони додаються до
+ * загального прогнозу. Результати гонок не зберігаються - пам'ять
+ * не залежить від кількості симуляцій.
+ *
+ * Зупинка за точністю перевіряється після кожного пакета: якщо найширший
+ * довірчий інтервал ймовірностей вже не ширший за ±targetHalfWidth,
+ * решта симуляцій не запускається. Гонка з індексом i отримує seed
+ * RaceBatchRunner.raceSeed(seed, i), а межі пакетів не залежать від
+ * кількості потоків, тому прогноз відтворюваний.
+ */
+public class MonteCarloForecaster {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private RaceTemplate template;
+    private int parallelism;
+    private int batchSize;
+    private double z;
+
+    public MonteCarloForecaster(RaceTemplate template) {
+        this(template, Runtime.getRuntime().availableProcessors());
+    }
+
+    public MonteCarloForecaster(RaceTemplate template, int parallelism) {
+        if (template == null) {
+            throw new IllegalArgumentException("Race template cannot be null");
+        }
+        if (template.getParticipantCount() == 0) {
+            throw new IllegalArgumentException("Race template has no participants");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.template = template;
+        this.parallelism = parallelism;
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.z = OutcomeForecast.Z_95;
+    }
+
+    // Кількість симуляцій між перевірками точності
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    // Рівень довіри як z-значення (1.96 - 95%, 2.576 - 99%)
+    public void setZScore(double z) {
+        if (z <= 0) {
+            throw new IllegalArgumentException("Z-score must be positive");
+        }
+        this.z = z;
+    }
+
+    // Рівно maxSimulations симуляцій
+    public OutcomeForecast forecast(int maxSimulations, long seed) {
+        return forecast(maxSimulations, seed, 0.0);
+    }
+
+    // Не більше maxSimulations; зупинка, коли інтервали вужчі за ±targetHalfWidth
+    public OutcomeForecast forecast(int maxSimulations, long seed, double targetHalfWidth) {
+        if (maxSimulations < 0) {
+            throw new IllegalArgumentException("Simulation count cannot be negative");
+        }
+        if (targetHalfWidth < 0) {
+            throw new IllegalArgumentException("Target interval half-width cannot be negative");
+        }
+
+        OutcomeForecast total = newForecast();
+        if (maxSimulations == 0) {
+            return total;
+        }
+        boolean fast = template.isGridCompatible();
+
+        return RaceBatchRunner.withPool(Math.min(parallelism, maxSimulations),
+                "Forecast interrupted", "Forecast simulation failed", pool -> {
+            int done = 0;
+            while (done < maxSimulations) {
+                int batch = Math.min(batchSize, maxSimulations - done);
+                runBatch(pool, total, done, batch, seed, fast);
+                done += batch;
+                if (targetHalfWidth > 0 && total.getMaxHalfWidth() <= targetHalfWidth) {
+                    break;
+                }
+            }
+            return total;
+        });
+    }
+
+    private void runBatch(ExecutorService pool, OutcomeForecast total, int firstRace, int races,
+                          long seed, boolean fast) throws InterruptedException, ExecutionException {
+        for (OutcomeForecast local : RaceBatchRunner.runChunks(pool, Math.min(parallelism, races), firstRace, races,
+                (start, count) -> runChunk(start, count, seed, fast))) {
+            total.merge(local);
+        }
+    }
+
+    // Порція симуляцій одного потоку
+    private OutcomeForecast runChunk(int firstRace, int races, long seed, boolean fast) {
+        OutcomeForecast local = newForecast();
+        for (int i = firstRace; i < firstRace + races; i++) {
+            long raceSeed = RaceBatchRunner.raceSeed(seed, i);
+            if (fast) {
+                GridSimulator grid = GridSimulator.fromTemplate(template, raceSeed);
+                grid.run();
+                for (int slot = 0; slot < grid.getSize(); slot++) {
+                    local.record(slot, grid.getPosition(slot), grid.getPoints(slot));
+                }
+            } else {
+                Race race = template.createRace(raceSeed);
+                race.setQuiet(true);
+                // Ідентифікатор учасника збігається зі слотом шаблону
+                List<RaceResult> slotResults = race.getResultsByParticipant();
+                race.startRace();
+                for (int slot = 0; slot < slotResults.size(); slot++) {
+                    RaceResult result = slotResults.get(slot);
+                    local.record(slot, result.getPosition(), result.getPoints());
+                }
+            }
+            local.completeRace();
+        }
+        return local;
+    }
+
+    private OutcomeForecast newForecast() {
+        String[] names = new String[template.getParticipantCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = template.getDriverName(i);
+        }
+        return new OutcomeForecast(names, z);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,223 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * Потокова статистика результатів гонки за слотами учасників
+ *
+ * Для кожного слота зберігаються гістограма фінішних позицій, кількість
+ * гонок з балами, сума балів та сума їх квадратів. Пам'ять залежить лише
+ * від кількості учасників (n * n лічильників), а не від кількості гонок.
+ *
+ * Довірчі інтервали: для ймовірностей - інтервал Вілсона, для середніх
+ * балів - нормальне наближення. Рівень довіри задається z-значенням
+ * (1.96 - 95%).
+ */
+public class OutcomeForecast {
+    public static final double Z_95 = 1.96;
+
+    private String[] driverNames;
+    private double z;
+    private long raceCount;
+    private long[] positionCounts; // [slot * size + (position - 1)]
+    private long[] pointsFinishes;
+    private long[] pointsSum;
+    private long[] pointsSquareSum;
+
+    public OutcomeForecast(String[] driverNames) {
+        this(driverNames, Z_95);
+    }
+
+    public OutcomeForecast(String[] driverNames, double z) {
+        if (z <= 0) {
+            throw new IllegalArgumentException("Z-score must be positive");
+        }
+        int size = driverNames.length;
+        this.driverNames = driverNames.clone();
+        this.z = z;
+        this.raceCount = 0;
+        this.positionCounts = new long[size * size];
+        this.pointsFinishes = new long[size];
+        this.pointsSum = new long[size];
+        this.pointsSquareSum = new long[size];
+    }
+
+    // Результат слота в поточній гонці; після всіх слотів - completeRace()
+    public void record(int slot, int position, int points) {
+        int size = driverNames.length;
+        if (position < 1 || position > size) {
+            throw new IllegalArgumentException("Position must be between 1 and " + size);
+        }
+        positionCounts[slot * size + position - 1]++;
+        if (points > 0) {
+            pointsFinishes[slot]++;
+        }
+        pointsSum[slot] += points;
+        pointsSquareSum[slot] += (long) points * points;
+    }
+
+    public void completeRace() {
+        raceCount++;
+    }
+
+    public void merge(OutcomeForecast other) {
+        if (other.driverNames.length != driverNames.length) {
+            throw new IllegalArgumentException("Cannot merge forecasts of different grids");
+        }
+        raceCount += other.raceCount;
+        for (int i = 0; i < positionCounts.length; i++) {
+            positionCounts[i] += other.positionCounts[i];
+        }
+        for (int i = 0; i < driverNames.length; i++) {
+            pointsFinishes[i] += other.pointsFinishes[i];
+            pointsSum[i] += other.pointsSum[i];
+            pointsSquareSum[i] += other.pointsSquareSum[i];
+        }
+    }
+
+    // Ймовірності
+
+    public double getPositionProbability(int slot, int position) {
+        return probability(positionCounts[slot * driverNames.length + position - 1]);
+    }
+
+    public double getWinProbability(int slot) {
+        return probability(countTop(slot, 1));
+    }
+
+    public double getPodiumProbability(int slot) {
+        return probability(countTop(slot, 3));
+    }
+
+    // Ймовірність фінішувати в залікових балах
+    public double getPointsProbability(int slot) {
+        return probability(pointsFinishes[slot]);
+    }
+
+    public double getExpectedPoints(int slot) {
+        return raceCount > 0 ? (double) pointsSum[slot] / raceCount : 0.0;
+    }
+
+    public double getExpectedPosition(int slot) {
+        if (raceCount == 0) {
+            return 0.0;
+        }
+        int size = driverNames.length;
+        long sum = 0;
+        for (int position = 1; position <= size; position++) {
+            sum += position * positionCounts[slot * size + position - 1];
+        }
+        return (double) sum / raceCount;
+    }
+
+    // Вибіркове стандартне відхилення балів
+    public double getPointsStdDev(int slot) {
+        if (raceCount < 2) {
+            return 0.0;
+        }
+        double mean = getExpectedPoints(slot);
+        double variance = (pointsSquareSum[slot] - raceCount * mean * mean) / (raceCount - 1);
+        return Math.sqrt(Math.max(variance, 0.0));
+    }
+
+    // Довірчі інтервали: {нижня межа, верхня межа}
+
+    public double[] getWinInterval(int slot) {
+        return wilson(countTop(slot, 1));
+    }
+
+    public double[] getPodiumInterval(int slot) {
+        return wilson(countTop(slot, 3));
+    }
+
+    public double[] getPointsProbabilityInterval(int slot) {
+        return wilson(pointsFinishes[slot]);
+    }
+
+    public double[] getExpectedPointsInterval(int slot) {
+        double mean = getExpectedPoints(slot);
+        if (raceCount < 2) {
+            return new double[] {0.0, mean};
+        }
+        double halfWidth = z * getPointsStdDev(slot) / Math.sqrt(raceCount);
+        return new double[] {mean - halfWidth, mean + halfWidth};
+    }
+
+    // Найширша половина інтервалу серед ймовірностей перемоги, подіуму та балів
+    public double getMaxHalfWidth() {
+        if (raceCount == 0) {
+            return 1.0;
+        }
+        double max = 0.0;
+        for (int slot = 0; slot < driverNames.length; slot++) {
+            max = Math.max(max, halfWidth(getWinInterval(slot)));
+            max = Math.max(max, halfWidth(getPodiumInterval(slot)));
+            max = Math.max(max, halfWidth(getPointsProbabilityInterval(slot)));
+        }
+        return max;
+    }
+
+    private static double halfWidth(double[] interval) {
+        return (interval[1] - interval[0]) / 2.0;
+    }
+
+    // Кількість фінішів слота на позиціях 1..top
+    private long countTop(int slot, int top) {
+        int size = driverNames.length;
+        long count = 0;
+        for (int position = 0; position < Math.min(top, size); position++) {
+            count += positionCounts[slot * size + position];
+        }
+        return count;
+    }
+
+    private double probability(long count) {
+        return raceCount > 0 ? (double) count / raceCount : 0.0;
+    }
+
+    // Інтервал Вілсона - коректний і для ймовірностей, близьких до 0 або 1
+    private double[] wilson(long successes) {
+        if (raceCount == 0) {
+            return new double[] {0.0, 1.0};
+        }
+        double n = raceCount;
+        double p = successes / n;
+        double z2 = z * z;
+        double denominator = 1 + z2 / n;
+        double centre = (p + z2 / (2 * n)) / denominator;
+        double margin = z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n)) / denominator;
+        return new double[] {Math.max(0.0, centre - margin), Math.min(1.0, centre + margin)};
+    }
+
+    public long getRaceCount() {
+        return raceCount;
+    }
+
+    public int getParticipantCount() {
+        return driverNames.length;
+    }
+
+    public String getDriverName(int slot) {
+        return driverNames[slot];
+    }
+
+    // Копія гістограми позицій слота (елемент i - кількість фінішів на P(i+1))
+    public long[] getPositionHistogram(int slot) {
+        int size = driverNames.length;
+        return Arrays.copyOfRange(positionCounts, slot * size, slot * size + size);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append("=== Race Forecast (").append(raceCount).append(" simulations) ===\n");
+        for (int i = 0; i < driverNames.length; i++) {
+            double[] win = getWinInterval(i);
+            report.append(String.format("%s - Win: %.1f%% [%.1f-%.1f], Podium: %.1f%%, Points: %.1f%%, Exp pts: %.2f, Avg pos: %.2f%n",
+                    driverNames[i], getWinProbability(i) * 100, win[0] * 100, win[1] * 100,
+                    getPodiumProbability(i) * 100, getPointsProbability(i) * 100,
+                    getExpectedPoints(i), getExpectedPosition(i)));
+        }
+        return report.toString();
+    }
+}
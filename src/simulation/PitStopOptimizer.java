@@ -0,0 +1,297 @@
+package simulation;
+
+import models.Car;
+import models.ErsModel;
+import models.LapTimeModel;
+import models.PitPlan;
+import models.RaceConstants;
+import models.Tire;
+import models.TireCompound;
+import models.TireConstants;
+import models.team.Driver;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Оптимізатор піт-стопів - динамічне програмування за відрізками гонки
+ *
+ * Після кожної зупинки болід має новий комплект і повний бак, тому час
+ * відрізку залежить лише від складу шин, довжини та палива на старті
+ * відрізку. Один прохід коло за колом для кожного складу (тими самими
+ * формулами Tire, LapTimeModel і витратою палива Car) дає префіксні суми
+ * часу для всіх довжин. Далі best[lap][mask][a] - найменший час від кінця
+ * кола lap до фінішу, якщо вже використано склади з маски mask, а на колі
+ * lap було a прискорень; перебір складу та довжини наступного відрізку
+ * коштує O(3 * 8 * 3 * N^2) кроків - для 70 кіл близько 3 * 10^5 операцій.
+ *
+ * Потужність на колі, як у Race і GridSimulator, - ErsModel.lapPower():
+ * двигун плюс використана частка буста ERS. Заряд на зупинці не
+ * поновлюється, але щойно він падає нижче DEPLOY_COST_PER_LAP (з повної
+ * батареї - за кілька кіл), заряд після кола залежить лише від кількості
+ * прискорень на цьому колі. Тому стан a на межі відрізків визначає заряд
+ * на старті наступного; перший відрізок рахується від заряду боліда на
+ * старті. Якщо зупинка трапляється раніше, ніж батарея вперше розрядиться,
+ * наступний відрізок теж стартує з усталеного заряду, тобто DP трохи
+ * занижує буст. estimateRaceTime() рахує заряд точно, коло за колом.
+ *
+ * Очікуваний час кола рахується з середнім випадковим множником (1.0).
+ * Навантаження шин і витрата палива відтворюють стратегії, які знає
+ * GridSimulator; інші стратегії вважаються збалансованими.
+ * Робочі масиви перевикористовуються між викликами - один екземпляр на потік.
+ */
+public class PitStopOptimizer {
+    private static final TireCompound[] COMPOUNDS = TireCompound.values();
+    private static final int MASKS = 1 << COMPOUNDS.length;
+    private static final double EXPECTED_RANDOM_DRAW = 0.5; // випадковий множник 1.0
+    private static final int ACCELERATION_STATES = 3; // 0, 1 або 2 прискорення на колі
+
+    private int totalLaps;
+    private double pitStopLoss;
+    private boolean requireCompoundChange; // правило двох складів, як у Формулі 1
+    private double[] compoundGrip;
+    private double[] compoundDurability;
+    private double[][] firstStintTime; // [склад][k] - перші k кіл з початковим паливом і зарядом
+    private int[][] firstStintAccelerations; // [склад][k] - прискорення на k-му колі відрізку
+    private double[][][] stintTime; // [склад][a][k] - k кіл після зупинки (повний бак, усталений заряд)
+    private int[][][] stintAccelerations; // [склад][a][k]
+    private double[][][] best; // [коло][маска складів][прискорення на колі]
+    private int[][][] nextCompound;
+    private int[][][] nextLength;
+
+    public PitStopOptimizer(int totalLaps) {
+        this(totalLaps, RaceConstants.PIT_STOP_TIME_LOSS);
+    }
+
+    public PitStopOptimizer(int totalLaps, double pitStopLoss) {
+        if (totalLaps < 1) {
+            throw new IllegalArgumentException("Race must have at least one lap");
+        }
+        if (pitStopLoss < 0) {
+            throw new IllegalArgumentException("Pit stop time loss cannot be negative");
+        }
+        this.totalLaps = totalLaps;
+        this.pitStopLoss = pitStopLoss;
+        this.requireCompoundChange = true;
+        this.compoundGrip = new double[COMPOUNDS.length];
+        this.compoundDurability = new double[COMPOUNDS.length];
+        for (int c = 0; c < COMPOUNDS.length; c++) {
+            compoundGrip[c] = COMPOUNDS[c].getGrip();
+            compoundDurability[c] = COMPOUNDS[c].getDurability();
+        }
+        this.firstStintTime = new double[COMPOUNDS.length][totalLaps + 1];
+        this.firstStintAccelerations = new int[COMPOUNDS.length][totalLaps + 1];
+        this.stintTime = new double[COMPOUNDS.length][ACCELERATION_STATES][totalLaps + 1];
+        this.stintAccelerations = new int[COMPOUNDS.length][ACCELERATION_STATES][totalLaps + 1];
+        this.best = new double[totalLaps + 1][MASKS][ACCELERATION_STATES];
+        this.nextCompound = new int[totalLaps + 1][MASKS][ACCELERATION_STATES];
+        this.nextLength = new int[totalLaps + 1][MASKS][ACCELERATION_STATES];
+    }
+
+    // Чи вимагати хоча б два різні склади за гонку (для гонки з 1 кола ігнорується)
+    public void setRequireCompoundChange(boolean requireCompoundChange) {
+        this.requireCompoundChange = requireCompoundChange;
+    }
+
+    // Потужність двигуна без ERS; буст і заряд батареї передаються окремо
+    public PitPlan optimize(Car car, Driver driver) {
+        return optimize(car.getEnginePower(), car.getAerodynamics(), driver.getSkillLevel(),
+                car.getFuelLevel(), car.getMaxFuel(), driver.getStrategy().getStrategyName(),
+                car.getErsBoost(), car.getErsCharge());
+    }
+
+    // Оптимальний план для боліда без ERS (startFuel - паливо на старті)
+    public PitPlan optimize(double enginePower, double aerodynamics, double skillLevel,
+                            double startFuel, double maxFuel, String strategyName) {
+        return optimize(enginePower, aerodynamics, skillLevel, startFuel, maxFuel, strategyName,
+                0.0, ErsModel.FULL_CHARGE);
+    }
+
+    // Оптимальний план з бустом ERS ersBoost і зарядом батареї startCharge на старті
+    public PitPlan optimize(double enginePower, double aerodynamics, double skillLevel,
+                            double startFuel, double maxFuel, String strategyName,
+                            double ersBoost, double startCharge) {
+        byte strategy = loadProfile(strategyName);
+        double consumption = Car.calculateFuelConsumption(enginePower);
+        for (int c = 0; c < COMPOUNDS.length; c++) {
+            fillStintTimes(firstStintTime[c], firstStintAccelerations[c], c, startFuel, maxFuel, startCharge,
+                    enginePower, ersBoost, aerodynamics, skillLevel, strategy, consumption);
+            for (int a = 0; a < ACCELERATION_STATES; a++) {
+                fillStintTimes(stintTime[c][a], stintAccelerations[c][a], c, maxFuel, maxFuel, chargeAfter(a),
+                        enginePower, ersBoost, aerodynamics, skillLevel, strategy, consumption);
+            }
+        }
+
+        boolean twoCompounds = requireCompoundChange && totalLaps >= 2;
+        for (int mask = 0; mask < MASKS; mask++) {
+            for (int a = 0; a < ACCELERATION_STATES; a++) {
+                best[totalLaps][mask][a] = isComplete(mask, twoCompounds) ? 0.0 : Double.POSITIVE_INFINITY;
+            }
+        }
+        for (int lap = totalLaps - 1; lap >= 0; lap--) {
+            // на старті стан прискорень не потрібен - перший відрізок має власний заряд
+            int states = lap == 0 ? 1 : ACCELERATION_STATES;
+            for (int mask = 0; mask < MASKS; mask++) {
+                if (lap == 0 && mask != 0) {
+                    continue; // на старті ще нічого не використано
+                }
+                for (int a = 0; a < states; a++) {
+                    double bestTime = Double.POSITIVE_INFINITY;
+                    for (int c = 0; c < COMPOUNDS.length; c++) {
+                        int used = mask | (1 << c);
+                        double[] times = lap == 0 ? firstStintTime[c] : stintTime[c][a];
+                        int[] accelerations = lap == 0 ? firstStintAccelerations[c] : stintAccelerations[c][a];
+                        for (int length = 1; lap + length <= totalLaps; length++) {
+                            int end = lap + length;
+                            double time = times[length] + (end < totalLaps ? pitStopLoss : 0.0)
+                                    + best[end][used][accelerations[length]];
+                            if (time < bestTime) {
+                                bestTime = time;
+                                nextCompound[lap][mask][a] = c;
+                                nextLength[lap][mask][a] = length;
+                            }
+                        }
+                    }
+                    best[lap][mask][a] = bestTime;
+                }
+            }
+        }
+
+        // Відновлення плану з виборів
+        List<Integer> stops = new ArrayList<>();
+        List<TireCompound> compounds = new ArrayList<>();
+        int lap = 0;
+        int mask = 0;
+        int a = 0;
+        while (lap < totalLaps) {
+            int c = nextCompound[lap][mask][a];
+            int length = nextLength[lap][mask][a];
+            compounds.add(COMPOUNDS[c]);
+            a = lap == 0 ? firstStintAccelerations[c][length] : stintAccelerations[c][a][length];
+            mask |= 1 << c;
+            lap += length;
+            if (lap < totalLaps) {
+                stops.add(lap);
+            }
+        }
+        int[] stopLaps = new int[stops.size()];
+        for (int i = 0; i < stopLaps.length; i++) {
+            stopLaps[i] = stops.get(i);
+        }
+        return new PitPlan(stopLaps, compounds.toArray(new TireCompound[0]), best[0][0][0]);
+    }
+
+    // Очікуваний час гонки за довільним планом для боліда без ERS
+    public double estimateRaceTime(PitPlan plan, double enginePower, double aerodynamics, double skillLevel,
+                                   double startFuel, double maxFuel, String strategyName) {
+        return estimateRaceTime(plan, enginePower, aerodynamics, skillLevel, startFuel, maxFuel, strategyName,
+                0.0, ErsModel.FULL_CHARGE);
+    }
+
+    // Очікуваний час гонки за довільним планом - та сама модель, коло за колом (заряд ERS - точно)
+    public double estimateRaceTime(PitPlan plan, double enginePower, double aerodynamics, double skillLevel,
+                                   double startFuel, double maxFuel, String strategyName,
+                                   double ersBoost, double startCharge) {
+        byte strategy = loadProfile(strategyName);
+        double consumption = Car.calculateFuelConsumption(enginePower);
+        int stint = 0;
+        int c = plan.getTireCompound(0).ordinal();
+        double durability = compoundDurability[c];
+        double temperature = TireConstants.AMBIENT_TEMPERATURE;
+        double fuel = startFuel;
+        double charge = startCharge;
+        double total = 0.0;
+        for (int lap = 1; lap <= totalLaps; lap++) {
+            total += LapTimeModel.calculate(ErsModel.lapPower(enginePower, ersBoost, charge), aerodynamics,
+                    skillLevel, Tire.effectiveGrip(compoundGrip[c], durability, temperature), EXPECTED_RANDOM_DRAW);
+            int attempts = attempts(strategy, fuel, maxFuel);
+            int accelerations = 0;
+            while (accelerations < attempts && fuel > 0) {
+                fuel = Math.max(0.0, fuel - consumption);
+                accelerations++;
+            }
+            temperature = Tire.nextTemperature(temperature, accelerations);
+            durability = Tire.nextDurability(durability, temperature, accelerations);
+            charge = ErsModel.nextCharge(charge, accelerations);
+            if (stint < plan.getStopCount() && plan.getStopLap(stint) == lap) {
+                total += pitStopLoss;
+                stint++;
+                c = plan.getTireCompound(stint).ordinal();
+                durability = compoundDurability[c];
+                temperature = TireConstants.AMBIENT_TEMPERATURE;
+                fuel = maxFuel;
+            }
+        }
+        return total;
+    }
+
+    // Префіксні суми часу відрізку на новому комплекті складу c і прискорення на кожному колі
+    private void fillStintTimes(double[] times, int[] lapAccelerations, int c, double fuel, double maxFuel,
+                                double charge, double enginePower, double ersBoost, double aerodynamics,
+                                double skillLevel, byte strategy, double consumption) {
+        double grip = compoundGrip[c];
+        double durability = compoundDurability[c];
+        double temperature = TireConstants.AMBIENT_TEMPERATURE;
+        times[0] = 0.0;
+        for (int length = 1; length <= totalLaps; length++) {
+            times[length] = times[length - 1] + LapTimeModel.calculate(
+                    ErsModel.lapPower(enginePower, ersBoost, charge), aerodynamics, skillLevel,
+                    Tire.effectiveGrip(grip, durability, temperature), EXPECTED_RANDOM_DRAW);
+            int attempts = attempts(strategy, fuel, maxFuel);
+            int accelerations = 0;
+            while (accelerations < attempts && fuel > 0) {
+                fuel = Math.max(0.0, fuel - consumption);
+                accelerations++;
+            }
+            lapAccelerations[length] = accelerations;
+            temperature = Tire.nextTemperature(temperature, accelerations);
+            durability = Tire.nextDurability(durability, temperature, accelerations);
+            charge = ErsModel.nextCharge(charge, accelerations);
+        }
+    }
+
+    // Заряд після кола з a прискореннями, коли батарея вже розряджена
+    private static double chargeAfter(int accelerations) {
+        return ErsModel.nextCharge(0.0, accelerations);
+    }
+
+    // Скільки прискорень пробує стратегія на колі - як GridSimulator.drive
+    // (кожне вдається лише поки є паливо)
+    static int attempts(byte strategy, double fuel, double maxFuel) {
+        switch (strategy) {
+            case GridSimulator.STRATEGY_AGGRESSIVE:
+                return 2;
+            case GridSimulator.STRATEGY_ECONOMICAL:
+                return fuel > maxFuel * GridSimulator.ECONOMICAL_FUEL_THRESHOLD ? 1 : 0;
+            default:
+                return 1;
+        }
+    }
+
+    static byte loadProfile(String strategyName) {
+        return GridSimulator.supportsStrategy(strategyName)
+                ? GridSimulator.strategyCode(strategyName) : GridSimulator.STRATEGY_BALANCED;
+    }
+
+    private static boolean isComplete(int mask, boolean twoCompounds) {
+        return twoCompounds ? Integer.bitCount(mask) >= 2 : mask != 0;
+    }
+
+    // Плани для всіх учасників шаблону
+    public void applyTo(RaceTemplate template) {
+        if (template.getTotalLaps() != totalLaps) {
+            throw new IllegalArgumentException("Optimizer is set up for " + totalLaps
+                    + " laps, template has " + template.getTotalLaps());
+        }
+        for (int slot = 0; slot < template.getParticipantCount(); slot++) {
+            template.setPitPlan(slot, optimize(template.getCar(slot), template.getDriver(slot)));
+        }
+    }
+
+    public int getTotalLaps() {
+        return totalLaps;
+    }
+
+    public double getPitStopLoss() {
+        return pitStopLoss;
+    }
+}
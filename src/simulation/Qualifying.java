@@ -0,0 +1,184 @@
+package simulation;
+
+import models.Car;
+import models.Race;
+import models.team.Driver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Кваліфікація на вибування (Q1, Q2, Q3...) для учасників шаблону
+ *
+ * Кожен виїзд - окрема гонка Race з одним болідом: ті самі формули кола,
+ * стратегії, паливо та шини, що й у головній гонці. Найкраще коло виїзду
+ * визначає місце в сесії. Виїзди однієї сесії незалежні, тому виконуються
+ * паралельно; болід кожного виїзду - свіжа копія прототипу шаблону.
+ *
+ * Після кожної сесії, крім останньої, далі проходять найкращі advancing[i],
+ * решта займає місця в кінці решітки в порядку часу цієї сесії. Виїзд слота
+ * в сесії s отримує seed raceSeed(raceSeed(seed, s), slot), тому результат
+ * не залежить від кількості потоків.
+ */
+public class Qualifying {
+    public static final int DEFAULT_SESSION_LAPS = 3;
+
+    private RaceTemplate template;
+    private int sessionLaps;
+    private int[] advancing; // null - за розміром поля (як 20 -> 15 -> 10)
+
+    public Qualifying(RaceTemplate template) {
+        if (template == null || template.getParticipantCount() == 0) {
+            throw new IllegalArgumentException("Qualifying needs a race template with participants");
+        }
+        this.template = template;
+        this.sessionLaps = DEFAULT_SESSION_LAPS;
+    }
+
+    // Кількість кіл кожного виїзду
+    public Qualifying setSessionLaps(int sessionLaps) {
+        if (sessionLaps < 1) {
+            throw new IllegalArgumentException("Qualifying session needs at least one lap");
+        }
+        this.sessionLaps = sessionLaps;
+        return this;
+    }
+
+    // Скільки учасників проходить у наступну сесію після кожної, крім останньої
+    public Qualifying setKnockout(int... advancing) {
+        int previous = template.getParticipantCount();
+        for (int count : advancing) {
+            if (count < 1 || count >= previous) {
+                throw new IllegalArgumentException("Each knockout must keep between 1 and " + (previous - 1)
+                        + " participants");
+            }
+            previous = count;
+        }
+        this.advancing = advancing.clone();
+        return this;
+    }
+
+    // Кількість сесій для поточного поля
+    public int getSessionCount() {
+        return knockout().length + 1;
+    }
+
+    public QualifyingResult run(long seed) {
+        return run(seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public QualifyingResult run(long seed, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        int size = template.getParticipantCount();
+        int[] cuts = knockout();
+        int sessions = cuts.length + 1;
+        double[][] bestLap = new double[sessions][size];
+        int[] lastSession = new int[size];
+
+        int[] grid = RaceBatchRunner.withPool(Math.min(parallelism, size),
+                "Qualifying interrupted", "Qualifying failed", pool -> {
+            int[] order = new int[size];
+            // Учасники поточної сесії; вибулі заповнюють решітку з кінця
+            int[] running = new int[size];
+            for (int slot = 0; slot < size; slot++) {
+                running[slot] = slot;
+            }
+            int gridEnd = size;
+            for (int session = 0; session < sessions; session++) {
+                int current = session;
+                long sessionSeed = RaceBatchRunner.raceSeed(seed, session);
+                int[] entrants = running;
+                int index = 0;
+                for (double[] laps : RaceBatchRunner.runChunks(pool, Math.min(parallelism, entrants.length), 0,
+                        entrants.length, (first, count) -> runOuts(current, entrants, first, count, sessionSeed))) {
+                    for (double lap : laps) {
+                        bestLap[session][entrants[index]] = lap;
+                        lastSession[entrants[index]] = session;
+                        index++;
+                    }
+                }
+
+                int[] ranked = rank(entrants, bestLap[session]);
+                int kept = session < cuts.length ? cuts[session] : 0;
+                for (int i = ranked.length - 1; i >= kept; i--) {
+                    order[--gridEnd] = ranked[i];
+                }
+                running = Arrays.copyOf(ranked, kept);
+            }
+            return order;
+        });
+
+        String[] names = new String[size];
+        for (int slot = 0; slot < size; slot++) {
+            names[slot] = template.getDriverName(slot);
+        }
+        return new QualifyingResult(names, grid, lastSession, bestLap);
+    }
+
+    // Виїзди учасників entrants[first..first + count) сесії session - найкращі кола
+    private double[] runOuts(int session, int[] entrants, int first, int count, long sessionSeed) {
+        double[] laps = new double[count];
+        for (int i = 0; i < count; i++) {
+            int slot = entrants[first + i];
+            laps[i] = runOut(session, slot, RaceBatchRunner.raceSeed(sessionSeed, slot));
+        }
+        return laps;
+    }
+
+    // Виїзд одного боліда: гонка з одним учасником на копіях прототипів
+    private double runOut(int session, int slot, long seed) {
+        Race run = new Race(template.getRaceName() + " Q" + (session + 1), sessionLaps, seed);
+        run.setQuiet(true);
+        run.addParticipant(new Driver(template.getDriver(slot)), new Car(template.getCar(slot)));
+        run.startRace();
+        return run.getResults().get(0).getLapTime();
+    }
+
+    // Слоти сесії за найкращим колом (без часу - в кінець, при рівності - менший слот)
+    private static int[] rank(int[] slots, double[] bestLap) {
+        int[] ranked = slots.clone();
+        Arrays.sort(ranked);
+        for (int i = 1; i < ranked.length; i++) {
+            int slot = ranked[i];
+            int j = i - 1;
+            while (j >= 0 && isFaster(bestLap[slot], bestLap[ranked[j]])) {
+                ranked[j + 1] = ranked[j];
+                j--;
+            }
+            ranked[j + 1] = slot;
+        }
+        return ranked;
+    }
+
+    private static boolean isFaster(double a, double b) {
+        if (a == 0) {
+            return false;
+        }
+        return b == 0 || a < b;
+    }
+
+    // Формат за замовчуванням: після Q1 вибуває чверть поля, після Q2 лишається половина
+    private int[] knockout() {
+        if (advancing != null) {
+            return advancing;
+        }
+        int size = template.getParticipantCount();
+        int afterFirst = size - size / 4;
+        int afterSecond = size / 2;
+        List<Integer> cuts = new ArrayList<>();
+        int previous = size;
+        for (int count : new int[] {afterFirst, afterSecond}) {
+            if (count >= 1 && count < previous) {
+                cuts.add(count);
+                previous = count;
+            }
+        }
+        int[] result = new int[cuts.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = cuts.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+package simulation;
+
+/**
+ * Підсумок кваліфікації: стартова решітка і найкращі кола кожної сесії
+ *
+ * Решітка - слоти шаблону від поула; її можна передати напряму в
+ * RaceTemplate.setStartingGrid() або Race.setStartingGrid().
+ */
+public class QualifyingResult {
+    private String[] driverNames;
+    private int[] grid; // слоти від поула
+    private int[] gridPosition; // [slot] - 1..size
+    private int[] lastSession; // [slot] - індекс останньої сесії, у якій брав участь
+    private double[][] bestLap; // [session][slot], 0 - не брав участі або без часу
+
+    QualifyingResult(String[] driverNames, int[] grid, int[] lastSession, double[][] bestLap) {
+        this.driverNames = driverNames;
+        this.grid = grid;
+        this.lastSession = lastSession;
+        this.bestLap = bestLap;
+        this.gridPosition = new int[grid.length];
+        for (int i = 0; i < grid.length; i++) {
+            gridPosition[grid[i]] = i + 1;
+        }
+    }
+
+    // Слоти від поула (копія)
+    public int[] getGrid() {
+        return grid.clone();
+    }
+
+    public int getGridPosition(int slot) {
+        return gridPosition[slot];
+    }
+
+    // Слот на стартовій позиції (1 - поул)
+    public int getSlotAtPosition(int position) {
+        return grid[position - 1];
+    }
+
+    public int getPoleSlot() {
+        return grid[0];
+    }
+
+    // Номер останньої сесії слота, починаючи з 1 (Q1, Q2, Q3...)
+    public int getSessionReached(int slot) {
+        return lastSession[slot] + 1;
+    }
+
+    public double getBestLap(int session, int slot) {
+        return bestLap[session - 1][slot];
+    }
+
+    public int getSessionCount() {
+        return bestLap.length;
+    }
+
+    public int getSize() {
+        return grid.length;
+    }
+
+    public String getDriverName(int slot) {
+        return driverNames[slot];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("=== Qualifying ===\n");
+        for (int i = 0; i < grid.length; i++) {
+            int slot = grid[i];
+            int session = lastSession[slot];
+            report.append(String.format("P%d %s - Q%d: %.3f s%n", i + 1, driverNames[slot],
+                    session + 1, bestLap[session][slot]));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package simulation;
+
+import models.Race;
+import models.RaceResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Паралельний запуск серії незалежних гонок за шаблоном
+ *
+ * Гонки діляться на рівні порції - по одній на потік. Кожен потік
+ * створює власні копії учасників через RaceTemplate та веде локальну
+ * BatchStatistics, тому потоки не конкурують за спільні дані,
+ * а результати об'єднуються один раз у кінці.
+ *
+ * При запуску з seed гонка з індексом i завжди отримує seed raceSeed(seed, i),
+ * незалежно від кількості потоків - будь-яку гонку серії можна відтворити
+ * окремо через RaceTemplate.createRace(raceSeed(seed, i)).
+ *
+ * Гонки серії працюють у тихому режимі, щоб потоки не чекали на System.out.
+ */
+public class RaceBatchRunner {
+    private RaceTemplate template;
+    private int parallelism;
+
+    public RaceBatchRunner(RaceTemplate template) {
+        this(template, Runtime.getRuntime().availableProcessors());
+    }
+
+    public RaceBatchRunner(RaceTemplate template, int parallelism) {
+        if (template == null) {
+            throw new IllegalArgumentException("Race template cannot be null");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.template = template;
+        this.parallelism = parallelism;
+    }
+
+    // Запускає raceCount гонок та повертає зведену статистику
+    public BatchStatistics run(int raceCount) {
+        return run(raceCount, 0L, false);
+    }
+
+    // Відтворюваний запуск: результат не залежить від кількості потоків
+    public BatchStatistics run(int raceCount, long seed) {
+        return run(raceCount, seed, true);
+    }
+
+    // Seed гонки з індексом raceIndex у серії з базовим seed
+    // (перемішування SplitMix64, щоб сусідні гонки не мали зсунутих послідовностей)
+    public static long raceSeed(long baseSeed, long raceIndex) {
+        long z = baseSeed + (raceIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private BatchStatistics run(int raceCount, long seed, boolean seeded) {
+        if (raceCount < 0) {
+            throw new IllegalArgumentException("Race count cannot be negative");
+        }
+
+        BatchStatistics total = newStatistics();
+        for (BatchStatistics local : runChunks(raceCount, parallelism, "Batch run interrupted", "Batch race failed",
+                (from, races) -> runChunk(from, races, seed, seeded))) {
+            total.merge(local);
+        }
+        return total;
+    }
+
+    // Порція гонок одного потоку
+    private BatchStatistics runChunk(int firstRace, int races, long seed, boolean seeded) {
+        BatchStatistics local = newStatistics();
+        for (int i = firstRace; i < firstRace + races; i++) {
+            Race race = seeded ? template.createRace(raceSeed(seed, i)) : template.createRace();
+            race.setQuiet(true);
+            // Ідентифікатор учасника збігається зі слотом шаблону
+            List<RaceResult> slotResults = race.getResultsByParticipant();
+            race.startRace();
+            local.record(slotResults);
+        }
+        return local;
+    }
+
+    // Порція роботи одного потоку: одиниці з індексами [first, first + count)
+    interface Chunk<T> {
+        T run(int first, int count);
+    }
+
+    // Робота, що подає порції в пул
+    interface PoolWork<T> {
+        T run(ExecutorService pool) throws InterruptedException, ExecutionException;
+    }
+
+    // count одиниць на min(parallelism, count) потоках; результати порцій - у порядку індексів
+    static <T> List<T> runChunks(int count, int parallelism, String interrupted, String failed, Chunk<T> chunk) {
+        int workers = Math.min(parallelism, count);
+        if (workers == 0) {
+            return new ArrayList<>();
+        }
+        return withPool(workers, interrupted, failed, pool -> runChunks(pool, workers, 0, count, chunk));
+    }
+
+    // Ділить count одиниць, починаючи з first, на workers рівних порцій у готовому пулі
+    static <T> List<T> runChunks(ExecutorService pool, int workers, int first, int count, Chunk<T> chunk)
+            throws InterruptedException, ExecutionException {
+        List<Future<T>> futures = new ArrayList<>(workers);
+        int size = count / workers;
+        int remainder = count % workers;
+        int from = first;
+        for (int w = 0; w < workers; w++) {
+            int start = from;
+            int units = size + (w < remainder ? 1 : 0);
+            futures.add(pool.submit(() -> chunk.run(start, units)));
+            from += units;
+        }
+        List<T> results = new ArrayList<>(workers);
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    // Пул на threads потоків на час роботи work; переривання стає IllegalStateException
+    // з текстом interrupted, збій потоку - з текстом failed і причиною
+    static <T> T withPool(int threads, String interrupted, String failed, PoolWork<T> work) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            return work.run(pool);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("[RACE_ERROR] " + interrupted, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("[RACE_ERROR] " + failed + ": " + e.getCause().getMessage(),
+                    e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private BatchStatistics newStatistics() {
+        String[] names = new String[template.getParticipantCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = template.getDriverName(i);
+        }
+        return new BatchStatistics(names);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+}
@@ -0,0 +1,176 @@
+package simulation;
+
+import models.Car;
+import models.PitPlan;
+import models.Race;
+import models.ScoringRules;
+import models.team.Driver;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Шаблон гонки - опис учасників, кількості кіл та стратегій
+ *
+ * Зберігає власні копії гонщиків і болідів, тому зміни вихідних об'єктів
+ * після додавання не впливають на шаблон. Кожен виклик createRace()
+ * створює нову гонку з ізольованими копіями, тож гонки можна запускати
+ * паралельно в різних потоках.
+ */
+public class RaceTemplate {
+    private String raceName;
+    private int totalLaps;
+    private List<Driver> drivers;
+    private List<Car> cars;
+    private List<PitPlan> pitPlans;
+    private ScoringRules scoringRules;
+    private int[] startingGrid; // слоти від поула (null - порядок додавання)
+
+    public RaceTemplate(String raceName, int totalLaps) {
+        this.raceName = raceName;
+        this.totalLaps = totalLaps;
+        this.drivers = new ArrayList<>();
+        this.cars = new ArrayList<>();
+        this.pitPlans = new ArrayList<>();
+        this.scoringRules = ScoringRules.DEFAULT;
+    }
+
+    // Додати учасника (зберігається знімок гонщика та боліда)
+    public RaceTemplate addParticipant(Driver driver, Car car) {
+        if (driver != null && car != null) {
+            drivers.add(new Driver(driver));
+            cars.add(new Car(car));
+            pitPlans.add(null);
+        }
+        return this;
+    }
+
+    // План піт-стопів учасника для всіх гонок шаблону (план незмінний - не копіюється)
+    public RaceTemplate setPitPlan(int slot, PitPlan plan) {
+        pitPlans.set(slot, plan);
+        return this;
+    }
+
+    public PitPlan getPitPlan(int slot) {
+        return pitPlans.get(slot);
+    }
+
+    // Правила балів для гонок шаблону (правила незмінні - не копіюються)
+    public RaceTemplate setScoringRules(ScoringRules scoringRules) {
+        if (scoringRules == null) {
+            throw new IllegalArgumentException("Scoring rules cannot be null");
+        }
+        this.scoringRules = scoringRules;
+        return this;
+    }
+
+    public ScoringRules getScoringRules() {
+        return scoringRules;
+    }
+
+    // Стартова решітка для гонок шаблону: слоти від поула (null - порядок додавання)
+    public RaceTemplate setStartingGrid(int[] slots) {
+        if (slots != null && slots.length != drivers.size()) {
+            throw new IllegalArgumentException("Starting grid must list all " + drivers.size() + " participants");
+        }
+        this.startingGrid = slots != null ? slots.clone() : null;
+        return this;
+    }
+
+    public int[] getStartingGrid() {
+        return startingGrid != null ? startingGrid.clone() : null;
+    }
+
+    // Копія на ту саму дистанцію: прототипи не змінюються, тому спільні;
+    // плани піт-стопів, правила та решітка копіюються
+    public RaceTemplate copy(String raceName) {
+        RaceTemplate copy = session(raceName, totalLaps);
+        copy.pitPlans.clear();
+        copy.pitPlans.addAll(pitPlans);
+        return copy;
+    }
+
+    // Інша сесія з тими самими учасниками (спринт, кваліфікаційний заїзд).
+    // Плани піт-стопів розраховані на дистанцію гонки, тому не переносяться
+    public RaceTemplate session(String raceName, int totalLaps) {
+        RaceTemplate copy = new RaceTemplate(raceName, totalLaps);
+        copy.drivers.addAll(drivers);
+        copy.cars.addAll(cars);
+        for (int i = 0; i < drivers.size(); i++) {
+            copy.pitPlans.add(null);
+        }
+        copy.scoringRules = scoringRules;
+        copy.startingGrid = startingGrid;
+        return copy;
+    }
+
+    // Створює нову гонку з незалежними копіями учасників
+    // Порядок результатів до старту - стартова решітка (за замовчуванням слоти)
+    public Race createRace() {
+        checkParticipants();
+        return fill(new Race(raceName, totalLaps));
+    }
+
+    // Відтворювана гонка: однаковий seed дає ідентичні результати
+    public Race createRace(long seed) {
+        checkParticipants();
+        return fill(new Race(raceName, totalLaps, seed));
+    }
+
+    private void checkParticipants() {
+        if (drivers.isEmpty()) {
+            throw new IllegalStateException("[RACE_ERROR] Race template has no participants!");
+        }
+    }
+
+    private Race fill(Race race) {
+        race.setScoringRules(scoringRules);
+        for (int i = 0; i < drivers.size(); i++) {
+            int participantId = race.addParticipant(new Driver(drivers.get(i)), new Car(cars.get(i)));
+            race.setPitPlan(participantId, pitPlans.get(i));
+        }
+        if (startingGrid != null) {
+            race.setStartingGrid(startingGrid); // ідентифікатори учасників збігаються зі слотами
+        }
+        return race;
+    }
+
+    public String getRaceName() {
+        return raceName;
+    }
+
+    public int getTotalLaps() {
+        return totalLaps;
+    }
+
+    public int getParticipantCount() {
+        return drivers.size();
+    }
+
+    public String getDriverName(int slot) {
+        return drivers.get(slot).getName();
+    }
+
+    // Команда учасника (null, якщо не вказана)
+    public String getTeamName(int slot) {
+        return drivers.get(slot).getTeamName();
+    }
+
+    // Чи всі учасники можуть їхати в GridSimulator
+    boolean isGridCompatible() {
+        for (Driver driver : drivers) {
+            if (!GridSimulator.supportsStrategy(driver.getStrategy().getStrategyName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Прототипи учасників для інших симуляторів пакету (не змінювати)
+    Driver getDriver(int slot) {
+        return drivers.get(slot);
+    }
+
+    Car getCar(int slot) {
+        return cars.get(slot);
+    }
+}
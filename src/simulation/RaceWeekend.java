@@ -0,0 +1,134 @@
+package simulation;
+
+import models.Race;
+import models.RaceResult;
+import models.ScoringRules;
+import java.util.List;
+
+/**
+ * Гоночний вікенд: кваліфікація, необов'язковий спринт і гонка
+ *
+ * Усі сесії використовують учасників одного RaceTemplate і той самий рушій
+ * Race. Кваліфікація визначає стартову решітку спринту; фінішний протокол
+ * спринту - решітку гонки (формат 2021 року). Без спринту гонка стартує
+ * за результатами кваліфікації; місце на решітці дає стартове відставання
+ * RaceConstants.GRID_SLOT_TIME_GAP у сумарному часі. Плани піт-стопів
+ * шаблону діють лише в гонці, спринт їде без зупинок. Бали вікенду -
+ * сума балів спринту (ScoringRules.SPRINT_2022 за замовчуванням) і гонки
+ * за слотом.
+ *
+ * Сесії вікенду з seed s отримують seed raceSeed(s, 0), raceSeed(s, 1)
+ * та raceSeed(s, 2) - кваліфікація, спринт і гонка відповідно.
+ */
+public class RaceWeekend {
+    private RaceTemplate template;
+    private Qualifying qualifying;
+    private int sprintLaps; // 0 - без спринту
+    private ScoringRules sprintRules;
+
+    private QualifyingResult qualifyingResult;
+    private Race sprint;
+    private Race race;
+
+    public RaceWeekend(RaceTemplate template) {
+        this.template = template;
+        this.qualifying = new Qualifying(template);
+        this.sprintLaps = 0;
+        this.sprintRules = ScoringRules.SPRINT_2022;
+    }
+
+    // Спринт на sprintLaps кіл (0 - вікенд без спринту)
+    public RaceWeekend setSprint(int sprintLaps) {
+        if (sprintLaps < 0) {
+            throw new IllegalArgumentException("Sprint laps cannot be negative");
+        }
+        this.sprintLaps = sprintLaps;
+        return this;
+    }
+
+    public RaceWeekend setSprintRules(ScoringRules sprintRules) {
+        if (sprintRules == null) {
+            throw new IllegalArgumentException("Scoring rules cannot be null");
+        }
+        this.sprintRules = sprintRules;
+        return this;
+    }
+
+    // Налаштування кваліфікації (кола виїздів, формат вибування)
+    public Qualifying getQualifying() {
+        return qualifying;
+    }
+
+    public void run(long seed) {
+        run(seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    // parallelism - потоки для виїздів кваліфікації; гонки йдуть послідовно
+    public void run(long seed, int parallelism) {
+        qualifyingResult = qualifying.run(RaceBatchRunner.raceSeed(seed, 0), parallelism);
+        int[] raceGrid = qualifyingResult.getGrid();
+
+        sprint = null;
+        if (sprintLaps > 0) {
+            RaceTemplate sprintTemplate = template.session(template.getRaceName() + " Sprint", sprintLaps);
+            sprintTemplate.setScoringRules(sprintRules);
+            sprintTemplate.setStartingGrid(raceGrid);
+            sprint = sprintTemplate.createRace(RaceBatchRunner.raceSeed(seed, 1));
+            sprint.setQuiet(true);
+            sprint.startRace();
+            raceGrid = finishingOrder(sprint);
+        }
+
+        RaceTemplate raceTemplate = template.copy(template.getRaceName());
+        raceTemplate.setStartingGrid(raceGrid);
+        race = raceTemplate.createRace(RaceBatchRunner.raceSeed(seed, 2));
+        race.setQuiet(true);
+        race.startRace();
+    }
+
+    // Ідентифікатори учасників (вони ж слоти шаблону) у фінішному порядку
+    private static int[] finishingOrder(Race finished) {
+        List<RaceResult> results = finished.getResults();
+        int[] order = new int[results.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = results.get(i).getParticipantId();
+        }
+        return order;
+    }
+
+    // Бали слота за спринт і гонку
+    public int getWeekendPoints(int slot) {
+        checkRun();
+        int points = race.getResultsByParticipant().get(slot).getPoints();
+        if (sprint != null) {
+            points += sprint.getResultsByParticipant().get(slot).getPoints();
+        }
+        return points;
+    }
+
+    public QualifyingResult getQualifyingResult() {
+        checkRun();
+        return qualifyingResult;
+    }
+
+    // Спринт вікенду або null, якщо його не було
+    public Race getSprint() {
+        checkRun();
+        return sprint;
+    }
+
+    public Race getRace() {
+        checkRun();
+        return race;
+    }
+
+    public boolean hasSprint() {
+        return sprintLaps > 0;
+    }
+
+    private void checkRun() {
+        if (race == null) {
+            throw new IllegalStateException("[RACE_ERROR] Race weekend has not been run yet");
+        }
+    }
+}
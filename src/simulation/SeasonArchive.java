@@ -0,0 +1,219 @@
+package simulation;
+
+import models.RaceResult;
+import models.ScoringRules;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Архів симульованих сезонів для перерахунку балів "а що, якби"
+ *
+ * Для кожного етапу зберігаються лише фінішні позиції слотів (short) і
+ * слот з найшвидшим колом - цього досить, щоб нарахувати бали за будь-якими
+ * ScoringRules без повторної симуляції. Найшвидший слот не залежить від
+ * правил (менший час кола, при рівності - вища позиція, як у ScoringRules),
+ * тому визначається один раз під час запису.
+ *
+ * rescore() проходить архів один раз для всіх наборів правил: сезони
+ * діляться між потоками, кожен потік веде власні таблиці та статистику
+ * для кожного набору, а в кінці вони об'єднуються через merge().
+ * Різні сезони записуються в різні ділянки масивів, тому recordRound()
+ * можна викликати паралельно для різних сезонів.
+ */
+public class SeasonArchive {
+    private String[] driverNames;
+    private String[] driverTeams;
+    private int size;
+    private int roundCount;
+    private int seasonCount;
+    private short[] positions; // [(season * roundCount + round) * size + slot]
+    private int[] fastestSlots; // [season * roundCount + round], -1 - кіл немає
+
+    public SeasonArchive(String[] driverNames, String[] driverTeams, int roundCount, int seasonCount) {
+        if (driverNames.length != driverTeams.length) {
+            throw new IllegalArgumentException("Each driver must have a team entry (null for none)");
+        }
+        if (driverNames.length == 0 || driverNames.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Archive supports 1 to " + Short.MAX_VALUE + " drivers");
+        }
+        if (roundCount < 1 || seasonCount < 0) {
+            throw new IllegalArgumentException("Archive needs at least one round and a non-negative season count");
+        }
+        long cells = (long) seasonCount * roundCount * driverNames.length;
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Archive is too large: " + cells + " results");
+        }
+        this.driverNames = driverNames.clone();
+        this.driverTeams = driverTeams.clone();
+        this.size = driverNames.length;
+        this.roundCount = roundCount;
+        this.seasonCount = seasonCount;
+        this.positions = new short[(int) cells];
+        this.fastestSlots = new int[seasonCount * roundCount];
+    }
+
+    // Записати етап з масивів сітки: position[slot] - 1..size, bestLap[slot] - 0, якщо кола немає
+    public void recordRound(int season, int round, int[] position, double[] bestLap) {
+        int base = checkRound(season, round) * size;
+        int fastest = -1;
+        for (int slot = 0; slot < size; slot++) {
+            if (position[slot] < 1 || position[slot] > size) {
+                throw new IllegalArgumentException("Position must be between 1 and " + size);
+            }
+            positions[base + slot] = (short) position[slot];
+            if (bestLap[slot] > 0 && (fastest < 0 || bestLap[slot] < bestLap[fastest]
+                    || (bestLap[slot] == bestLap[fastest] && position[slot] < position[fastest]))) {
+                fastest = slot;
+            }
+        }
+        fastestSlots[season * roundCount + round] = fastest;
+    }
+
+    // Записати етап зі збережених результатів (елемент i - результат слота i)
+    public void recordRound(int season, int round, List<RaceResult> slotResults) {
+        if (slotResults.size() != size) {
+            throw new IllegalArgumentException("Expected " + size + " results, got " + slotResults.size());
+        }
+        int[] position = new int[size];
+        double[] bestLap = new double[size];
+        for (int slot = 0; slot < size; slot++) {
+            position[slot] = slotResults.get(slot).getPosition();
+            bestLap[slot] = slotResults.get(slot).getLapTime();
+        }
+        recordRound(season, round, position, bestLap);
+    }
+
+    // Таблиця одного сезону за правилами rules (таблиця перевикористовується)
+    public void rescoreSeason(int season, ScoringRules rules, ChampionshipStandings standings) {
+        checkRound(season, 0);
+        standings.reset();
+        for (int round = 0; round < roundCount; round++) {
+            int base = (season * roundCount + round) * size;
+            int fastest = fastestSlots[season * roundCount + round];
+            for (int slot = 0; slot < size; slot++) {
+                int position = positions[base + slot];
+                standings.addResult(slot, position, rules.getPoints(position, slot == fastest));
+            }
+            standings.completeRound();
+        }
+    }
+
+    // Підсумки всіх сезонів за кожним набором правил (у тому ж порядку)
+    public List<SeasonStatistics> rescore(List<ScoringRules> ruleSets) {
+        return rescore(ruleSets, Runtime.getRuntime().availableProcessors());
+    }
+
+    public List<SeasonStatistics> rescore(List<ScoringRules> ruleSets, int parallelism) {
+        if (ruleSets == null || ruleSets.contains(null)) {
+            throw new IllegalArgumentException("Scoring rules cannot be null");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+
+        List<SeasonStatistics> totals = newStatistics(ruleSets.size());
+        if (ruleSets.isEmpty()) {
+            return totals;
+        }
+        for (List<SeasonStatistics> local : RaceBatchRunner.runChunks(seasonCount, parallelism,
+                "Season rescoring interrupted", "Season rescoring failed",
+                (from, seasons) -> rescoreChunk(from, seasons, ruleSets))) {
+            for (int r = 0; r < totals.size(); r++) {
+                totals.get(r).merge(local.get(r));
+            }
+        }
+        return totals;
+    }
+
+    // Порція сезонів одного потоку: кожен сезон читається один раз для всіх правил
+    private List<SeasonStatistics> rescoreChunk(int firstSeason, int seasons, List<ScoringRules> ruleSets) {
+        int ruleCount = ruleSets.size();
+        List<SeasonStatistics> local = newStatistics(ruleCount);
+        ChampionshipStandings[] standings = new ChampionshipStandings[ruleCount];
+        // Бали за позицію без бонусу і з бонусом: [rule][position]
+        int[][] points = new int[ruleCount][size + 1];
+        int[][] fastestPoints = new int[ruleCount][size + 1];
+        for (int r = 0; r < ruleCount; r++) {
+            standings[r] = new ChampionshipStandings(driverNames, driverTeams);
+            ScoringRules rules = ruleSets.get(r);
+            for (int position = 1; position <= size; position++) {
+                points[r][position] = rules.getPoints(position, false);
+                fastestPoints[r][position] = rules.getPoints(position, true);
+            }
+        }
+
+        for (int season = firstSeason; season < firstSeason + seasons; season++) {
+            for (int r = 0; r < ruleCount; r++) {
+                standings[r].reset();
+            }
+            for (int round = 0; round < roundCount; round++) {
+                int base = (season * roundCount + round) * size;
+                int fastest = fastestSlots[season * roundCount + round];
+                for (int slot = 0; slot < size; slot++) {
+                    int position = positions[base + slot];
+                    for (int r = 0; r < ruleCount; r++) {
+                        int[] table = slot == fastest ? fastestPoints[r] : points[r];
+                        standings[r].addResult(slot, position, table[position]);
+                    }
+                }
+                for (int r = 0; r < ruleCount; r++) {
+                    standings[r].completeRound();
+                }
+            }
+            for (int r = 0; r < ruleCount; r++) {
+                local.get(r).record(standings[r]);
+            }
+        }
+        return local;
+    }
+
+    // Порожня таблиця для учасників архіву
+    public ChampionshipStandings newStandings() {
+        return new ChampionshipStandings(driverNames, driverTeams);
+    }
+
+    private List<SeasonStatistics> newStatistics(int count) {
+        ChampionshipStandings standings = newStandings();
+        String[] teams = new String[standings.getTeamCount()];
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = standings.getTeamName(i);
+        }
+        List<SeasonStatistics> statistics = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            statistics.add(new SeasonStatistics(driverNames, teams));
+        }
+        return statistics;
+    }
+
+    private int checkRound(int season, int round) {
+        if (season < 0 || season >= seasonCount || round < 0 || round >= roundCount) {
+            throw new IllegalArgumentException("No round " + round + " in season " + season + " of the archive");
+        }
+        return season * roundCount + round;
+    }
+
+    public int getPosition(int season, int round, int slot) {
+        return positions[checkRound(season, round) * size + slot];
+    }
+
+    // Слот з найшвидшим колом етапу або -1
+    public int getFastestSlot(int season, int round) {
+        return fastestSlots[checkRound(season, round)];
+    }
+
+    public int getSeasonCount() {
+        return seasonCount;
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    public int getDriverCount() {
+        return size;
+    }
+
+    public String getDriverName(int slot) {
+        return driverNames[slot];
+    }
+}
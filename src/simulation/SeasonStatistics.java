@@ -0,0 +1,108 @@
+package simulation;
+
+/**
+ * Зведені результати багатьох симульованих сезонів
+ *
+ * Як і BatchStatistics, кожен потік веде власний екземпляр,
+ * а в кінці вони об'єднуються через merge().
+ */
+public class SeasonStatistics {
+    private String[] driverNames;
+    private String[] teamNames;
+    private long seasonCount;
+    private long[] titles;
+    private long[] pointsSum;
+    private long[] constructorTitles;
+
+    public SeasonStatistics(String[] driverNames, String[] teamNames) {
+        this.driverNames = driverNames.clone();
+        this.teamNames = teamNames.clone();
+        this.seasonCount = 0;
+        this.titles = new long[driverNames.length];
+        this.pointsSum = new long[driverNames.length];
+        this.constructorTitles = new long[teamNames.length];
+    }
+
+    // Записати підсумкову таблицю одного сезону
+    public void record(ChampionshipStandings standings) {
+        titles[standings.getLeader()]++;
+        for (int slot = 0; slot < driverNames.length; slot++) {
+            pointsSum[slot] += standings.getDriverPoints(slot);
+        }
+        int team = standings.getLeadingTeam();
+        if (team >= 0) {
+            constructorTitles[team]++;
+        }
+        seasonCount++;
+    }
+
+    public void merge(SeasonStatistics other) {
+        if (other.driverNames.length != driverNames.length) {
+            throw new IllegalArgumentException("Cannot merge statistics of different grids");
+        }
+        seasonCount += other.seasonCount;
+        for (int i = 0; i < driverNames.length; i++) {
+            titles[i] += other.titles[i];
+            pointsSum[i] += other.pointsSum[i];
+        }
+        for (int i = 0; i < teamNames.length; i++) {
+            constructorTitles[i] += other.constructorTitles[i];
+        }
+    }
+
+    public long getSeasonCount() {
+        return seasonCount;
+    }
+
+    public int getDriverCount() {
+        return driverNames.length;
+    }
+
+    public int getTeamCount() {
+        return teamNames.length;
+    }
+
+    public String getDriverName(int slot) {
+        return driverNames[slot];
+    }
+
+    public String getTeamName(int team) {
+        return teamNames[team];
+    }
+
+    public long getTitles(int slot) {
+        return titles[slot];
+    }
+
+    public long getConstructorTitles(int team) {
+        return constructorTitles[team];
+    }
+
+    // Частка сезонів, у яких слот став чемпіоном
+    public double getTitleProbability(int slot) {
+        return seasonCount > 0 ? (double) titles[slot] / seasonCount : 0.0;
+    }
+
+    public double getConstructorTitleProbability(int team) {
+        return seasonCount > 0 ? (double) constructorTitles[team] / seasonCount : 0.0;
+    }
+
+    public double getAveragePoints(int slot) {
+        return seasonCount > 0 ? (double) pointsSum[slot] / seasonCount : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append("=== Title Odds (").append(seasonCount).append(" seasons) ===\n");
+        for (int i = 0; i < driverNames.length; i++) {
+            report.append(String.format("%s - Title: %.1f%%, Avg pts: %.1f%n",
+                    driverNames[i], getTitleProbability(i) * 100, getAveragePoints(i)));
+        }
+        for (int i = 0; i < teamNames.length; i++) {
+            report.append(String.format("%s - Constructors' title: %.1f%%%n",
+                    teamNames[i], getConstructorTitleProbability(i) * 100));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,368 @@
+package simulation;
+
+import models.Car;
+import models.LapTimeModel;
+import models.PitPlan;
+import models.Tire;
+import models.TireCompound;
+import models.TireConstants;
+import models.team.Driver;
+import utils.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пошук налаштувань боліда (потужність, аеродинаміка, бак, склад шин)
+ *
+ * Кандидати - усі комбінації рівнів у межах, які допускає Car (як у
+ * CarBuilder, але перебором). Кожен кандидат оцінюється серією сольних
+ * гонок GridSimulator з однаковими seed для всіх кандидатів, тому
+ * порівняння чесне і результат не залежить від кількості потоків.
+ * Результат - фронт Парето: налаштування, які не можна покращити за
+ * темпом без більшої витрати палива і навпаки.
+ *
+ * Перебір ділиться рекурсивно між потоками ForkJoinPool. Перед симуляцією
+ * кандидат проходить дешеву оцінку знизу: та сама траєкторія палива й шин
+ * (вона не залежить від випадкових чисел) і LapTimeModel із середнім
+ * випадковим числом кожного кола. Час кола опуклий за випадковим числом,
+ * тому ця оцінка не більша за середній час у симуляції; якщо фронт уже
+ * має налаштування, швидше за оцінку і не більш витратне, кандидат
+ * відкидається без гонок. Оцінки кешуються між викликами optimize():
+ * спершу у фронт потрапляють усі кешовані кандидати, тому відкинуті
+ * раніше кандидати відкидаються знову без симуляції.
+ */
+public class SetupOptimizer {
+    public static final int DEFAULT_RACES = 5;
+    private static final int LEAF_SIZE = 16; // кандидатів на одне завдання без поділу
+    private static final double BOUND_EPSILON = 1e-9; // запас на округлення оцінки знизу
+
+    private String driverName;
+    private double skillLevel;
+    private String strategyName;
+    private int totalLaps;
+    private int parallelism;
+    private int races;
+    private long seed;
+    private boolean pruning;
+    private double[] powerLevels;
+    private double[] aeroLevels;
+    private double[] fuelCapacities;
+    private TireCompound[] compounds;
+    private double[] meanDraws; // середнє випадкове число кожного кола по серії гонок
+    private Map<String, CarSetup> cache;
+    private AtomicInteger simulatedCount;
+    private AtomicInteger prunedCount;
+    private AtomicInteger cacheHits;
+
+    public SetupOptimizer(Driver driver, int totalLaps) {
+        this(driver, totalLaps, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SetupOptimizer(Driver driver, int totalLaps, int parallelism) {
+        if (driver == null) {
+            throw new IllegalArgumentException("Driver cannot be null");
+        }
+        if (totalLaps < 1) {
+            throw new IllegalArgumentException("Race must have at least one lap");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        String strategy = driver.getStrategy().getStrategyName();
+        if (!GridSimulator.supportsStrategy(strategy)) {
+            throw new IllegalArgumentException("Unsupported strategy for grid simulation: " + strategy);
+        }
+        this.driverName = driver.getName();
+        this.skillLevel = driver.getSkillLevel();
+        this.strategyName = strategy;
+        this.totalLaps = totalLaps;
+        this.parallelism = parallelism;
+        this.pruning = true;
+        this.powerLevels = levels(Car.MIN_ENGINE_POWER, Car.MAX_ENGINE_POWER, 50.0);
+        this.aeroLevels = levels(Car.MIN_AERODYNAMICS, Car.MAX_AERODYNAMICS, 1.0);
+        this.fuelCapacities = new double[] {60.0, 80.0, 100.0, 120.0};
+        this.compounds = TireCompound.values();
+        this.cache = new ConcurrentHashMap<>();
+        this.simulatedCount = new AtomicInteger();
+        this.prunedCount = new AtomicInteger();
+        this.cacheHits = new AtomicInteger();
+        setRaces(DEFAULT_RACES, 0L);
+    }
+
+    // Серія гонок для оцінки кожного кандидата (гонка i - seed RaceBatchRunner.raceSeed(seed, i))
+    public void setRaces(int races, long seed) {
+        if (races < 1) {
+            throw new IllegalArgumentException("Race count must be at least 1");
+        }
+        this.races = races;
+        this.seed = seed;
+        this.meanDraws = meanDraws();
+        cache.clear(); // інші гонки - інші оцінки
+    }
+
+    public void setPowerRange(double min, double max, double step) {
+        Validator.validateRange(min, Car.MIN_ENGINE_POWER, Car.MAX_ENGINE_POWER, "Engine power");
+        Validator.validateRange(max, min, Car.MAX_ENGINE_POWER, "Engine power");
+        this.powerLevels = levels(min, max, step);
+    }
+
+    public void setAerodynamicsRange(double min, double max, double step) {
+        Validator.validateRange(min, Car.MIN_AERODYNAMICS, Car.MAX_AERODYNAMICS, "Aerodynamics");
+        Validator.validateRange(max, min, Car.MAX_AERODYNAMICS, "Aerodynamics");
+        this.aeroLevels = levels(min, max, step);
+    }
+
+    public void setFuelCapacities(double... capacities) {
+        if (capacities == null || capacities.length == 0) {
+            throw new IllegalArgumentException("At least one fuel tank capacity is required");
+        }
+        for (double capacity : capacities) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Fuel tank capacity must be greater than 0");
+            }
+        }
+        this.fuelCapacities = capacities.clone();
+    }
+
+    public void setCompounds(TireCompound... compounds) {
+        if (compounds == null || compounds.length == 0) {
+            throw new IllegalArgumentException("At least one tire compound is required");
+        }
+        for (TireCompound compound : compounds) {
+            if (compound == null) {
+                throw new IllegalArgumentException("Tire type must be: Soft, Medium or Hard");
+            }
+        }
+        this.compounds = compounds.clone();
+    }
+
+    // Вимкнення відсікання - для перевірки, що воно не змінює фронт
+    public void setPruning(boolean pruning) {
+        this.pruning = pruning;
+    }
+
+    private static double[] levels(double min, double max, double step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step must be positive");
+        }
+        int count = (int) Math.floor((max - min) / step + BOUND_EPSILON) + 1;
+        double[] levels = new double[count];
+        for (int i = 0; i < count; i++) {
+            levels[i] = min + i * step;
+        }
+        return levels;
+    }
+
+    public int getCandidateCount() {
+        return powerLevels.length * aeroLevels.length * fuelCapacities.length * compounds.length;
+    }
+
+    // Фронт Парето, від найекономнішого до найшвидшого
+    public List<CarSetup> optimize() {
+        simulatedCount.set(0);
+        prunedCount.set(0);
+        cacheHits.set(0);
+        ParetoFront front = new ParetoFront();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SearchTask(front, 0, getCandidateCount(), true));
+            pool.invoke(new SearchTask(front, 0, getCandidateCount(), false));
+        } finally {
+            pool.shutdown();
+        }
+        return front.toList();
+    }
+
+    // Діапазон кандидатів; великий ділиться навпіл між потоками
+    private class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ParetoFront front;
+        private final int from;
+        private final int to;
+        private final boolean cachedOnly; // перший прохід - лише кандидати з кешу
+
+        SearchTask(ParetoFront front, int from, int to, boolean cachedOnly) {
+            this.front = front;
+            this.from = from;
+            this.to = to;
+            this.cachedOnly = cachedOnly;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int index = from; index < to; index++) {
+                    evaluate(index, front, cachedOnly);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SearchTask(front, from, middle, cachedOnly), new SearchTask(front, middle, to, cachedOnly));
+        }
+    }
+
+    // Кандидат index: аеродинаміка змінюється найшвидше, потім потужність, бак, склад
+    private void evaluate(int index, ParetoFront front, boolean cachedOnly) {
+        double aero = aeroLevels[index % aeroLevels.length];
+        index /= aeroLevels.length;
+        double power = powerLevels[index % powerLevels.length];
+        index /= powerLevels.length;
+        double fuel = fuelCapacities[index % fuelCapacities.length];
+        TireCompound compound = compounds[index / fuelCapacities.length];
+
+        String key = power + "/" + aero + "/" + fuel + "/" + compound.name();
+        CarSetup setup = cache.get(key);
+        if (cachedOnly) {
+            if (setup != null) {
+                cacheHits.incrementAndGet();
+                front.add(setup);
+            }
+            return;
+        }
+        if (setup != null) {
+            return; // вже у фронті після першого проходу
+        }
+        if (pruning) {
+            double[] bound = lowerBound(power, aero, fuel, compound);
+            if (front.isDominated(bound[0] - BOUND_EPSILON, bound[1])) {
+                prunedCount.incrementAndGet();
+                return;
+            }
+        }
+        setup = simulate(power, aero, fuel, compound);
+        simulatedCount.incrementAndGet();
+        cache.put(key, setup);
+        front.add(setup);
+    }
+
+    // Серія сольних гонок з однаковими для всіх кандидатів seed
+    private CarSetup simulate(double power, double aero, double fuel, TireCompound compound) {
+        PitPlan startTires = new PitPlan(new int[0], new TireCompound[] {compound}, 0.0);
+        double totalTime = 0.0;
+        double fuelUsed = 0.0;
+        for (int race = 0; race < races; race++) {
+            GridSimulator grid = new GridSimulator(1, totalLaps, RaceBatchRunner.raceSeed(seed, race));
+            grid.addCar(driverName, skillLevel, power, aero, fuel, strategyName);
+            grid.setPitPlan(0, startTires);
+            grid.run();
+            totalTime += grid.getRaceTime(0);
+            fuelUsed += fuel - grid.getFuelLevel(0);
+        }
+        return new CarSetup(power, aero, fuel, compound, totalTime / races / totalLaps, fuelUsed / races);
+    }
+
+    // {оцінка знизу середнього часу кола, точна витрата палива} без симуляції:
+    // паливо і шини не залежать від випадкових чисел, а середнє опуклої функції
+    // не менше за функцію від середнього випадкового числа
+    private double[] lowerBound(double power, double aero, double fuel, TireCompound compound) {
+        byte strategy = PitStopOptimizer.loadProfile(strategyName);
+        double consumption = Car.calculateFuelConsumption(power);
+        double durability = compound.getDurability();
+        double temperature = TireConstants.AMBIENT_TEMPERATURE;
+        double level = fuel;
+        double total = 0.0;
+        for (int lap = 0; lap < totalLaps; lap++) {
+            total += LapTimeModel.calculate(power, aero, skillLevel,
+                    Tire.effectiveGrip(compound.getGrip(), durability, temperature), meanDraws[lap]);
+            int attempts = PitStopOptimizer.attempts(strategy, level, fuel);
+            int accelerations = 0;
+            while (accelerations < attempts && level > 0) {
+                level = Math.max(0.0, level - consumption);
+                accelerations++;
+            }
+            temperature = Tire.nextTemperature(temperature, accelerations);
+            durability = Tire.nextDurability(durability, temperature, accelerations);
+        }
+        return new double[] {total / totalLaps, fuel - level};
+    }
+
+    // Випадкові числа сольної гонки в порядку GridSimulator
+    private double[] meanDraws() {
+        double[] draws = new double[totalLaps];
+        for (int race = 0; race < races; race++) {
+            SplittableRandom random = new SplittableRandom(RaceBatchRunner.raceSeed(seed, race));
+            GridSimulator.skipStartBranches(random, 1);
+            for (int lap = 0; lap < totalLaps; lap++) {
+                draws[lap] += GridSimulator.nextLapDraw(random);
+            }
+        }
+        for (int lap = 0; lap < totalLaps; lap++) {
+            draws[lap] /= races;
+        }
+        return draws;
+    }
+
+    // Поточний фронт, спільний для всіх завдань пошуку
+    private static class ParetoFront {
+        private final List<CarSetup> setups = new ArrayList<>();
+
+        synchronized boolean isDominated(double lapTimeBound, double fuelUsed) {
+            for (CarSetup setup : setups) {
+                if (setup.getAverageLapTime() <= lapTimeBound && setup.getFuelUsed() <= fuelUsed) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void add(CarSetup candidate) {
+            for (CarSetup setup : setups) {
+                if (setup.dominates(candidate) || (isTie(setup, candidate) && !isPreferred(candidate, setup))) {
+                    return;
+                }
+            }
+            setups.removeIf(setup -> candidate.dominates(setup) || isTie(setup, candidate));
+            setups.add(candidate);
+        }
+
+        synchronized List<CarSetup> toList() {
+            List<CarSetup> sorted = new ArrayList<>(setups);
+            sorted.sort(Comparator.comparingDouble(CarSetup::getFuelUsed)
+                    .thenComparingDouble(CarSetup::getAverageLapTime));
+            return sorted;
+        }
+
+        private static boolean isTie(CarSetup a, CarSetup b) {
+            return a.getAverageLapTime() == b.getAverageLapTime() && a.getFuelUsed() == b.getFuelUsed();
+        }
+
+        // Серед рівних за результатом - менший бак, потім менша потужність і аеродинаміка
+        // (порядок не залежить від того, який потік знайшов налаштування першим)
+        private static boolean isPreferred(CarSetup a, CarSetup b) {
+            if (a.getMaxFuel() != b.getMaxFuel()) {
+                return a.getMaxFuel() < b.getMaxFuel();
+            }
+            if (a.getEnginePower() != b.getEnginePower()) {
+                return a.getEnginePower() < b.getEnginePower();
+            }
+            if (a.getAerodynamics() != b.getAerodynamics()) {
+                return a.getAerodynamics() < b.getAerodynamics();
+            }
+            return a.getCompound().ordinal() < b.getCompound().ordinal();
+        }
+    }
+
+    public int getSimulatedCount() {
+        return simulatedCount.get();
+    }
+
+    public int getPrunedCount() {
+        return prunedCount.get();
+    }
+
+    public int getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public int getTotalLaps() {
+        return totalLaps;
+    }
+}
@@ -22,6 +22,8 @@ public class BehavioralPatternsTest {
             testStrategyPattern();
             testStatePattern();
             testObserverPattern();
+            testTypedRaceEvents();
+            testAsyncDispatch();
             
             System.out.println("\n=== Test Results ===");
             System.out.println("Total tests: " + testCount);
@@ -158,6 +160,57 @@ public class BehavioralPatternsTest {
                 System.out.println("Test 2.5: checkState() should detect Critical state [FAILED]");
             }
             
+            // Test checkState() reuses shared state instances
+            testCount++;
+            car.setFuelLevel(50.0);
+            car.checkState();
+            CarState normal = car.getState();
+            car.setFuelLevel(5.0);
+            car.checkState();
+            if (normal == CarStateType.NORMAL.getState() && car.getState() == CarStateType.CRITICAL.getState()
+                    && CarStateType.fromName("Overheating") == CarStateType.OVERHEATING) {
+                System.out.println("Test 2.6: checkState() uses shared state instances [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 2.6: checkState() should use shared state instances [FAILED]");
+            }
+            
+            // Test transitions fire only on change, with hysteresis
+            testCount++;
+            Car watched = new Car(800.0, 8.0, 100.0);
+            watched.setQuiet(true);
+            final int[] transitions = new int[1];
+            watched.setEventListener(new CarEventListener() {
+                @Override
+                public void onStateChanged(Car c, CarState previous, CarState current) {
+                    transitions[0]++;
+                }
+            });
+            watched.setFuelLevel(29.0);
+            for (int lap = 0; lap < 100; lap++) {
+                watched.checkState();
+            }
+            boolean changeOnly = transitions[0] == 1 && watched.getStateType() == CarStateType.OVERHEATING;
+            watched.setFuelLevel(31.0); // у смузі гістерезису - стан не змінюється
+            watched.checkState();
+            boolean held = transitions[0] == 1 && watched.getStateType() == CarStateType.OVERHEATING;
+            watched.setFuelLevel(33.0);
+            watched.checkState();
+            boolean recovered = transitions[0] == 2 && watched.getStateType() == CarStateType.NORMAL;
+            watched.setFuelLevel(29.5); // погіршення - одразу
+            watched.checkState();
+            boolean escalated = transitions[0] == 3 && watched.getStateType() == CarStateType.OVERHEATING;
+            watched.setStateHysteresis(0.0, 0.0);
+            watched.setFuelLevel(30.5);
+            watched.checkState();
+            boolean noBand = watched.getStateType() == CarStateType.NORMAL;
+            if (changeOnly && held && recovered && escalated && noBand) {
+                System.out.println("Test 2.7: State changes fire once, with hysteresis [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 2.7: State changes should fire once, with hysteresis [FAILED]");
+            }
+            
         } catch (Exception e) {
             System.out.println("Test 2: State Pattern [FAILED] - " + e.getMessage());
             e.printStackTrace();
@@ -228,5 +281,214 @@ public class BehavioralPatternsTest {
         
         System.out.println();
     }
+    
+    // Test 4: Typed race events with lazy text
+    private static void testTypedRaceEvents() {
+        System.out.println("--- Test 4: Typed Race Events ---");
+        
+        try {
+            models.Race race = new models.Race("Event Grand Prix", 3, 11L);
+            race.setQuiet(true);
+            race.addParticipant(new Driver("Driver A", 9.0), new Car(850.0, 8.5, 100.0));
+            race.addParticipant(new Driver("Driver B", 8.0), new Car(800.0, 9.0, 100.0));
+            
+            LoggingObserver logger = new LoggingObserver("Logger");
+            EventCounterObserver counter = new EventCounterObserver("Counter");
+            final int[] lapTimes = new int[1];
+            final int[] legacy = new int[1];
+            race.addObserver(logger);
+            race.addObserver(logger); // повторне додавання ігнорується
+            race.addObserver(counter);
+            race.addEventListener(event -> {
+                if (event.getType() == RaceEventType.LAP_TIME_SET) {
+                    lapTimes[0]++;
+                }
+                if (event.getType().isLegacy()) {
+                    legacy[0]++;
+                }
+            });
+            race.startRace();
+            
+            // Test text adapter keeps old messages
+            testCount++;
+            String log = logger.getLog();
+            if (log.contains("Race started: Event Grand Prix") && log.contains("Lap 1/3")
+                    && log.contains("=== Race Results ===") && !log.contains("lap 1 -")) {
+                System.out.println("Test 4.1: RaceObserver receives legacy text via adapter [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 4.1: RaceObserver should receive legacy text [FAILED]");
+            }
+            
+            // Test counter and typed listener
+            testCount++;
+            int loggedLines = log.split("Lap \\d+/3", -1).length - 1;
+            if (lapTimes[0] == 6 && loggedLines == 3 && counter.getEventCount() == legacy[0]) {
+                System.out.println("Test 4.2: Typed events delivered without duplicates [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 4.2: Typed event counts are wrong [FAILED]");
+            }
+            
+            // Test lazy rendering
+            testCount++;
+            RaceEvent event = RaceEvent.positionChanged("Driver A", 2, 2, 1);
+            if (event.getMessage().equals("Driver A: P2 -> P1") && event.getMessage() == event.getMessage()) {
+                System.out.println("Test 4.3: Event text rendered lazily and cached [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 4.3: Event text rendering failed [FAILED]");
+            }
+            
+        } catch (Exception e) {
+            System.out.println("Test 4: Typed Race Events [FAILED] - " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        System.out.println();
+    }
+    
+    // Test 5: Asynchronous event dispatch with bounded queue
+    private static void testAsyncDispatch() {
+        System.out.println("--- Test 5: Async Event Dispatch ---");
+        
+        try {
+            // Test drop policy with a slow observer
+            testCount++;
+            AsyncEventDispatcher slow = new AsyncEventDispatcher("Slow", event -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, 4, AsyncEventDispatcher.OverflowPolicy.DROP_NEWEST);
+            for (int i = 0; i < 100; i++) {
+                slow.onRaceEvent(RaceEvent.lapStarted(i + 1, 100));
+            }
+            slow.close();
+            if (slow.getDroppedCount() > 0 && slow.getMaxQueueDepth() <= 4
+                    && slow.getDeliveredCount() + slow.getDroppedCount() == slow.getPublishedCount()) {
+                System.out.println("Test 5.1: Full queue drops events without blocking [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 5.1: Drop policy counters are wrong [FAILED]");
+            }
+            
+            // Test blocking policy delivers every race event
+            testCount++;
+            models.Race race = new models.Race("Async Grand Prix", 3, 5L);
+            race.setQuiet(true);
+            race.addParticipant(new Driver("Driver A", 9.0), new Car(850.0, 8.5, 100.0));
+            race.addParticipant(new Driver("Driver B", 8.0), new Car(800.0, 9.0, 100.0));
+            LoggingObserver logger = new LoggingObserver("Logger");
+            AsyncEventDispatcher blocking = AsyncEventDispatcher.forObserver(logger, 2,
+                    AsyncEventDispatcher.OverflowPolicy.BLOCK);
+            race.addEventListener(blocking);
+            race.startRace();
+            boolean idle = blocking.awaitIdle(5000);
+            blocking.close();
+            String log = logger.getLog();
+            if (idle && blocking.getDroppedCount() == 0
+                    && blocking.getDeliveredCount() == blocking.getPublishedCount()
+                    && log.contains("Lap 3/3") && log.contains("=== Race Results ===")) {
+                System.out.println("Test 5.2: Blocking policy delivers all events [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 5.2: Blocking policy lost events [FAILED]");
+            }
+            
+            // Test dispatcher as a RaceSession observer
+            testCount++;
+            EventCounterObserver counter = new EventCounterObserver("Counter");
+            AsyncEventDispatcher sessionDispatcher = AsyncEventDispatcher.forObserver(counter, 8,
+                    AsyncEventDispatcher.OverflowPolicy.DROP_OLDEST);
+            RaceSession session = new RaceSession("Async Session");
+            session.attach(sessionDispatcher);
+            session.startRace();
+            session.addEvent("Pit stop");
+            session.finishRace();
+            sessionDispatcher.close();
+            if (counter.getEventCount() == 3 && sessionDispatcher.isClosed()) {
+                System.out.println("Test 5.3: Session events delivered asynchronously [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 5.3: Session events not delivered [FAILED]");
+            }
+            
+            // Close while producers are still publishing: every event is either
+            // delivered, failed or rejected - nothing is left in the queue
+            testCount++;
+            java.util.concurrent.atomic.AtomicInteger seen = new java.util.concurrent.atomic.AtomicInteger();
+            AsyncEventDispatcher racing = new AsyncEventDispatcher("Racing", event -> {
+                if (seen.incrementAndGet() % 10 == 0) {
+                    throw new IllegalStateException("listener failure");
+                }
+            }, 1, AsyncEventDispatcher.OverflowPolicy.BLOCK);
+            Thread[] producers = new Thread[4];
+            for (int i = 0; i < producers.length; i++) {
+                producers[i] = new Thread(() -> {
+                    for (int n = 0; n < 2000; n++) {
+                        racing.update("event " + n);
+                    }
+                });
+                producers[i].start();
+            }
+            Thread.sleep(5);
+            racing.close();
+            for (Thread producer : producers) {
+                producer.join(5000);
+            }
+            boolean producersDone = true;
+            for (Thread producer : producers) {
+                producersDone &= !producer.isAlive();
+            }
+            long handled = racing.getDeliveredCount() + racing.getFailedCount();
+            if (producersDone && racing.getQueueDepth() == 0 && handled == seen.get()
+                    && handled == racing.getPublishedCount()
+                    && racing.getDroppedCount() == 0
+                    && handled + racing.getRejectedCount() == 8000) {
+                System.out.println("Test 5.4: Close does not lose accepted events [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 5.4: Events lost around close [FAILED]");
+            }
+            
+            // Publish after close while the listener is still busy: awaitIdle
+            // must wait for the in-flight event, not count the rejected one
+            testCount++;
+            java.util.concurrent.CountDownLatch started = new java.util.concurrent.CountDownLatch(1);
+            AsyncEventDispatcher busy = new AsyncEventDispatcher("Busy", e -> {
+                started.countDown();
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }, 4, AsyncEventDispatcher.OverflowPolicy.BLOCK);
+            busy.update("in flight");
+            started.await();
+            Thread closer = new Thread(busy::close);
+            closer.start();
+            while (!busy.isClosed()) {
+                Thread.yield();
+            }
+            busy.update("after close");
+            boolean busyIdle = busy.awaitIdle(5000);
+            long deliveredAtIdle = busy.getDeliveredCount();
+            closer.join(5000);
+            if (busyIdle && deliveredAtIdle == 1 && busy.getRejectedCount() == 1
+                    && busy.getPublishedCount() == 1 && busy.getDroppedCount() == 0) {
+                System.out.println("Test 5.5: Rejected events do not end awaitIdle early [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 5.5: awaitIdle returned before delivery [FAILED]");
+            }
+            
+        } catch (Exception e) {
+            System.out.println("Test 5: Async Event Dispatch [FAILED] - " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        System.out.println();
+    }
 }
-
@@ -19,6 +19,7 @@ public class CarTest {
         testCarMethods();
         testCarDriverAssociation();
         testValidation();
+        testQuietMode();
         
         printSummary();
     }
@@ -140,6 +141,91 @@ public class CarTest {
         }
     }
     
+    static void testQuietMode() {
+        System.out.println("Test 5: Quiet mode routes events to listener");
+        java.io.PrintStream originalOut = System.out;
+        try {
+            Car car = new Car(800.0, 9.0, 100.0);
+            car.setQuiet(true);
+            final double[] fuelUsed = new double[1];
+            final int[] events = new int[4];
+            car.setEventListener(new patterns.behavioral.CarEventListener() {
+                @Override
+                public void onAccelerate(Car c, double used) {
+                    fuelUsed[0] += used;
+                    events[0]++;
+                }
+                
+                @Override
+                public void onBrake(Car c) {
+                    events[1]++;
+                }
+                
+                @Override
+                public void onRefuel(Car c, double amount, double level) {
+                    events[2]++;
+                }
+                
+                @Override
+                public void onStateChanged(Car c, patterns.behavioral.CarState previous,
+                                           patterns.behavioral.CarState current) {
+                    events[3]++;
+                }
+            });
+            
+            java.io.ByteArrayOutputStream captured = new java.io.ByteArrayOutputStream();
+            System.setOut(new java.io.PrintStream(captured));
+            car.accelerate();
+            car.accelerate();
+            car.brake();
+            car.refuel(1.0);
+            car.setState(new patterns.behavioral.CriticalState());
+            System.setOut(originalOut);
+            
+            assert captured.size() == 0 : "Error: quiet car should not print";
+            assert events[0] == 2 && events[1] == 1 && events[2] == 1 && events[3] == 1
+                    : "Error: listener should receive every event";
+            assert Math.abs(fuelUsed[0] - 2 * Car.calculateFuelConsumption(800.0)) < 1e-9
+                    : "Error: listener should receive fuel used";
+            
+            // Без тихого режиму повідомлення друкуються як раніше
+            car.setQuiet(false);
+            captured.reset();
+            System.setOut(new java.io.PrintStream(captured));
+            car.brake();
+            System.setOut(originalOut);
+            assert captured.toString().contains("Car braking") : "Error: normal mode should still print";
+            
+            // Тихий режим гонки діє лише під час неї: болід повертає власне налаштування
+            models.Race quietRace = new models.Race("Quiet GP", 2, 3L);
+            quietRace.setQuiet(true);
+            quietRace.addParticipant(new Driver("Driver A", 8.0), car);
+            captured.reset();
+            System.setOut(new java.io.PrintStream(captured));
+            quietRace.startRace();
+            System.setOut(originalOut);
+            assert !car.isQuiet() : "Error: quiet race should restore the car's own setting";
+            assert !captured.toString().contains("Car accelerated")
+                    : "Error: cars should stay silent during a quiet race";
+            captured.reset();
+            System.setOut(new java.io.PrintStream(captured));
+            car.brake();
+            System.setOut(originalOut);
+            assert captured.toString().contains("Car braking") : "Error: car should print again after the race";
+            
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.setOut(originalOut);
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.setOut(originalOut);
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+    
     static void printSummary() {
         System.out.println("=== Test Summary ===");
         System.out.println("Passed: " + testsPassed);
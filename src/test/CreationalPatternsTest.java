@@ -18,6 +18,7 @@ public class CreationalPatternsTest {
         testTireFactory();
         testCarBuilder();
         testTeamManagerSingleton();
+        testTireWearModel();
         
         printSummary();
     }
@@ -43,6 +44,17 @@ public class CreationalPatternsTest {
             }
             assert exceptionThrown : "Error: should throw exception for invalid type";
             
+            // Склади як enum: назва без урахування регістру, таблиця характеристик
+            assert TireFactory.createTire(" soft ").getCompound() == models.TireCompound.SOFT
+                    : "Error: factory should parse compound names";
+            assert medium.getCompound() == models.TireCompound.MEDIUM
+                    && medium.getGrip() == models.TireCompound.MEDIUM.getGrip() : "Error: compound table mismatch";
+            assert models.TireCompound.fromName("soft") == null : "Error: exact names only for fromName";
+            Car car = new Car(800.0, 8.0, 100.0);
+            car.setTireCompound(models.TireCompound.HARD);
+            assert car.getTireType().equals("Hard") && car.calculatePerformance() == 80.0 * 8.0 * 0.9
+                    : "Error: performance should use the compound multiplier";
+            
             System.out.println("[PASSED]\n");
             testsPassed++;
         } catch (AssertionError e) {
@@ -112,6 +124,61 @@ public class CreationalPatternsTest {
         }
     }
     
+    static void testTireWearModel() {
+        System.out.println("Test 4: Tire warm-up and wear feed lap time");
+        try {
+            Tire soft = TireFactory.createTire("Soft");
+            double coldGrip = soft.getEffectiveGrip();
+            for (int lap = 0; lap < 5; lap++) {
+                soft.completeLap(1);
+            }
+            assert soft.getTemperature() > 80 : "Error: tires should warm up";
+            assert soft.getEffectiveGrip() > coldGrip : "Error: warm tires should grip better";
+
+            // Агресивне водіння зношує шини швидше
+            Tire calm = TireFactory.createTire("Medium");
+            Tire pushed = TireFactory.createTire("Medium");
+            for (int lap = 0; lap < 10; lap++) {
+                calm.completeLap(1);
+                pushed.completeLap(2);
+            }
+            assert pushed.getDurability() < calm.getDurability() : "Error: more load should mean more wear";
+
+            while (!soft.isWorn()) {
+                soft.completeLap(1);
+            }
+            double wornGrip = soft.getEffectiveGrip();
+            soft.completeLap(1);
+            assert soft.getEffectiveGrip() < wornGrip : "Error: grip should drop past the cliff";
+
+            // Знос шин у болідів: за тієї ж температури зношені шини повільніші
+            Car car = new CarBuilder().buildBalanced().setTireType("Soft").build();
+            car.setQuiet(true);
+            car.getTire().setTemperature(soft.getTemperature());
+            double freshLap = models.LapTimeModel.calculate(900, 8, 8, car.getTireGrip(), 0.5);
+            car.setTire(soft);
+            double wornLap = models.LapTimeModel.calculate(900, 8, 8, car.getTireGrip(), 0.5);
+            assert wornLap > freshLap : "Error: worn tires should be slower";
+
+            car.accelerate();
+            car.completeLap();
+            assert soft.getDurability() < 0.2 && car.getTireType().equals("Soft") : "Error: car should wear its tires";
+
+            Car copy = new Car(car);
+            copy.completeLap();
+            assert copy.getTire() != car.getTire() : "Error: car copy should get its own tires";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+    
     static void printSummary() {
         System.out.println("=== Test Summary ===");
         System.out.println("Passed: " + testsPassed);
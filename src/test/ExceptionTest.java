@@ -19,6 +19,8 @@ public class ExceptionTest {
         testTireException();
         testRaceException();
         testExceptionUsage();
+        testFaultCodes();
+        testLightweightExceptions();
         
         printSummary();
     }
@@ -122,6 +124,129 @@ public class ExceptionTest {
         }
     }
     
+    static void testFaultCodes() {
+        System.out.println("Test 6: Fault codes on the lap path");
+        try {
+            Car car = new Car(800.0, 9.0, 100.0);
+            car.setQuiet(true);
+            car.consumeFuel(100.0);
+            
+            // Порожній бак - код замість винятку, стан боліда не змінюється
+            assert car.tryAccelerate() == FaultCode.NO_FUEL : "Error: empty tank should return NO_FUEL";
+            assert car.getFuelLevel() == 0.0 : "Error: fuel should stay at 0";
+            F1Exception fuel = car.toException(FaultCode.NO_FUEL);
+            assert fuel instanceof FuelException
+                    && fuel.getErrorCode().equals(FaultCode.NO_FUEL.getErrorCode()) : "Error: wrong fuel exception";
+            
+            // Вбудовані стратегії повертають код, drive() як і раніше кидає виняток
+            patterns.behavioral.DrivingStrategy aggressive = new patterns.behavioral.AggressiveStrategy();
+            assert aggressive.tryDrive(car) == FaultCode.NO_FUEL : "Error: strategy should report NO_FUEL";
+            boolean thrown = false;
+            try {
+                aggressive.drive(car);
+            } catch (FuelException e) {
+                thrown = true;
+            }
+            assert thrown : "Error: drive() should still throw FuelException";
+            
+            // Власна стратегія з винятками отримує tryDrive() за замовчуванням
+            patterns.behavioral.DrivingStrategy custom = new patterns.behavioral.DrivingStrategy() {
+                @Override
+                public void drive(Car c) throws FuelException, TireException {
+                    throw new TireException("Puncture!", "Soft", "puncture");
+                }
+                
+                @Override
+                public String getStrategyName() {
+                    return "Custom";
+                }
+            };
+            assert custom.tryDrive(car) == FaultCode.TIRE_FAILURE : "Error: TireException should map to TIRE_FAILURE";
+            
+            // Гонка з порожнім баком: попередження з FuelException лише для слухачів
+            models.team.Driver driver = new models.team.Driver("Dry Driver", 8.0);
+            models.Race race = new models.Race("Dry Grand Prix", 3);
+            race.setQuiet(true);
+            race.addParticipant(driver, car);
+            int[] warnings = new int[1];
+            race.addEventListener(event -> {
+                if (event.getType() == patterns.behavioral.RaceEventType.FUEL_WARNING
+                        && event.getCause() instanceof FuelException) {
+                    warnings[0]++;
+                }
+            });
+            race.startRace();
+            assert warnings[0] == 3 : "Error: one fuel warning per lap expected, got " + warnings[0];
+            
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+    
+    static void testLightweightExceptions() {
+        System.out.println("Test 7: Lightweight exceptions and error code counters");
+        try {
+            F1Exception.resetRaisedCounts();
+            
+            // Звичайний режим: повний стек, новий екземпляр щоразу
+            FuelException full = FuelException.noFuel(0.0);
+            assert full.getStackTrace().length > 0 : "Error: default exceptions should keep stack traces";
+            assert FuelException.noFuel(0.0) != full : "Error: default mode should not share instances";
+            
+            // Легкий режим: без стеку та suppressed, таксономія та повідомлення ті самі
+            F1Exception.setLightweightMode(true);
+            TireException light = TireException.of("Soft tires overheated!", "Soft", "overheating");
+            light.addSuppressed(new RuntimeException("ignored"));
+            assert light.getStackTrace().length == 0 && light.getSuppressed().length == 0
+                    : "Error: lightweight exception should have no stack or suppressed";
+            assert light instanceof F1Exception && light.getFullErrorInfo().equals(
+                    new TireException("Soft tires overheated!", "Soft", "overheating").getFullErrorInfo())
+                    : "Error: lightweight exception should keep its info";
+            
+            // Кеш: один екземпляр на однакову несправність, кожна видача рахується
+            F1Exception.setCachedInstances(true);
+            Car car = new Car(800.0, 9.0, 100.0);
+            car.consumeFuel(100.0);
+            F1Exception first = car.toException(FaultCode.NO_FUEL);
+            for (int i = 0; i < 1000; i++) {
+                assert car.toException(FaultCode.NO_FUEL) == first : "Error: cached instance expected";
+            }
+            boolean thrown = false;
+            try {
+                car.accelerate();
+            } catch (FuelException e) {
+                thrown = e == first;
+            }
+            assert thrown : "Error: accelerate() should throw the cached instance";
+            assert RaceException.of("Crash", "race") == RaceException.of("Crash", "race")
+                    && F1Exception.of("Generic", "F1_ERROR") == F1Exception.of("Generic", "F1_ERROR")
+                    : "Error: every exception type should support caching";
+            
+            assert F1Exception.getRaisedCount("FUEL_ERROR") == 1004 : "Error: fuel count is "
+                    + F1Exception.getRaisedCount("FUEL_ERROR");
+            assert F1Exception.getRaisedCount("TIRE_ERROR") == 2 && F1Exception.getRaisedCount("RACE_ERROR") == 2
+                    && F1Exception.getRaisedCounts().get("F1_ERROR") == 2 : "Error: counters per code are wrong";
+            
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        } finally {
+            F1Exception.setCachedInstances(false);
+            F1Exception.setLightweightMode(false);
+        }
+    }
+    
     static void printSummary() {
         System.out.println("=== Test Summary ===");
         System.out.println("Passed: " + testsPassed);
@@ -3,6 +3,10 @@ package test;
 import models.*;
 import models.team.*;
 import patterns.behavioral.*;
+import simulation.GridSimulator;
+import simulation.RaceTemplate;
+import java.util.ArrayList;
+import java.util.List;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 
@@ -24,6 +28,9 @@ public class RaceAndScoringTest {
             testRaceResult();
             testScoringSystem();
             testRaceSimulation();
+            testLeaderboard();
+            testParticipantIdentity();
+            testScoringRules();
             
             System.setOut(originalOut);
             
@@ -206,4 +213,265 @@ public class RaceAndScoringTest {
         
         System.out.println();
     }
+    
+    // Test 4: Incremental leaderboard
+    private static void testLeaderboard() {
+        System.out.println("--- Test 4: Leaderboard ---");
+        
+        try {
+            Leaderboard board = new Leaderboard();
+            RaceResult a = new RaceResult(new Driver("Driver A", 8.0), 1);
+            RaceResult b = new RaceResult(new Driver("Driver B", 8.0), 2);
+            RaceResult c = new RaceResult(new Driver("Driver C", 8.0), 3);
+            board.add(a);
+            board.add(b);
+            board.add(c);
+            for (int i = 0; i < board.size(); i++) {
+                board.get(i).incrementLaps();
+                board.markChanged(i);
+            }
+            a.setLapTime(80.0);
+            b.setLapTime(79.0);
+            c.setLapTime(78.0);
+            a.addTime(80.0);
+            b.addTime(79.0);
+            c.addTime(78.0);
+            board.reposition(1, null);
+            
+            // Only A (last, index 2) completes the next lap and is re-positioned
+            a.incrementLaps();
+            a.setLapTime(77.0);
+            a.addTime(77.0);
+            board.markChanged(2);
+            final int[] events = new int[1];
+            int moved = board.reposition(2, event -> {
+                if (event.getType() == RaceEventType.POSITION_CHANGED) {
+                    events[0]++;
+                }
+            });
+            
+            testCount++;
+            if (board.get(0) == a && board.get(1) == c && board.get(2) == b
+                    && a.getPosition() == 1 && c.getPosition() == 2 && b.getPosition() == 3
+                    && moved == 3 && events[0] == 3 && board.getOvertakes() == 5) {
+                System.out.println("Test 4.1: Leaderboard re-positions changed results [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 4.1: Leaderboard order is wrong [FAILED]");
+            }
+            
+            // Race positions match a full sort of the final results
+            Race race = new Race("Leaderboard Grand Prix", 10, 3L);
+            for (int i = 0; i < 8; i++) {
+                race.addParticipant(new Driver("Driver " + i, 5.0 + i * 0.5),
+                        new Car(700.0 + i * 30.0, 6.0 + i * 0.4, 100.0));
+            }
+            race.startRace();
+            java.util.List<RaceResult> results = race.getResults();
+            java.util.List<RaceResult> sorted = new java.util.ArrayList<>(results);
+            sorted.sort((r1, r2) -> Leaderboard.isAhead(r1, r2) ? -1 : (Leaderboard.isAhead(r2, r1) ? 1 : 0));
+            boolean consistent = true;
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).getPosition() != i + 1 || results.get(i) != sorted.get(i)) {
+                    consistent = false;
+                }
+            }
+            
+            testCount++;
+            if (consistent && race.getOvertakeCount() >= 0) {
+                System.out.println("Test 4.2: Race positions follow leaderboard order [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 4.2: Race positions are inconsistent [FAILED]");
+            }
+            
+        } catch (Exception e) {
+            System.out.println("Test 4: Leaderboard [FAILED] - " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        System.out.println();
+    }
+    
+    // Test 5: Stable participant identifiers
+    private static void testParticipantIdentity() {
+        System.out.println("--- Test 5: Participant Identity ---");
+        
+        try {
+            Driver driver = new Driver("Identity Driver", 7.95);
+            int hashBefore = driver.hashCode();
+            driver.train();
+            
+            testCount++;
+            if (driver.hashCode() == hashBefore) {
+                System.out.println("Test 5.1: Driver hash survives training [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 5.1: Driver hash changed after training [FAILED]");
+            }
+            
+            // Two drivers equal by equals() must still get their own cars
+            Race race = new Race("Identity Grand Prix", 5, 8L);
+            Driver twinA = new Driver("Twin", 8.0);
+            Driver twinB = new Driver("Twin", 8.0);
+            Car carA = new Car(900.0, 9.0, 100.0);
+            Car carB = new Car(600.0, 3.0, 100.0);
+            int idA = race.addParticipant(twinA, carA);
+            int idB = race.addParticipant(twinB, carB);
+            twinA.train();
+            twinB.setName("Renamed Twin");
+            race.startRace();
+            
+            boolean duplicateRejected = false;
+            try {
+                race.addParticipant(twinA, new Car(800.0, 8.0, 100.0));
+            } catch (IllegalArgumentException e) {
+                duplicateRejected = true;
+            }
+            
+            testCount++;
+            if (idA == 0 && idB == 1 && race.getCar(idA) == carA && race.getCar(idB) == carB
+                    && race.getParticipantId(twinB) == idB && carA.getFuelLevel() < 100.0
+                    && carB.getFuelLevel() < 100.0 && duplicateRejected) {
+                System.out.println("Test 5.2: Participants keep their own cars by id [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 5.2: Participant lookup failed [FAILED]");
+            }
+            
+        } catch (Exception e) {
+            System.out.println("Test 5: Participant Identity [FAILED] - " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        System.out.println();
+    }
+
+    // Test 6: ScoringRules
+    private static void testScoringRules() {
+        System.out.println("--- Test 6: Scoring Rules ---");
+        
+        try {
+            // Поточні правила дають ті самі бали, що й ScoringSystem
+            List<RaceResult> legacy = scoredResults(null);
+            List<RaceResult> compiled = scoredResults(ScoringRules.DEFAULT);
+            boolean same = true;
+            for (int i = 0; i < legacy.size(); i++) {
+                same &= legacy.get(i).getPoints() == compiled.get(i).getPoints();
+            }
+            
+            testCount++;
+            if (same && compiled.get(0).getPoints() == 25 && compiled.get(10).getPoints() == 0
+                    && compiled.get(3).getPoints() == 13) {
+                System.out.println("Test 6.1: Default rules match ScoringSystem [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 6.1: Default rules differ from ScoringSystem [FAILED]");
+            }
+            
+            // 1950: бонус за коло навіть поза зоною балів; половинні бали - вниз
+            List<RaceResult> vintage = scoredResults(ScoringRules.F1_1950);
+            ScoringRules half = ScoringRules.F1_2019.halfPoints();
+            testCount++;
+            if (vintage.get(0).getPoints() == 8 && vintage.get(3).getPoints() == 4
+                    && ScoringRules.F1_1950.getPoints(11, true) == 1 && ScoringRules.F1_2019.getPoints(11, true) == 0
+                    && half.getPointsForPosition(1) == 12 && half.getPointsForPosition(10) == 0
+                    && ScoringRules.SPRINT_2022.getScoringPositions() == 8) {
+                System.out.println("Test 6.2: Historical presets and half points [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 6.2: Presets give wrong points [FAILED]");
+            }
+            
+            // score() на масивах дає те саме, що apply() на RaceResult
+            ScoringRules[] presets = {ScoringRules.F1_2019, ScoringRules.F1_2003, ScoringRules.F1_1950};
+            boolean parity = true;
+            for (ScoringRules rules : presets) {
+                List<RaceResult> results = scoredResults(rules);
+                int[] position = new int[results.size()];
+                double[] bestLap = new double[results.size()];
+                int[] points = new int[results.size()];
+                for (int i = 0; i < results.size(); i++) {
+                    position[i] = results.get(i).getPosition();
+                    bestLap[i] = results.get(i).getLapTime();
+                }
+                rules.score(position, bestLap, results.size(), points);
+                for (int i = 0; i < results.size(); i++) {
+                    parity &= points[i] == results.get(i).getPoints();
+                }
+            }
+            testCount++;
+            if (parity) {
+                System.out.println("Test 6.3: Array scoring matches RaceResult scoring [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 6.3: Array scoring differs [FAILED]");
+            }
+            
+            // Race і GridSimulator з тими самими правилами шаблону
+            RaceTemplate template = new RaceTemplate("Rules Grand Prix", 5);
+            template.addParticipant(new Driver("Rules Driver A", 8.5), new Car(850.0, 8.5, 100.0));
+            template.addParticipant(new Driver("Rules Driver B", 9.0), new Car(880.0, 9.0, 100.0));
+            template.addParticipant(new Driver("Rules Driver C", 8.0), new Car(820.0, 8.0, 100.0));
+            template.setScoringRules(ScoringRules.F1_1950);
+            Race race = template.createRace(11L);
+            race.setQuiet(true);
+            List<RaceResult> slots = race.getResults();
+            race.startRace();
+            GridSimulator grid = GridSimulator.fromTemplate(template, 11L);
+            grid.run();
+            boolean gridSame = race.getScoringRules() == ScoringRules.F1_1950;
+            for (int slot = 0; slot < slots.size(); slot++) {
+                gridSame &= slots.get(slot).getPoints() == grid.getPoints(slot);
+            }
+            int[] rescored = new int[grid.getSize()];
+            grid.rescore(ScoringRules.F1_2010, rescored);
+            gridSame &= rescored[grid.getSlotAtPosition(1)] == 25 && grid.getPoints(grid.getSlotAtPosition(1)) >= 8;
+            
+            testCount++;
+            if (gridSame) {
+                System.out.println("Test 6.4: Race and grid share the template rules [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 6.4: Race and grid points differ [FAILED]");
+            }
+            
+            boolean nullRejected = false;
+            try {
+                race.setScoringRules(null);
+            } catch (IllegalArgumentException e) {
+                nullRejected = true;
+            }
+            testCount++;
+            if (nullRejected) {
+                System.out.println("Test 6.5: Null rules rejected [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 6.5: Null rules accepted [FAILED]");
+            }
+            
+        } catch (Exception e) {
+            System.out.println("Test 6: Scoring Rules [FAILED] - " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        System.out.println();
+    }
+    
+    // 12 фінішерів, найкраще коло в P4; rules == null - старий ScoringSystem
+    private static List<RaceResult> scoredResults(ScoringRules rules) {
+        List<RaceResult> results = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            RaceResult result = new RaceResult(new Driver("Scoring Driver " + i, 8.0), i + 1);
+            result.setFinished(true);
+            result.setLapTime(i == 3 ? 80.0 : 81.0 + i);
+            results.add(result);
+        }
+        if (rules == null) {
+            ScoringSystem.calculatePoints(results);
+        } else {
+            rules.apply(results);
+        }
+        return results;
+    }
 }
@@ -0,0 +1,325 @@
+package test;
+
+import models.Car;
+import models.Race;
+import models.RaceResult;
+import models.team.Driver;
+import patterns.behavioral.AggressiveStrategy;
+import patterns.behavioral.LoggingObserver;
+import patterns.behavioral.ObserverEventAdapter;
+import patterns.behavioral.RaceEvent;
+import patterns.behavioral.RaceEventType;
+import replay.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Тестовий клас для пакету replay: бінарний журнал гонок
+ */
+public class ReplayTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Testing Replay Package ===\n");
+
+        testWriteAndRandomAccess();
+        testSequentialReplay();
+        testAppendAndStoppedRace();
+        testReplayMatchesRace();
+
+        printSummary();
+    }
+
+    static Race createRace(long seed, int laps) {
+        Race race = new Race("Replay Grand Prix", laps, seed);
+        race.setQuiet(true);
+        Driver aggressive = new Driver("Max Verstappen", 9.8);
+        aggressive.setStrategy(new AggressiveStrategy());
+        race.addParticipant(new Driver("Lewis Hamilton", 9.5), new Car(850.0, 8.5, 100.0));
+        race.addParticipant(aggressive, new Car(980.0, 9.0, 20.0));
+        race.addParticipant(new Driver("Lando Norris", 8.5), new Car(820.0, 8.0, 100.0));
+        return race;
+    }
+
+    static void testWriteAndRandomAccess() {
+        System.out.println("Test 1: Races are logged and read back by lap");
+        Path file = null;
+        try {
+            file = Files.createTempFile("race-log", ".f1rl");
+            List<RaceEvent> lapEvents = new ArrayList<>();
+            try (RaceLogWriter writer = new RaceLogWriter(file)) {
+                for (long seed = 1; seed <= 3; seed++) {
+                    Race race = createRace(seed, 10);
+                    race.addEventListener(writer);
+                    if (seed == 2) {
+                        race.addEventListener(event -> {
+                            if (event.getType() == RaceEventType.LAP_TIME_SET) {
+                                lapEvents.add(event);
+                            }
+                        });
+                    }
+                    race.startRace();
+                }
+                assert writer.getRaceCount() == 3 : "Error: three races should be written";
+            }
+
+            try (RaceLogReader reader = new RaceLogReader(file)) {
+                assert reader.getRaceCount() == 3 : "Error: reader should index three races";
+                assert reader.getFileSize() == 32L * (1 + 3 * (1 + 10 * 3)) : "Error: records should be 32 bytes";
+                assert reader.getParticipantCount(1) == 3 && reader.getTotalLaps(1) == 10 : "Error: bad race header";
+                assert reader.getLapsRecorded(1) == 10 && !reader.isStopped(1) : "Error: all laps should be recorded";
+
+                for (RaceEvent event : lapEvents) {
+                    int lap = event.getLap();
+                    int id = event.getParticipantId();
+                    assert reader.hasRecord(1, lap, id) : "Error: every lap should have a record";
+                    assert reader.getLapTime(1, lap, id) == event.getValue() : "Error: lap time differs";
+                    assert reader.getFuelLevel(1, lap, id) == event.getFuelLevel() : "Error: fuel differs";
+                    assert reader.getTireType(1, lap, id).equals(event.getTireType()) : "Error: tire differs";
+                    assert reader.getStateName(1, lap, id).equals(event.getStateName()) : "Error: state differs";
+                }
+                assert lapEvents.size() == 30 : "Error: 10 laps x 3 cars expected";
+
+                // Болід з малим баком отримує попередження про паливо
+                int fuelWarnings = 0;
+                for (int lap = 1; lap <= 10; lap++) {
+                    if ((reader.getFlags(1, lap, 1) & RaceLogConstants.FLAG_FUEL_WARNING) != 0) {
+                        fuelWarnings++;
+                    }
+                }
+                assert fuelWarnings > 0 : "Error: fuel warnings should be flagged";
+
+                boolean outOfRange = false;
+                try {
+                    reader.getLapTime(1, 11, 0);
+                } catch (IndexOutOfBoundsException e) {
+                    outOfRange = true;
+                }
+                assert outOfRange : "Error: unrecorded lap should be rejected";
+            }
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        } finally {
+            delete(file);
+        }
+    }
+
+    static void testSequentialReplay() {
+        System.out.println("Test 2: Replay visits every lap record in order");
+        Path file = null;
+        try {
+            file = Files.createTempFile("race-log", ".f1rl");
+            Race race = createRace(7L, 6);
+            try (RaceLogWriter writer = new RaceLogWriter(file)) {
+                race.addEventListener(writer);
+                race.startRace();
+            }
+
+            double[] bestLap = new double[3];
+            int[] visited = new int[1];
+            int[] lastLap = new int[1];
+            try (RaceLogReader reader = new RaceLogReader(file)) {
+                reader.replay(0, (lap, participantId, lapTime, fuelLevel, tireType, stateName, flags) -> {
+                    assert lap >= lastLap[0] : "Error: laps should be replayed in order";
+                    lastLap[0] = lap;
+                    visited[0]++;
+                    if (bestLap[participantId] == 0 || lapTime < bestLap[participantId]) {
+                        bestLap[participantId] = lapTime;
+                    }
+                });
+            }
+
+            assert visited[0] == 18 : "Error: 6 laps x 3 cars should be replayed";
+            for (RaceResult result : race.getResults()) {
+                assert bestLap[result.getParticipantId()] == result.getLapTime()
+                        : "Error: replayed best lap should match the race";
+            }
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        } finally {
+            delete(file);
+        }
+    }
+
+    static void testAppendAndStoppedRace() {
+        System.out.println("Test 3: Appending races and logging a stopped race");
+        Path file = null;
+        try {
+            file = Files.createTempFile("race-log", ".f1rl");
+            try (RaceLogWriter writer = new RaceLogWriter(file)) {
+                Race race = createRace(1L, 5);
+                race.addEventListener(writer);
+                race.startRace();
+            }
+            try (RaceLogWriter writer = new RaceLogWriter(file, true)) {
+                Race race = createRace(2L, 8);
+                race.addEventListener(writer);
+                race.addEventListener(event -> {
+                    if (event.getType() == RaceEventType.LAP_STARTED && event.getLap() == 3) {
+                        race.stopRace();
+                    }
+                });
+                race.startRace();
+            }
+
+            try (RaceLogReader reader = new RaceLogReader(file)) {
+                assert reader.getRaceCount() == 2 : "Error: appended race should be indexed";
+                assert reader.getLapsRecorded(0) == 5 : "Error: first race should keep its laps";
+                assert reader.isStopped(1) : "Error: stopped race should be flagged";
+                assert reader.getLapsRecorded(1) == 3 : "Error: stopped race should have 3 laps";
+                assert reader.getTotalLaps(1) == 8 : "Error: planned laps should be kept";
+            }
+
+            boolean rejected = false;
+            Path text = Files.createTempFile("not-a-log", ".txt");
+            Files.write(text, "Race started: text log".getBytes());
+            try (RaceLogReader reader = new RaceLogReader(text)) {
+                reader.getRaceCount();
+            } catch (IOException e) {
+                rejected = true;
+            } finally {
+                delete(text);
+            }
+            assert rejected : "Error: non-log files should be rejected";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        } finally {
+            delete(file);
+        }
+    }
+
+    static void testReplayMatchesRace() {
+        System.out.println("Test 4: Replay reconstructs standings at every lap");
+        Path file = null;
+        try {
+            file = Files.createTempFile("race-log", ".f1rl");
+            Race race = createRace(21L, 12);
+            int[] grid = new int[race.getParticipantCount()];
+            for (int i = 0; i < grid.length; i++) {
+                grid[i] = grid.length - 1 - i; // зворотний порядок старту
+            }
+            race.setStartingGrid(grid);
+            List<Driver> drivers = new ArrayList<>();
+            for (RaceResult result : race.getResultsByParticipant()) {
+                drivers.add(result.getDriver());
+            }
+
+            // Знімок таблиці наприкінці кожного кола (перед стартом наступного)
+            List<String> snapshots = new ArrayList<>();
+            int[] racePositionEvents = new int[1];
+            try (RaceLogWriter writer = new RaceLogWriter(file)) {
+                race.addEventListener(writer);
+                race.addEventListener(event -> {
+                    if (event.getType() == RaceEventType.LAP_STARTED && event.getLap() > 1) {
+                        snapshots.add(standingsOf(race.getResults()));
+                    } else if (event.getType() == RaceEventType.POSITION_CHANGED) {
+                        racePositionEvents[0]++;
+                    }
+                });
+                race.startRace();
+            }
+            String finalStandings = standingsOf(race.getResults());
+
+            try (RaceLogReader reader = new RaceLogReader(file)) {
+                RaceReplay replay = new RaceReplay(reader, 0, drivers);
+                replay.setStartingGrid(race.getStartingGrid()); // журнал решітки не зберігає
+
+                // Перемотка вперед і назад
+                for (int lap = snapshots.size(); lap >= 1; lap--) {
+                    assert standingsOf(replay.seek(lap)).equals(snapshots.get(lap - 1))
+                            : "Error: standings differ after lap " + lap;
+                }
+                assert standingsOf(replay.seek(12)).equals(finalStandings) : "Error: final standings differ";
+                assert replay.isFinished() : "Error: replay should be finished after the last lap";
+
+                // Відтворення з подіями для спостерігачів
+                LoggingObserver logger = new LoggingObserver("Replay Log");
+                int[] positionEvents = new int[1];
+                replay.reset();
+                replay.setRaceName("Replay Grand Prix");
+                replay.addEventListener(new ObserverEventAdapter(logger));
+                replay.addEventListener(event -> {
+                    if (event.getType() == RaceEventType.POSITION_CHANGED) {
+                        positionEvents[0]++;
+                    }
+                });
+                List<RaceResult> played = replay.play();
+                assert standingsOf(played).equals(finalStandings) : "Error: played standings differ";
+                assert logger.getLog().contains("Race started: Replay Grand Prix")
+                        && logger.getLog().contains("Lap 12/12") : "Error: observers should see the replay";
+                assert positionEvents[0] == racePositionEvents[0] && positionEvents[0] > 0
+                        : "Error: position changes should be replayed";
+            }
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        } finally {
+            delete(file);
+        }
+    }
+
+    static String standingsOf(List<RaceResult> results) {
+        StringBuilder text = new StringBuilder();
+        for (RaceResult result : results) {
+            text.append(result).append(' ').append(result.getLapTime()).append(' ')
+                    .append(result.getTotalTime()).append(' ')
+                    .append(result.isFinished()).append('\n');
+        }
+        return text.toString();
+    }
+
+    static void delete(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // тимчасовий файл - не критично
+            }
+        }
+    }
+
+    static void printSummary() {
+        System.out.println("=== Test Summary ===");
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n[SUCCESS] All tests passed!");
+        } else {
+            System.out.println("\n[WARNING] Some tests failed. Check the code.");
+        }
+    }
+}
@@ -0,0 +1,887 @@
+package test;
+
+import models.Car;
+import models.team.Driver;
+import patterns.behavioral.AggressiveStrategy;
+import simulation.*;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Тестовий клас для пакету simulation: пакетні та паралельні симуляції
+ */
+public class SimulationTest {
+
+    private static int testsPassed = 0;
+    private static int testsFailed = 0;
+
+    public static void main(String[] args) {
+        System.out.println("=== Testing Simulation Package ===\n");
+
+        testRaceTemplateIsolation();
+        testBatchRunner();
+        testSeededReproducibility();
+        testGridSimulatorMatchesRace();
+        testLargeGrid();
+        testChampionshipStandings();
+        testSeasonSimulation();
+        testMonteCarloForecast();
+        testPitStopOptimizer();
+        testPowerUnitsInRace();
+        testSetupOptimizer();
+        testArchiveRescoring();
+        testQualifyingAndSprint();
+
+        printSummary();
+    }
+
+    static RaceTemplate createTemplate(int laps) {
+        Driver driver1 = new Driver("Lewis Hamilton", 9.5);
+        Driver driver2 = new Driver("Max Verstappen", 9.8);
+        Driver driver3 = new Driver("Lando Norris", 8.5);
+        driver2.setStrategy(new AggressiveStrategy());
+
+        RaceTemplate template = new RaceTemplate("Batch Grand Prix", laps);
+        template.addParticipant(driver1, new Car(850.0, 8.5, 100.0));
+        template.addParticipant(driver2, new Car(880.0, 9.0, 100.0));
+        template.addParticipant(driver3, new Car(820.0, 8.0, 100.0));
+        return template;
+    }
+
+    static void testRaceTemplateIsolation() {
+        System.out.println("Test 1: RaceTemplate creates isolated copies");
+        PrintStream originalOut = System.out;
+        try {
+            Driver driver = new Driver("Template Driver", 8.0);
+            Car car = new Car(800.0, 8.0, 100.0);
+            RaceTemplate template = new RaceTemplate("Template GP", 3);
+            template.addParticipant(driver, car);
+
+            // Зміни оригіналу після додавання не впливають на шаблон
+            car.setEnginePower(950.0);
+
+            models.Race race1 = template.createRace();
+            models.Race race2 = template.createRace();
+            Driver copy1 = race1.getResults().get(0).getDriver();
+            Driver copy2 = race2.getResults().get(0).getDriver();
+            assert copy1 != driver : "Error: template should copy drivers";
+            assert copy1 != copy2 : "Error: each race should get its own driver";
+            assert copy1.getCar() != copy2.getCar() : "Error: each race should get its own car";
+            assert copy1.getCar().getEnginePower() == 800.0 : "Error: template should snapshot the car";
+
+            System.setOut(silentStream());
+            race1.startRace();
+            System.setOut(originalOut);
+
+            assert copy2.getCar().getFuelLevel() == 100.0 : "Error: races must not share fuel state";
+            assert car.getDriver() == null : "Error: original car should stay untouched";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.setOut(originalOut);
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.setOut(originalOut);
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testBatchRunner() {
+        System.out.println("Test 2: RaceBatchRunner aggregates parallel races");
+        PrintStream originalOut = System.out;
+        try {
+            RaceTemplate template = createTemplate(5);
+            RaceBatchRunner runner = new RaceBatchRunner(template, 4);
+
+            System.setOut(silentStream());
+            BatchStatistics stats = runner.run(50);
+            System.setOut(originalOut);
+
+            assert stats.getRaceCount() == 50 : "Error: should run 50 races";
+            assert stats.getParticipantCount() == 3 : "Error: should track 3 participants";
+
+            long totalWins = 0;
+            double positionSum = 0;
+            for (int slot = 0; slot < 3; slot++) {
+                totalWins += stats.getWins(slot);
+                positionSum += stats.getAveragePosition(slot);
+                assert stats.getBestLap(slot) > 0 : "Error: best lap should be recorded";
+            }
+            assert totalWins == 50 : "Error: every race should have exactly one winner";
+            assert Math.abs(positionSum - 6.0) < 1e-9 : "Error: average positions should sum to 1+2+3";
+            assert stats.getDriverName(1).equals("Max Verstappen") : "Error: slots should follow template order";
+
+            BatchStatistics empty = runner.run(0);
+            assert empty.getRaceCount() == 0 : "Error: zero races should give empty statistics";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.setOut(originalOut);
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.setOut(originalOut);
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testSeededReproducibility() {
+        System.out.println("Test 3: Seeded races are reproducible");
+        PrintStream originalOut = System.out;
+        try {
+            RaceTemplate template = createTemplate(8);
+
+            System.setOut(silentStream());
+            String first = resultsOf(template.createRace(42L));
+            String second = resultsOf(template.createRace(42L));
+            String other = resultsOf(template.createRace(43L));
+
+            // Результат серії не залежить від кількості потоків
+            BatchStatistics single = new RaceBatchRunner(template, 1).run(12, 7L);
+            BatchStatistics parallel = new RaceBatchRunner(template, 3).run(12, 7L);
+
+            // Окрему гонку серії можна відтворити за її seed
+            BatchStatistics replay = new RaceBatchRunner(template, 1).run(1, 7L);
+            models.Race firstOfBatch = template.createRace(RaceBatchRunner.raceSeed(7L, 0));
+            java.util.List<models.RaceResult> slots = firstOfBatch.getResults();
+            firstOfBatch.startRace();
+            System.setOut(originalOut);
+
+            assert first.equals(second) : "Error: same seed should give identical results";
+            assert !first.equals(other) : "Error: different seeds should give different results";
+            assert single.toString().equals(parallel.toString()) : "Error: seeded batch should not depend on threads";
+            assert replay.getBestLap(0) == slots.get(0).getLapTime() : "Error: batch race should be replayable by seed";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.setOut(originalOut);
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.setOut(originalOut);
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testGridSimulatorMatchesRace() {
+        System.out.println("Test 4: GridSimulator reproduces Race for the same seed");
+        PrintStream originalOut = System.out;
+        try {
+            RaceTemplate template = createTemplate(40);
+            Driver economical = new Driver("Oscar Piastri", 7.5);
+            economical.setStrategy(new patterns.behavioral.EconomicalStrategy());
+            template.addParticipant(economical, new Car(990.0, 6.0, 40.0));
+            Driver thirsty = new Driver("George Russell", 8.8);
+            thirsty.setStrategy(new AggressiveStrategy());
+            template.addParticipant(thirsty, new Car(960.0, 7.0, 30.0));
+            Car softCar = new Car(930.0, 8.0, 100.0);
+            softCar.setTireType("Soft");
+            template.addParticipant(new Driver("Fernando Alonso", 8.9), softCar);
+
+            for (long seed = 1; seed <= 5; seed++) {
+                models.Race race = template.createRace(seed);
+                java.util.List<models.RaceResult> slots = race.getResults();
+                System.setOut(silentStream());
+                race.startRace();
+                System.setOut(originalOut);
+
+                GridSimulator grid = GridSimulator.fromTemplate(template, seed);
+                grid.run();
+
+                java.util.List<models.RaceResult> expected = race.getResults();
+                java.util.List<models.RaceResult> actual = grid.toRaceResults();
+                for (int i = 0; i < expected.size(); i++) {
+                    assert expected.get(i).toString().equals(actual.get(i).toString())
+                            : "Error: grid result differs at P" + (i + 1) + " for seed " + seed;
+                }
+                for (int slot = 0; slot < slots.size(); slot++) {
+                    Car car = slots.get(slot).getDriver().getCar();
+                    assert car.getFuelLevel() == grid.getFuelLevel(slot) : "Error: fuel model differs";
+                    assert car.getTire().getDurability() == grid.getTireDurability(slot)
+                            && car.getTire().getTemperature() == grid.getTireTemperature(slot)
+                            : "Error: tire model differs";
+                }
+            }
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.setOut(originalOut);
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.setOut(originalOut);
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testLargeGrid() {
+        System.out.println("Test 5: GridSimulator handles a 1000-car field");
+        try {
+            GridSimulator grid = new GridSimulator(1000, 20, 2024L);
+            java.util.SplittableRandom setup = new java.util.SplittableRandom(1L);
+            String[] strategies = {"Balanced", "Aggressive", "Economical"};
+            for (int i = 0; i < 1000; i++) {
+                grid.addCar("Driver " + i, 1.0 + setup.nextDouble() * 9.0,
+                        500.0 + setup.nextDouble() * 500.0, 1.0 + setup.nextDouble() * 9.0,
+                        100.0, strategies[i % 3]);
+            }
+            grid.run();
+
+            boolean[] seen = new boolean[1001];
+            for (int slot = 0; slot < 1000; slot++) {
+                int position = grid.getPosition(slot);
+                assert !seen[position] : "Error: positions must be unique";
+                seen[position] = true;
+                assert grid.getLapsCompleted(slot) == 20 : "Error: every car should complete 20 laps";
+            }
+            int leader = grid.getSlotAtPosition(1);
+            int second = grid.getSlotAtPosition(2);
+            assert grid.getBestLap(leader) <= grid.getBestLap(second) : "Error: leader should have the best lap";
+
+            boolean unsupported = false;
+            try {
+                grid.addCar("Extra", 5.0, 700.0, 5.0, 100.0, "Reckless");
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                unsupported = true;
+            }
+            assert unsupported : "Error: full grid or unknown strategy should be rejected";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testChampionshipStandings() {
+        System.out.println("Test 6: Championship accumulates driver and constructor points");
+        try {
+            Championship championship = createChampionship();
+            ChampionshipStandings standings = championship.runSeason(11L);
+
+            // Бали сезону дорівнюють сумі балів окремих гонок з тими ж seed
+            int[] expected = new int[standings.getDriverCount()];
+            for (int round = 0; round < championship.getRoundCount(); round++) {
+                models.Race race = championship.getRound(round).createRace(RaceBatchRunner.raceSeed(11L, round));
+                race.setQuiet(true);
+                java.util.List<models.RaceResult> slots = race.getResults();
+                race.startRace();
+                for (int slot = 0; slot < slots.size(); slot++) {
+                    expected[slot] += slots.get(slot).getPoints();
+                }
+            }
+
+            int teamSum = 0;
+            for (int slot = 0; slot < expected.length; slot++) {
+                assert standings.getDriverPoints(slot) == expected[slot] : "Error: points must match race results";
+                teamSum += standings.getDriverPoints(slot);
+            }
+            int constructorSum = 0;
+            for (int team = 0; team < standings.getTeamCount(); team++) {
+                constructorSum += standings.getTeamPoints(team);
+            }
+            assert standings.getRounds() == 4 : "Error: every round should be recorded";
+            assert standings.getTeamCount() == 2 : "Error: two constructors expected";
+            assert constructorSum == teamSum : "Error: constructor points should sum driver points";
+
+            int[] order = standings.getDriverOrder();
+            assert order[0] == standings.getLeader() : "Error: leader should head the standings";
+            for (int i = 1; i < order.length; i++) {
+                assert standings.getDriverPoints(order[i - 1]) >= standings.getDriverPoints(order[i])
+                        : "Error: standings must be ordered by points";
+            }
+
+            // Рівні бали розв'язуються кількістю перемог
+            ChampionshipStandings tie = new ChampionshipStandings(new String[] {"A", "B"}, new String[] {null, null});
+            tie.addResult(0, 2, 18);
+            tie.addResult(1, 1, 25);
+            tie.completeRound();
+            tie.addResult(0, 1, 25);
+            tie.addResult(1, 2, 18);
+            tie.completeRound();
+            tie.addResult(0, 1, 25);
+            tie.addResult(1, 1, 25);
+            assert tie.getLeader() == 0 : "Error: countback should prefer more wins";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testSeasonSimulation() {
+        System.out.println("Test 7: Simulated seasons give reproducible title odds");
+        try {
+            Championship championship = createChampionship();
+            SeasonStatistics single = championship.simulateSeasons(40, 5L, 1);
+            SeasonStatistics parallel = championship.simulateSeasons(40, 5L, 3);
+            assert single.toString().equals(parallel.toString()) : "Error: odds should not depend on threads";
+
+            long titles = 0;
+            double probability = 0;
+            for (int slot = 0; slot < single.getDriverCount(); slot++) {
+                titles += single.getTitles(slot);
+                probability += single.getTitleProbability(slot);
+            }
+            assert titles == 40 : "Error: every season has exactly one champion";
+            assert Math.abs(probability - 1.0) < 1e-9 : "Error: title odds should sum to 1";
+
+            // Швидкий шлях (GridSimulator) дає того ж чемпіона, що й Race
+            SeasonStatistics first = championship.simulateSeasons(1, 5L, 1);
+            ChampionshipStandings season = championship.runSeason(RaceBatchRunner.raceSeed(5L, 0));
+            assert first.getTitles(season.getLeader()) == 1 : "Error: grid season should match race season";
+            assert first.getAveragePoints(0) == season.getDriverPoints(0) : "Error: season points differ";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testMonteCarloForecast() {
+        System.out.println("Test 8: Monte Carlo forecast with streaming statistics");
+        try {
+            RaceTemplate template = createTemplate(10);
+            MonteCarloForecaster single = new MonteCarloForecaster(template, 1);
+            MonteCarloForecaster parallel = new MonteCarloForecaster(template, 3);
+            single.setBatchSize(150);
+            parallel.setBatchSize(150);
+            OutcomeForecast first = single.forecast(600, 9L);
+            OutcomeForecast second = parallel.forecast(600, 9L);
+            assert first.toString().equals(second.toString()) : "Error: forecast should not depend on threads";
+            assert first.getRaceCount() == 600 : "Error: all simulations should run without a target";
+
+            double winSum = 0;
+            for (int slot = 0; slot < first.getParticipantCount(); slot++) {
+                long histogramSum = 0;
+                for (long count : first.getPositionHistogram(slot)) {
+                    histogramSum += count;
+                }
+                assert histogramSum == 600 : "Error: histogram should cover every simulation";
+                winSum += first.getWinProbability(slot);
+
+                double[] win = first.getWinInterval(slot);
+                assert win[0] <= first.getWinProbability(slot) && first.getWinProbability(slot) <= win[1]
+                        : "Error: interval should contain the estimate";
+                assert first.getPodiumProbability(slot) == 1.0 : "Error: three cars always reach the podium";
+            }
+            assert Math.abs(winSum - 1.0) < 1e-9 : "Error: win probabilities should sum to 1";
+
+            // Зупинка, коли точність досягнута
+            OutcomeForecast early = parallel.forecast(100000, 9L, 0.05);
+            assert early.getRaceCount() < 100000 : "Error: forecast should stop early";
+            assert early.getRaceCount() % 150 == 0 : "Error: stopping happens on batch boundaries";
+            assert early.getMaxHalfWidth() <= 0.05 : "Error: intervals should meet the target";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testPitStopOptimizer() {
+        System.out.println("Test 9: Pit stop optimizer finds the best stint plan");
+        try {
+            int laps = 50;
+            PitStopOptimizer optimizer = new PitStopOptimizer(laps);
+            models.PitPlan plan = optimizer.optimize(850.0, 8.5, 9.5, 100.0, 100.0, "Balanced");
+            assert !plan.getStartCompound().equals(plan.getCompound(plan.getStopCount()))
+                    || plan.getStopCount() > 1 : "Error: two compounds should be used";
+            double planned = optimizer.estimateRaceTime(plan, 850.0, 8.5, 9.5, 100.0, 100.0, "Balanced");
+            assert Math.abs(planned - plan.getExpectedRaceTime()) < 1e-6 : "Error: estimate should match the plan";
+
+            // ERS: буст входить у потужність кола; після розряду батареї оцінка DP точна
+            models.PitPlan ersPlan = optimizer.optimize(850.0, 8.5, 9.5, 100.0, 100.0, "Balanced", 40.0, 1.0);
+            double ersPlanned = optimizer.estimateRaceTime(ersPlan, 850.0, 8.5, 9.5, 100.0, 100.0, "Balanced",
+                    40.0, 1.0);
+            assert Math.abs(ersPlanned - ersPlan.getExpectedRaceTime()) < 1e-6
+                    : "Error: ERS estimate should match the plan";
+            assert ersPlan.getExpectedRaceTime() < plan.getExpectedRaceTime() : "Error: ERS boost should save time";
+
+            // Перебір планів з однією та двома зупинками (не менше двох складів)
+            String[] compounds = {"Soft", "Medium", "Hard"};
+            for (String first : compounds) {
+                for (String second : compounds) {
+                    for (int stop = 1; stop < laps && !first.equals(second); stop++) {
+                        models.PitPlan oneStop = new models.PitPlan(new int[] {stop}, new String[] {first, second});
+                        assert plan.getExpectedRaceTime() <= optimizer.estimateRaceTime(oneStop,
+                                850.0, 8.5, 9.5, 100.0, 100.0, "Balanced") + 1e-9 : "Error: better one-stop plan found";
+                    }
+                    for (String third : compounds) {
+                        if (first.equals(second) && second.equals(third)) {
+                            continue;
+                        }
+                        for (int stop = 1; stop < laps; stop += 2) {
+                            for (int stop2 = stop + 1; stop2 < laps; stop2++) {
+                                models.PitPlan twoStops = new models.PitPlan(new int[] {stop, stop2},
+                                        new String[] {first, second, third});
+                                assert plan.getExpectedRaceTime() <= optimizer.estimateRaceTime(twoStops,
+                                        850.0, 8.5, 9.5, 100.0, 100.0, "Balanced") + 1e-9
+                                        : "Error: better two-stop plan found";
+                            }
+                        }
+                    }
+                }
+            }
+
+            // Швидкість: менше 10 мс на болід
+            PitStopOptimizer longRace = new PitStopOptimizer(70);
+            long start = System.nanoTime();
+            for (int i = 0; i < 200; i++) {
+                longRace.optimize(700.0 + i, 5.0 + i % 5, 5.0 + i % 5, 100.0, 100.0,
+                        i % 2 == 0 ? "Aggressive" : "Economical");
+            }
+            double perCar = (System.nanoTime() - start) / 1e6 / 200;
+            assert perCar < 10.0 : "Error: optimization took " + perCar + " ms per car";
+
+            // Плани в гонці: зупинки відбуваються, GridSimulator дає той самий результат
+            RaceTemplate template = createTemplate(30);
+            new PitStopOptimizer(30).applyTo(template);
+            models.Race race = template.createRace(4L);
+            race.setQuiet(true);
+            int[] pitStops = new int[1];
+            race.addEventListener(event -> {
+                if (event.getType() == patterns.behavioral.RaceEventType.PIT_STOP) {
+                    pitStops[0]++;
+                }
+            });
+            race.startRace();
+            int plannedStops = 0;
+            for (int slot = 0; slot < template.getParticipantCount(); slot++) {
+                plannedStops += template.getPitPlan(slot).getStopCount();
+            }
+            assert plannedStops > 0 && pitStops[0] == plannedStops : "Error: planned stops should happen";
+
+            GridSimulator grid = GridSimulator.fromTemplate(template, 4L);
+            grid.run();
+            java.util.List<models.RaceResult> expected = race.getResults();
+            java.util.List<models.RaceResult> actual = grid.toRaceResults();
+            for (int i = 0; i < expected.size(); i++) {
+                assert expected.get(i).toString().equals(actual.get(i).toString())
+                        : "Error: grid result with pit stops differs at P" + (i + 1);
+            }
+            // Класифікація за сумарним часом: втрата на зупинці входить у час гонки
+            java.util.List<models.RaceResult> bySlot = race.getResultsByParticipant();
+            for (int slot = 0; slot < bySlot.size(); slot++) {
+                assert bySlot.get(slot).getTotalTime() == grid.getRaceTime(slot) : "Error: race time differs";
+                assert bySlot.get(slot).getTotalTime() > template.getPitPlan(slot).getStopCount()
+                        * models.RaceConstants.PIT_STOP_TIME_LOSS + 30 * models.RaceConstants.MIN_LAP_TIME
+                        : "Error: pit stop loss should count towards race time";
+            }
+            for (int i = 1; i < expected.size(); i++) {
+                assert expected.get(i - 1).getTotalTime() <= expected.get(i).getTotalTime()
+                        : "Error: finishers should be ranked by race time";
+            }
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testPowerUnitsInRace() {
+        System.out.println("Test 10: Power units drive lap power with ERS deployment");
+        try {
+            // Турбо входить у потужність двигуна, ERS - у потужність на колі
+            Car car = new Car(800.0, 8.0, 100.0);
+            car.setQuiet(true);
+            car.setPowerUnit(patterns.structural.EngineDecoratorFactory.addBoth(
+                    new patterns.structural.Engine("Mercedes", 800.0)));
+            assert car.getEnginePower() == 850.0 && car.getErsBoost() == 30.0 : "Error: power unit not applied";
+            assert car.getLapPower() == 880.0 : "Error: full battery should deploy the whole ERS boost";
+
+            // Заряд батареї змінює потужність від кола до кола
+            double previous = car.getLapPower();
+            boolean varies = false;
+            for (int lap = 0; lap < 10; lap++) {
+                car.accelerate();
+                car.completeLap();
+                varies |= car.getLapPower() != previous;
+                previous = car.getLapPower();
+            }
+            assert varies && car.getLapPower() < 880.0 && car.getLapPower() > 850.0
+                    : "Error: ERS deployment should vary with charge";
+
+            // Зміна ланцюжка PowerUnit підхоплюється без повторного setPowerUnit
+            patterns.structural.PowerUnit unit = new patterns.structural.PowerUnit("Honda", 820.0);
+            Car upgraded = new Car(820.0, 8.0, 100.0);
+            upgraded.setPowerUnit(unit);
+            unit.addTurbo();
+            assert upgraded.getEnginePower() == 870.0 : "Error: chain change should recompile";
+            Car copy = new Car(upgraded);
+            unit.addEnergyRecovery();
+            assert copy.getErsBoost() == 0.0 && upgraded.getErsBoost() == 30.0
+                    : "Error: copy should keep its own power unit";
+            // Витрата, стан і звіти теж бачать зміну ланцюжка, без виклику getEnginePower()
+            patterns.structural.PowerUnit tuned = new patterns.structural.PowerUnit("Renault", 880.0);
+            Car tunedCar = new Car(880.0, 8.5, 100.0);
+            tunedCar.setQuiet(true);
+            tunedCar.setPowerUnit(tuned);
+            tuned.addTurbo();
+            tunedCar.accelerate();
+            assert tunedCar.getFuelLevel() == 100.0 - Car.calculateFuelConsumption(930.0)
+                    : "Error: fuel use should follow the current power unit";
+            tunedCar.checkState();
+            assert tunedCar.getStateType() == patterns.behavioral.CarStateType.OVERHEATING
+                    : "Error: state should follow the current power unit";
+            tuned.addTurbo(10.0);
+            assert tunedCar.toString().contains("Engine=940.0 HP") : "Error: toString should recompile";
+            double performance = tunedCar.calculatePerformance();
+            tuned.addTurbo(10.0);
+            assert Math.abs(tunedCar.calculatePerformance() - performance * 950.0 / 940.0) < 1e-9
+                    : "Error: performance should recompile";
+            upgraded.setEnginePower(820.0);
+            assert upgraded.getPowerUnit() == null && upgraded.getLapPower() == 820.0
+                    : "Error: plain engine should drop the power unit";
+
+            // Гонка з силовою установкою: GridSimulator дає той самий результат
+            RaceTemplate template = createTemplate(25);
+            Car boosted = new Car(820.0, 8.0, 100.0);
+            boosted.setPowerUnit(patterns.structural.EngineDecoratorFactory.addBoth(
+                    new patterns.structural.Engine("Ferrari", 820.0)));
+            template.addParticipant(new Driver("Charles Leclerc", 8.5), boosted);
+            for (long seed = 1; seed <= 3; seed++) {
+                models.Race race = template.createRace(seed);
+                java.util.List<models.RaceResult> slots = race.getResults();
+                race.setQuiet(true);
+                race.startRace();
+                GridSimulator grid = GridSimulator.fromTemplate(template, seed);
+                grid.run();
+                java.util.List<models.RaceResult> expected = race.getResults();
+                java.util.List<models.RaceResult> actual = grid.toRaceResults();
+                for (int i = 0; i < expected.size(); i++) {
+                    assert expected.get(i).toString().equals(actual.get(i).toString())
+                            : "Error: grid result with power units differs at P" + (i + 1);
+                }
+                for (int slot = 0; slot < slots.size(); slot++) {
+                    assert slots.get(slot).getDriver().getCar().getErsCharge() == grid.getErsCharge(slot)
+                            : "Error: ERS model differs";
+                }
+            }
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testSetupOptimizer() {
+        System.out.println("Test 11: Setup optimizer returns a Pareto front of pace vs fuel");
+        try {
+            Driver driver = new Driver("Lewis Hamilton", 9.5);
+            driver.setStrategy(new AggressiveStrategy());
+            SetupOptimizer optimizer = new SetupOptimizer(driver, 20, 4);
+            optimizer.setPowerRange(700.0, 1000.0, 50.0);
+            optimizer.setAerodynamicsRange(6.0, 10.0, 1.0);
+            optimizer.setFuelCapacities(20.0, 40.0, 80.0);
+            java.util.List<CarSetup> front = optimizer.optimize();
+            assert !front.isEmpty() : "Error: front should not be empty";
+            assert optimizer.getPrunedCount() > 0
+                    && optimizer.getSimulatedCount() + optimizer.getPrunedCount() == optimizer.getCandidateCount()
+                    : "Error: dominated setups should be pruned before simulation";
+
+            // Фронт: ніхто нікого не домінує, темп покращується з витратою
+            for (int i = 0; i < front.size(); i++) {
+                for (int j = 0; j < front.size(); j++) {
+                    assert i == j || !front.get(i).dominates(front.get(j)) : "Error: front contains dominated setup";
+                }
+                assert i == 0 || (front.get(i).getFuelUsed() > front.get(i - 1).getFuelUsed()
+                        && front.get(i).getAverageLapTime() < front.get(i - 1).getAverageLapTime())
+                        : "Error: front should trade fuel for pace";
+                assert front.get(i).getAerodynamics() == 10.0 : "Error: lower aero never helps";
+            }
+
+            // Відсікання та кількість потоків не змінюють фронт
+            SetupOptimizer reference = new SetupOptimizer(driver, 20, 1);
+            reference.setPowerRange(700.0, 1000.0, 50.0);
+            reference.setAerodynamicsRange(6.0, 10.0, 1.0);
+            reference.setFuelCapacities(20.0, 40.0, 80.0);
+            reference.setPruning(false);
+            assert reference.optimize().toString().equals(front.toString()) : "Error: pruning changed the front";
+            assert reference.getSimulatedCount() == reference.getCandidateCount() : "Error: all setups should run";
+
+            // Повторний пошук бере оцінки з кешу
+            java.util.List<CarSetup> again = optimizer.optimize();
+            assert again.toString().equals(front.toString()) && optimizer.getSimulatedCount() == 0
+                    && optimizer.getCacheHits() > 0 : "Error: repeated search should use the cache";
+
+            // Налаштування з фронту будується через CarBuilder і проходить валідацію Car
+            CarSetup fastest = front.get(front.size() - 1);
+            Car car = fastest.toCar();
+            assert car.getEnginePower() == fastest.getEnginePower()
+                    && car.getTireCompound() == fastest.getCompound() : "Error: setup should build a car";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testArchiveRescoring() {
+        System.out.println("Test 12: Archived seasons are re-scored under other rules without simulation");
+        try {
+            Championship championship = createChampionship();
+            SeasonStatistics simulated = championship.simulateSeasons(60, 9L, 2);
+            SeasonArchive archive = championship.archiveSeasons(60, 9L, 3);
+            assert archive.getSeasonCount() == 60 && archive.getRoundCount() == 4 : "Error: archive size";
+
+            java.util.List<models.ScoringRules> rules = java.util.Arrays.asList(models.ScoringRules.DEFAULT,
+                    models.ScoringRules.F1_1950, models.ScoringRules.F1_2003.halfPoints());
+            java.util.List<SeasonStatistics> single = archive.rescore(rules, 1);
+            java.util.List<SeasonStatistics> parallel = archive.rescore(rules, 4);
+            assert single.size() == 3 : "Error: one table per rule set";
+            // Поточні правила відтворюють симульовані сезони; потоки не впливають
+            assert single.get(0).toString().equals(simulated.toString()) : "Error: default rules should match";
+            for (int r = 0; r < rules.size(); r++) {
+                assert single.get(r).toString().equals(parallel.get(r).toString()) : "Error: threads changed odds";
+                assert single.get(r).getSeasonCount() == 60 : "Error: every season should be re-scored";
+            }
+
+            // Окремий сезон: бали 1950 року вручну з архіву
+            ChampionshipStandings standings = archive.newStandings();
+            archive.rescoreSeason(0, models.ScoringRules.F1_1950, standings);
+            int expected = 0;
+            for (int round = 0; round < archive.getRoundCount(); round++) {
+                expected += models.ScoringRules.F1_1950.getPoints(archive.getPosition(0, round, 0),
+                        archive.getFastestSlot(0, round) == 0);
+            }
+            assert standings.getDriverPoints(0) == expected && standings.getRounds() == 4
+                    : "Error: single season re-score differs";
+
+            // Архів із збережених RaceResult: при рівних колах - вища позиція
+            SeasonArchive fromResults = new SeasonArchive(new String[] {"A", "B"}, new String[] {null, null}, 1, 1);
+            models.RaceResult a = new models.RaceResult(new Driver("A", 8.0), 2);
+            models.RaceResult b = new models.RaceResult(new Driver("B", 8.0), 1);
+            a.setLapTime(80.0);
+            b.setLapTime(80.0);
+            fromResults.recordRound(0, 0, java.util.Arrays.asList(a, b));
+            assert fromResults.getFastestSlot(0, 0) == 1 : "Error: lap tie goes to the higher position";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static void testQualifyingAndSprint() {
+        System.out.println("Test 13: Knockout qualifying and sprint set the starting grid");
+        try {
+            RaceTemplate template = new RaceTemplate("Weekend Grand Prix", 10);
+            for (int i = 0; i < 6; i++) {
+                template.addParticipant(new Driver("Driver " + i, 7.0 + i * 0.5, "UK", i < 3 ? "Alpha" : "Beta", 1),
+                        new Car(800.0 + i * 20.0, 7.0 + i * 0.4, 100.0));
+            }
+            Qualifying qualifying = new Qualifying(template);
+            assert qualifying.getSessionCount() == 3 : "Error: six cars should run Q1, Q2 and Q3";
+            QualifyingResult single = qualifying.run(21L, 1);
+            QualifyingResult parallel = qualifying.run(21L, 4);
+            assert java.util.Arrays.equals(single.getGrid(), parallel.getGrid())
+                    && single.toString().equals(parallel.toString()) : "Error: grid should not depend on threads";
+
+            // Q3 (3 учасники) займає перші місця в порядку часу Q3
+            int[] grid = single.getGrid();
+            boolean[] seen = new boolean[grid.length];
+            for (int i = 0; i < grid.length; i++) {
+                seen[grid[i]] = true;
+                assert single.getGridPosition(grid[i]) == i + 1 : "Error: grid position lookup";
+                assert single.getSessionReached(grid[i]) == (i < 3 ? 3 : i < 5 ? 2 : 1) : "Error: knockout";
+            }
+            for (boolean placed : seen) {
+                assert placed : "Error: grid should contain every slot";
+            }
+            assert single.getBestLap(3, grid[0]) <= single.getBestLap(3, grid[1])
+                    && single.getBestLap(3, grid[1]) <= single.getBestLap(3, grid[2]) : "Error: Q3 order";
+            assert single.getBestLap(3, grid[5]) == 0 : "Error: Q1 elimination did not run Q3";
+
+            // Решітка задає порядок старту; Race і GridSimulator збігаються
+            template.setStartingGrid(grid);
+            models.Race race = template.createRace(8L);
+            assert race.getResults().get(0).getParticipantId() == grid[0]
+                    && race.getResults().get(0).getPosition() == 1 : "Error: pole should start first";
+            assert race.getResultsByParticipant().get(2).getParticipantId() == 2 : "Error: lookup by participant";
+            race.setQuiet(true);
+            race.startRace();
+            GridSimulator simulated = GridSimulator.fromTemplate(template, 8L);
+            simulated.run();
+            java.util.List<models.RaceResult> expected = race.getResults();
+            java.util.List<models.RaceResult> actual = simulated.toRaceResults();
+            for (int i = 0; i < expected.size(); i++) {
+                assert expected.get(i).toString().equals(actual.get(i).toString()) : "Error: grid start differs";
+            }
+            boolean lateGrid = false;
+            try {
+                race.setStartingGrid(grid);
+            } catch (IllegalStateException e) {
+                lateGrid = true;
+            }
+            boolean badGrid = false;
+            try {
+                template.createRace(1L).setStartingGrid(new int[] {0, 0, 1, 2, 3, 4});
+            } catch (IllegalArgumentException e) {
+                badGrid = true;
+            }
+            assert lateGrid && badGrid : "Error: grid should be validated";
+
+            // Вікенд зі спринтом: гонка стартує в порядку фінішу спринту
+            RaceWeekend weekend = new RaceWeekend(template).setSprint(4);
+            weekend.run(33L, 2);
+            models.Race sprint = weekend.getSprint();
+            assert sprint.getScoringRules() == models.ScoringRules.SPRINT_2022 : "Error: sprint rules";
+            assert java.util.Arrays.equals(sprint.getStartingGrid(), weekend.getQualifyingResult().getGrid())
+                    : "Error: sprint should start from the qualifying grid";
+            int[] raceGrid = weekend.getRace().getStartingGrid();
+            int total = 0;
+            for (int i = 0; i < raceGrid.length; i++) {
+                assert raceGrid[i] == sprint.getResults().get(i).getParticipantId()
+                        : "Error: race grid should follow the sprint result";
+                total += weekend.getWeekendPoints(i);
+            }
+            assert total == 8 + 7 + 6 + 5 + 4 + 3 + 25 + 18 + 15 + 12 + 10 + 8 + 1
+                    : "Error: weekend points should add sprint and race";
+
+            // Місце на решітці - стартове відставання в сумарному часі
+            RaceTemplate twins = new RaceTemplate("Grid Gap Grand Prix", 3);
+            for (int i = 0; i < 3; i++) {
+                twins.addParticipant(new Driver("Twin " + i, 8.0), new Car(850.0, 8.0, 100.0));
+            }
+            twins.setStartingGrid(new int[] {2, 0, 1});
+            models.Race gapRace = twins.createRace(5L);
+            gapRace.setQuiet(true);
+            double[] lapSum = new double[3];
+            gapRace.addEventListener(event -> {
+                if (event.getType() == patterns.behavioral.RaceEventType.LAP_TIME_SET) {
+                    lapSum[event.getParticipantId()] += event.getValue();
+                }
+            });
+            gapRace.startRace();
+            int[] twinGrid = {2, 0, 1};
+            for (int i = 0; i < 3; i++) {
+                double gap = gapRace.getResultsByParticipant().get(twinGrid[i]).getTotalTime() - lapSum[twinGrid[i]];
+                assert Math.abs(gap - i * models.RaceConstants.GRID_SLOT_TIME_GAP) < 1e-9
+                        : "Error: grid slot " + (i + 1) + " should start " + i + " gaps behind";
+            }
+            GridSimulator gapGrid = GridSimulator.fromTemplate(twins, 5L);
+            gapGrid.run();
+            for (int slot = 0; slot < 3; slot++) {
+                assert gapGrid.getRaceTime(slot) == gapRace.getResultsByParticipant().get(slot).getTotalTime()
+                        : "Error: grid start gap differs in GridSimulator";
+            }
+
+            // Спринт не виконує зупинок з плану гонки
+            RaceTemplate planned = new RaceTemplate("Planned Grand Prix", 20);
+            planned.addParticipant(new Driver("Planner", 8.0), new Car(850.0, 8.0, 100.0));
+            planned.addParticipant(new Driver("Follower", 8.0), new Car(850.0, 8.0, 100.0));
+            planned.setPitPlan(0, new models.PitPlan(new int[] {2}, new String[] {"Soft", "Hard"}));
+            RaceWeekend plannedWeekend = new RaceWeekend(planned).setSprint(5);
+            plannedWeekend.run(3L, 1);
+            assert plannedWeekend.getSprint().getPitPlan(0) == null
+                    && plannedWeekend.getRace().getPitPlan(0) != null : "Error: pit plans belong to the race only";
+
+            System.out.println("[PASSED]\n");
+            testsPassed++;
+        } catch (AssertionError e) {
+            System.out.println("[FAILED]: " + e.getMessage() + "\n");
+            testsFailed++;
+        } catch (Exception e) {
+            System.out.println("[FAILED]: Unexpected error - " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    static Championship createChampionship() {
+        Championship championship = new Championship("Test Season");
+        String[] tracks = {"Bahrain", "Monaco", "Silverstone", "Monza"};
+        for (int round = 0; round < tracks.length; round++) {
+            RaceTemplate template = new RaceTemplate(tracks[round] + " Grand Prix", 8 + round * 4);
+            template.addParticipant(new Driver("Lewis Hamilton", 9.5, "UK", "Mercedes", 15),
+                    new Car(850.0, 8.5, 100.0));
+            template.addParticipant(new Driver("George Russell", 8.8, "UK", "Mercedes", 4),
+                    new Car(850.0, 8.5, 100.0));
+            template.addParticipant(new Driver("Charles Leclerc", 9.2, "Monaco", "Ferrari", 6),
+                    new Car(860.0, 8.2, 100.0));
+            template.addParticipant(new Driver("Carlos Sainz", 8.9, "Spain", "Ferrari", 9),
+                    new Car(860.0, 8.2, 100.0));
+            championship.addRound(template);
+        }
+        return championship;
+    }
+
+    static String resultsOf(models.Race race) {
+        race.startRace();
+        StringBuilder text = new StringBuilder();
+        for (models.RaceResult result : race.getResults()) {
+            text.append(result).append('\n');
+        }
+        return text.toString();
+    }
+
+    static PrintStream silentStream() {
+        return new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                // ігноруємо вивід
+            }
+        });
+    }
+
+    static void printSummary() {
+        System.out.println("=== Test Summary ===");
+        System.out.println("Passed: " + testsPassed);
+        System.out.println("Failed: " + testsFailed);
+        System.out.println("Total: " + (testsPassed + testsFailed));
+
+        if (testsFailed == 0) {
+            System.out.println("\n[SUCCESS] All tests passed!");
+        } else {
+            System.out.println("\n[WARNING] Some tests failed. Check the code.");
+        }
+    }
+}
@@ -21,6 +21,7 @@ public class StructuralPatternsTest {
         try {
             testDecoratorPattern();
             testAdapterPattern();
+            testCompiledPowerUnit();
             
             System.out.println("\n=== Test Results ===");
             System.out.println("Total tests: " + testCount);
@@ -131,4 +132,75 @@ public class StructuralPatternsTest {
         
         System.out.println();
     }
+    
+    // Test 3: Compiled power unit
+    private static void testCompiledPowerUnit() {
+        System.out.println("--- Test 3: Compiled Power Unit ---");
+        
+        try {
+            // Snapshot must match the recursive chain exactly
+            testCount++;
+            CarComponent chain = new TurboCharger(EngineDecoratorFactory.addBoth(
+                    new EngineAdapter(new LegacyEngine("Old V8", 700))), 12.5);
+            CompiledPowerUnit compiled = CompiledPowerUnit.compile(chain);
+            if (compiled.getPower() == chain.getPower() && compiled.getInfo().equals(chain.getInfo())
+                    && compiled.getComponentName().equals(chain.getComponentName())
+                    && CompiledPowerUnit.compile(compiled) == compiled) {
+                System.out.println("Test 3.1: Snapshot matches decorator chain [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 3.1: Snapshot should match decorator chain [FAILED]");
+            }
+            
+            // Layer breakdown from the engine outwards
+            testCount++;
+            if (compiled.getLayerCount() == 3 && compiled.getBasePower() == 700.0
+                    && compiled.getLayerName(0).equals("Turbo") && compiled.getLayerBoost(0) == 50.0
+                    && compiled.getLayerName(1).equals("ERS") && compiled.getLayerBoost(1) == 30.0
+                    && compiled.getLayerBoost(2) == 12.5) {
+                System.out.println("Test 3.2: Layer boosts are listed per decorator [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 3.2: Layer boosts should be listed per decorator [FAILED]");
+            }
+            
+            // Unknown decorators are measured by their own getPower()
+            testCount++;
+            CarComponent limited = new EngineDecorator(new Engine("V6", 800.0)) {
+                @Override
+                public double getPower() {
+                    return component.getPower() * 0.9;
+                }
+            };
+            CompiledPowerUnit limitedSnapshot = CompiledPowerUnit.compile(new TurboCharger(limited, 50.0));
+            if (limitedSnapshot.getPower() == 770.0 && limitedSnapshot.getLayerBoost(0) == -80.0) {
+                System.out.println("Test 3.3: Custom decorator is compiled by its power [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 3.3: Custom decorator should be compiled by its power [FAILED]");
+            }
+            
+            // Snapshot is cached until the chain changes
+            testCount++;
+            PowerUnit unit = new PowerUnit("V6 Turbo", 800.0);
+            CompiledPowerUnit first = unit.compile();
+            boolean cached = unit.compile() == first && unit.getPower() == 800.0;
+            unit.addTurbo().addEnergyRecovery();
+            CompiledPowerUnit second = unit.compile();
+            if (cached && second != first && unit.getPower() == 880.0 && second.getLayerCount() == 2
+                    && unit.getInfo().equals(EngineDecoratorFactory.addBoth(new Engine("V6 Turbo", 800.0)).getInfo())
+                    && unit.getRevision() == 3 && unit.compile() == second) {
+                System.out.println("Test 3.4: Snapshot is rebuilt only after chain changes [PASSED]");
+                passedCount++;
+            } else {
+                System.out.println("Test 3.4: Snapshot should be rebuilt only after chain changes [FAILED]");
+            }
+            
+        } catch (Exception e) {
+            System.out.println("Test 3: Compiled Power Unit [FAILED] - " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        System.out.println();
+    }
 }
@@ -42,6 +42,22 @@ if %errorlevel% neq 0 (
     exit /b 1
 )
 
+echo Compiling simulation...
+javac -encoding UTF-8 simulation/*.java
+if %errorlevel% neq 0 (
+    echo ERROR: Failed to compile simulation
+    pause
+    exit /b 1
+)
+
+echo Compiling replay...
+javac -encoding UTF-8 replay/*.java
+if %errorlevel% neq 0 (
+    echo ERROR: Failed to compile replay
+    pause
+    exit /b 1
+)
+
 echo Compiling test files...
 javac -encoding UTF-8 -d ../bin test/*.java
 if %errorlevel% neq 0 (
@@ -130,6 +146,17 @@ echo TEST 12: ComprehensiveTest (Comprehensive Testing)
 echo ============================================================
 java -ea test.ComprehensiveTest
 echo.
+echo ============================================================
+echo TEST 13: SimulationTest (Batch and Parallel Simulation)
+echo ============================================================
+java -ea test.SimulationTest
+echo.
+
+echo ============================================================
+echo TEST 14: ReplayTest (Binary Race Log)
+echo ============================================================
+java -ea test.ReplayTest
+echo.
 
 cd ..
 
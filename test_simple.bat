@@ -38,6 +38,20 @@ if %errorlevel% neq 0 (
     exit /b 1
 )
 
+javac -encoding UTF-8 simulation/*.java 2>&1
+if %errorlevel% neq 0 (
+    echo ERROR: Simulation compilation failed
+    pause
+    exit /b 1
+)
+
+javac -encoding UTF-8 replay/*.java 2>&1
+if %errorlevel% neq 0 (
+    echo ERROR: Replay compilation failed
+    pause
+    exit /b 1
+)
+
 if not exist ..\bin mkdir ..\bin
 
 javac -encoding UTF-8 -d ..\bin -cp ..\bin test/*.java 2>&1
@@ -111,6 +125,14 @@ echo Test 11: SystemTest
 java -ea test.SystemTest 2>&1
 echo.
 
+echo Test 12: SimulationTest
+java -ea test.SimulationTest 2>&1
+echo.
+
+echo Test 13: ReplayTest
+java -ea test.ReplayTest 2>&1
+echo.
+
 cd ..
 
 echo.